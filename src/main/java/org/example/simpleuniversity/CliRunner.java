@@ -2,26 +2,99 @@
 package org.example.simpleuniversity;
 
 import org.example.simpleuniversity.model.Degree;
-import org.example.simpleuniversity.model.Department;
-import org.example.simpleuniversity.model.Lector;
+import org.example.simpleuniversity.model.DepartmentSummary;
+import org.example.simpleuniversity.model.LectorCard;
+import org.example.simpleuniversity.model.LectorSummary;
+import org.example.simpleuniversity.model.LectorName;
+import org.example.simpleuniversity.service.ArchiveService;
+import org.example.simpleuniversity.service.CommandEvent;
+import org.example.simpleuniversity.service.DataGeneratorService;
+import org.example.simpleuniversity.service.DatasetGenerator;
+import org.example.simpleuniversity.service.FlightRecorderService;
+import org.example.simpleuniversity.service.LectorNameIndex;
+import org.example.simpleuniversity.service.PoolMetricsService;
+import org.example.simpleuniversity.service.ReportExportService;
+import org.example.simpleuniversity.service.RowPrinter;
+import org.example.simpleuniversity.service.SearchPage;
+import org.example.simpleuniversity.service.SingleFlight;
+import org.example.simpleuniversity.service.SnapshotService;
+import org.example.simpleuniversity.service.TenantContext;
+import org.example.simpleuniversity.service.Tracer;
 import org.example.simpleuniversity.service.UniversityService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Component;
 
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 @Component
 @Profile("!test")
 public class CliRunner implements CommandLineRunner {
 
     private final UniversityService service;
+    private final PoolMetricsService poolMetrics;
+    private final ReportExportService reportExport;
+    private final SnapshotService snapshots;
+    private final DataGeneratorService generator;
+    private final Tracer tracer;
+    private final FlightRecorderService flightRecorder;
+    private final TenantContext tenants;
+    private final ArchiveService archive;
+    private final SingleFlight singleFlight;
+    private final int searchPageSize;
+    private final int searchMaxResults;
+    // listings and statistics go through this buffer; printf would parse and box per row
+    private final RowPrinter rows = new RowPrinter(System.out);
 
-    public CliRunner(UniversityService service) {
+    private static final String ARCHIVE_PURGE = "(?i)archive purge(?: older than (\\d+) days)?";
+    private static final String STATISTICS_AS_OF = "(?i)show (.+) statistics as of (\\S+)";
+    private static final String AVERAGE_SALARY_AS_OF = "(?i)show the average salary for the department (.+) as of (\\S+)";
+    // names may have spaces; the first " under " splits the department from its new parent
+    private static final String MOVE_DEPARTMENT = "(?i)move department (.+?) (?:under (.+)|to top)";
+    private static final String GENERATE =
+            "(?i)generate data (\\d+) departments (\\d+) lectors(?: seed (-?\\d+))?(?: to (.+))?";
+
+    // search left unfinished by the result cap, resumed by "next page"
+    private String pendingSearch;
+    private SearchPage.Cursor pendingCursor;
+
+    public CliRunner(UniversityService service,
+                     PoolMetricsService poolMetrics,
+                     ReportExportService reportExport,
+                     SnapshotService snapshots,
+                     DataGeneratorService generator,
+                     Tracer tracer,
+                     FlightRecorderService flightRecorder,
+                     TenantContext tenants,
+                     ArchiveService archive,
+                     SingleFlight singleFlight,
+                     @Value("${university.search.page-size:100}") int searchPageSize,
+                     @Value("${university.search.max-results:1000}") int searchMaxResults) {
         this.service = service;
+        this.poolMetrics = poolMetrics;
+        this.reportExport = reportExport;
+        this.snapshots = snapshots;
+        this.generator = generator;
+        this.tracer = tracer;
+        this.flightRecorder = flightRecorder;
+        this.tenants = tenants;
+        this.archive = archive;
+        this.singleFlight = singleFlight;
+        this.searchPageSize = searchPageSize;
+        this.searchMaxResults = searchMaxResults;
     }
 
     @Override
@@ -33,187 +106,430 @@ public class CliRunner implements CommandLineRunner {
             String line = in.nextLine().trim();
             if ("exit".equalsIgnoreCase(line)) break;
 
-            if (line.matches("(?i)who is head of department .+")) {
-                String dept = line.replaceAll("(?i)who is head of department ", "");
-                try {
-                    String head = service.getHeadOf(dept);
-                    System.out.printf("Head of %s department is %s%n", dept, head);
-                } catch (IllegalArgumentException e) {
-                    System.out.println("Error: " + e.getMessage());
-                }
+            try (Tracer.Span command = tracer.command(line); CommandEvent event = CommandEvent.start(line)) {
+                if (line.matches("(?i)who is head of department .+")) {
+                    String dept = line.replaceAll("(?i)who is head of department ", "");
+                    try {
+                        String head = service.getHeadOf(dept);
+                        System.out.printf("Head of %s department is %s%n", dept, head);
+                    } catch (IllegalArgumentException e) {
+                        System.out.println("Error: " + e.getMessage());
+                    }
 
-            } else if (line.matches("(?i)show .+ statistics\\.?")) {
-                String dept = line.replaceAll("(?i)show (.+) statistics\\.?", "$1");
-                try {
-                    Map<Degree, Long> stats = service.getStatistics(dept);
-                    System.out.printf(
-                            "assistants - %d%n" +
-                                    "associate professors - %d%n" +
-                                    "professors - %d%n",
-                            stats.getOrDefault(Degree.ASSISTANT, 0L),
-                            stats.getOrDefault(Degree.ASSOCIATE_PROFESSOR, 0L),
-                            stats.getOrDefault(Degree.PROFESSOR, 0L)
-                    );
-                } catch (IllegalArgumentException e) {
-                    System.out.println("Error: " + e.getMessage());
-                }
+                } else if (line.matches(STATISTICS_AS_OF)) {
+                    Matcher m = Pattern.compile(STATISTICS_AS_OF).matcher(line);
+                    m.matches();
+                    try {
+                        Map<Degree, Long> stats = service.getStatisticsAsOf(m.group(1), LocalDate.parse(m.group(2)));
+                        rows.text("assistants - ").number(stats.getOrDefault(Degree.ASSISTANT, 0L)).newline()
+                                .text("associate professors - ").number(stats.getOrDefault(Degree.ASSOCIATE_PROFESSOR, 0L)).newline()
+                                .text("professors - ").number(stats.getOrDefault(Degree.PROFESSOR, 0L)).newline()
+                                .flush();
+                    } catch (IllegalArgumentException | DateTimeException e) {
+                        System.out.println("Error: " + e.getMessage());
+                    }
 
-            } else if (line.matches("(?i)show the average salary for the department .+")) {
-                String dept = line.replaceAll("(?i)show the average salary for the department ", "");
-                try {
-                    double avg = service.getAverageSalary(dept);
-                    System.out.printf("The average salary of %s is %.2f%n", dept, avg);
-                } catch (IllegalArgumentException e) {
-                    System.out.println("Error: " + e.getMessage());
-                }
+                } else if (line.matches(AVERAGE_SALARY_AS_OF)) {
+                    Matcher m = Pattern.compile(AVERAGE_SALARY_AS_OF).matcher(line);
+                    m.matches();
+                    try {
+                        double avg = service.getAverageSalaryAsOf(m.group(1), LocalDate.parse(m.group(2)));
+                        System.out.printf("The average salary of %s as of %s was %.2f%n", m.group(1), m.group(2), avg);
+                    } catch (IllegalArgumentException | DateTimeException e) {
+                        System.out.println("Error: " + e.getMessage());
+                    }
 
-            } else if (line.matches("(?i)show count of employee for .+")) {
-                String dept = line.replaceAll("(?i)show count of employee for ", "");
-                try {
-                    long count = service.getEmployeeCount(dept);
-                    System.out.println(count);
-                } catch (IllegalArgumentException e) {
-                    System.out.println("Error: " + e.getMessage());
-                }
+                } else if (line.matches("(?i)show .+ statistics\\.?")) {
+                    String dept = line.replaceAll("(?i)show (.+) statistics\\.?", "$1");
+                    try {
+                        Map<Degree, Long> stats = service.getStatistics(dept);
+                        rows.text("assistants - ").number(stats.getOrDefault(Degree.ASSISTANT, 0L)).newline()
+                                .text("associate professors - ").number(stats.getOrDefault(Degree.ASSOCIATE_PROFESSOR, 0L)).newline()
+                                .text("professors - ").number(stats.getOrDefault(Degree.PROFESSOR, 0L)).newline()
+                                .flush();
+                    } catch (IllegalArgumentException e) {
+                        System.out.println("Error: " + e.getMessage());
+                    }
+
+                } else if (line.matches("(?i)show the average salary for the department .+")) {
+                    String dept = line.replaceAll("(?i)show the average salary for the department ", "");
+                    try {
+                        double avg = service.getAverageSalary(dept);
+                        System.out.printf("The average salary of %s is %.2f%n", dept, avg);
+                    } catch (IllegalArgumentException e) {
+                        System.out.println("Error: " + e.getMessage());
+                    }
 
-            } else if (line.matches("(?i)global search by .+")) {
-                String tmpl = line.replaceAll("(?i)global search by ", "");
-                try {
-                    String result = service.globalSearch(tmpl);
-                    if (result.isEmpty()) {
+                } else if (line.matches("(?i)show count of employee for .+")) {
+                    String dept = line.replaceAll("(?i)show count of employee for ", "");
+                    try {
+                        long count = service.getEmployeeCount(dept);
+                        System.out.println(count);
+                    } catch (IllegalArgumentException e) {
+                        System.out.println("Error: " + e.getMessage());
+                    }
+
+                } else if (line.matches("(?i)show subtree statistics for .+")) {
+                    String dept = line.replaceAll("(?i)show subtree statistics for ", "");
+                    try {
+                        Map<Degree, Long> stats = service.getSubtreeStatistics(dept);
+                        rows.text("assistants - ").number(stats.getOrDefault(Degree.ASSISTANT, 0L)).newline()
+                                .text("associate professors - ").number(stats.getOrDefault(Degree.ASSOCIATE_PROFESSOR, 0L)).newline()
+                                .text("professors - ").number(stats.getOrDefault(Degree.PROFESSOR, 0L)).newline()
+                                .flush();
+                    } catch (IllegalArgumentException e) {
+                        System.out.println("Error: " + e.getMessage());
+                    }
+
+                } else if (line.matches("(?i)show subtree average salary for .+")) {
+                    String dept = line.replaceAll("(?i)show subtree average salary for ", "");
+                    try {
+                        double avg = service.getSubtreeAverageSalary(dept);
+                        System.out.printf("The average salary of %s and its sub-departments is %.2f%n", dept, avg);
+                    } catch (IllegalArgumentException e) {
+                        System.out.println("Error: " + e.getMessage());
+                    }
+
+                } else if (line.matches("(?i)show subtree employee count for .+")) {
+                    String dept = line.replaceAll("(?i)show subtree employee count for ", "");
+                    try {
+                        long count = service.getSubtreeEmployeeCount(dept);
+                        System.out.println(count);
+                    } catch (IllegalArgumentException e) {
+                        System.out.println("Error: " + e.getMessage());
+                    }
+
+                } else if (line.matches("(?i)show lector .+")) {
+                    String key = line.replaceAll("(?i)show lector ", "");
+                    try {
+                        LectorCard card = service.getLectorCard(key);
+                        System.out.printf("%s %s (id=%d)%n" +
+                                        "degree: %s, salary: %.2f%n" +
+                                        "departments: %s%n" +
+                                        "head of: %s%n",
+                                card.getFirstName(), card.getLastName(), card.getLectorId(),
+                                card.getDegree(), card.getSalary(),
+                                joinOrDash(Arrays.asList(card.getDepartmentNames())),
+                                joinOrDash(headedDepartments(card)));
+                    } catch (IllegalArgumentException e) {
+                        System.out.println("Error: " + e.getMessage());
+                    }
+
+                } else if (line.matches("(?i)global search by .+")) {
+                    String tmpl = line.replaceAll("(?i)global search by ", "");
+                    try {
+                        printSearch(tmpl, SearchPage.Cursor.START);
+                    } catch (IllegalArgumentException e) {
+                        System.out.println("Error: " + e.getMessage());
+                    }
+
+                } else if (line.matches("(?i)fuzzy search by .+")) {
+                    String query = line.replaceAll("(?i)fuzzy search by ", "");
+                    List<LectorNameIndex.Match> matches = service.fuzzySearch(query, 10);
+                    if (matches.isEmpty()) {
                         System.out.println("No matches found.");
                     } else {
-                        System.out.println(result);
+                        System.out.println(matches.stream()
+                                .map(m -> m.lector().fullName())
+                                .collect(Collectors.joining(", ")));
                     }
-                } catch (IllegalArgumentException e) {
-                    System.out.println("Error: " + e.getMessage());
-                }
 
-            } else if (line.matches("(?i)add department .+ head .+")) {
-                String[] parts = line.split("\\s+");
-                String name = parts[2];
-                String headKey = parts[4];
-                try {
-                    service.createDepartment(name, headKey);
-                    System.out.println("Department created.");
-                } catch (IllegalArgumentException e) {
-                    System.out.println("Error: " + e.getMessage());
-                }
+                } else if (line.matches("(?i)next page")) {
+                    if (pendingCursor == null) {
+                        System.out.println("Error: no search to continue.");
+                    } else {
+                        printSearch(pendingSearch, pendingCursor);
+                    }
 
-            } else if (line.toLowerCase().startsWith("add lector ")) {
-                String[] tokens = line.split("\\s+");
-                String firstName = tokens[2];
-                String lastName = tokens[3];
-                String degree = tokens[5];
-                double salary = Double.parseDouble(tokens[7]);
-
-                List<String> deptKeys;
-                int depIndex = line.toLowerCase().indexOf("departments");
-                if (depIndex >= 0) {
-                    String depsPart = line.substring(depIndex + "departments".length()).trim();
-                    deptKeys = Arrays.stream(depsPart.split(","))
-                            .map(String::trim)
-                            .filter(s -> !s.isEmpty())
-                            .toList();
-                } else {
-                    deptKeys = List.of();
-                }
+                } else if (line.matches("(?i)add department .+ head .+")) {
+                    String[] parts = line.split("\\s+");
+                    String name = parts[2];
+                    String headKey = parts[4];
+                    try {
+                        service.createDepartment(name, headKey);
+                        System.out.println("Department created.");
+                    } catch (IllegalArgumentException | OptimisticLockingFailureException e) {
+                        System.out.println("Error: " + e.getMessage());
+                    }
 
-                try {
-                    service.createLector(
-                            firstName,
-                            lastName,
-                            Degree.valueOf(degree.toUpperCase()),
-                            salary,
-                            deptKeys
-                    );
-                    System.out.println("Lector created.");
-                } catch (IllegalArgumentException e) {
-                    System.out.println("Error: " + e.getMessage());
-                }
+                } else if (line.toLowerCase().startsWith("add lector ")) {
+                    String[] tokens = line.split("\\s+");
+                    String firstName = tokens[2];
+                    String lastName = tokens[3];
+                    String degree = tokens[5];
+                    double salary = Double.parseDouble(tokens[7]);
 
-            } else if (line.matches("(?i)update department .+ head .+")) {
-                String[] parts = line.split("\\s+");
-                String deptKey = parts[2];
-                String newHeadKey = parts[4];
-                try {
-                    service.updateDepartmentHead(deptKey, newHeadKey);
-                    System.out.println("Department head updated.");
-                } catch (IllegalArgumentException e) {
-                    System.out.println("Error: " + e.getMessage());
-                }
+                    List<String> deptKeys;
+                    int depIndex = line.toLowerCase().indexOf("departments");
+                    if (depIndex >= 0) {
+                        String depsPart = line.substring(depIndex + "departments".length()).trim();
+                        deptKeys = Arrays.stream(depsPart.split(","))
+                                .map(String::trim)
+                                .filter(s -> !s.isEmpty())
+                                .toList();
+                    } else {
+                        deptKeys = List.of();
+                    }
 
-            } else if (line.toLowerCase().startsWith("update lector ")) {
-                String[] parts = line.split("\\s+", 5);
-                if (parts.length < 5) {
-                    System.out.println("Error: invalid update-lector format.");
-                    continue;
-                }
-                String lectorKey = parts[2] + " " + parts[3];
-                String[] tail = parts[4].split("\\s+", 2);
-                String field = tail[0].toLowerCase();
-                String newValue = tail.length > 1 ? tail[1] : "";
-
-                try {
-                    service.updateLector(lectorKey, field, newValue);
-                    System.out.println("Lector updated.");
-                } catch (IllegalArgumentException e) {
-                    System.out.println("Error: " + e.getMessage());
-                }
+                    try {
+                        service.createLector(
+                                firstName,
+                                lastName,
+                                Degree.valueOf(degree.toUpperCase()),
+                                salary,
+                                deptKeys
+                        );
+                        System.out.println("Lector created.");
+                    } catch (IllegalArgumentException | OptimisticLockingFailureException e) {
+                        System.out.println("Error: " + e.getMessage());
+                    }
 
-            } else if (line.matches("(?i)delete department .+")) {
-                String deptKey = line.split("\\s+")[2];
-                try {
-                    service.deleteDepartment(deptKey);
-                    System.out.println("Department deleted.");
-                } catch (IllegalArgumentException e) {
-                    System.out.println("Error: " + e.getMessage());
-                }
+                } else if (line.matches("(?i)update department .+ head .+")) {
+                    String[] parts = line.split("\\s+");
+                    String deptKey = parts[2];
+                    String newHeadKey = parts[4];
+                    try {
+                        service.updateDepartmentHead(deptKey, newHeadKey);
+                        System.out.println("Department head updated.");
+                    } catch (IllegalArgumentException | OptimisticLockingFailureException e) {
+                        System.out.println("Error: " + e.getMessage());
+                    }
 
-            } else if (line.matches("(?i)delete lector .+")) {
-                String lectorKey = line.split("\\s+")[2];
-                try {
-                    service.deleteLector(lectorKey);
-                    System.out.println("Lector deleted.");
-                } catch (IllegalArgumentException e) {
-                    System.out.println("Error: " + e.getMessage());
-                }
+                } else if (line.toLowerCase().startsWith("update lector ")) {
+                    String[] parts = line.split("\\s+", 5);
+                    if (parts.length < 5) {
+                        System.out.println("Error: invalid update-lector format.");
+                        continue;
+                    }
+                    String lectorKey = parts[2] + " " + parts[3];
+                    String[] tail = parts[4].split("\\s+", 2);
+                    String field = tail[0].toLowerCase();
+                    String newValue = tail.length > 1 ? tail[1] : "";
 
-            } else if (line.matches("(?i)list departments")) {
-                List<Department> depts = service.listDepartments();
-                if (depts.isEmpty()) {
-                    System.out.println("No departments found.");
-                } else {
-                    depts.forEach(d ->
-                            System.out.printf("id=%d name=%s head=%s%n",
-                                    d.getId(),
-                                    d.getName(),
-                                    d.getHead() != null
-                                            ? d.getHead().getFirstName() + " " + d.getHead().getLastName()
-                                            : "–")
-                    );
-                }
+                    try {
+                        service.updateLector(lectorKey, field, newValue);
+                        System.out.println("Lector updated.");
+                    } catch (IllegalArgumentException | OptimisticLockingFailureException e) {
+                        System.out.println("Error: " + e.getMessage());
+                    }
+
+                } else if (line.matches("(?i)delete department .+")) {
+                    String deptKey = line.split("\\s+")[2];
+                    try {
+                        service.deleteDepartment(deptKey);
+                        System.out.println("Department deleted.");
+                    } catch (IllegalArgumentException | OptimisticLockingFailureException e) {
+                        System.out.println("Error: " + e.getMessage());
+                    }
+
+                } else if (line.matches(MOVE_DEPARTMENT)) {
+                    Matcher m = Pattern.compile(MOVE_DEPARTMENT).matcher(line);
+                    m.matches();
+                    try {
+                        service.moveDepartment(m.group(1), m.group(2));
+                        System.out.println(m.group(2) == null ? "Department moved to the top level." : "Department moved.");
+                    } catch (IllegalArgumentException | OptimisticLockingFailureException e) {
+                        System.out.println("Error: " + e.getMessage());
+                    }
+
+                } else if (line.matches("(?i)delete lector .+")) {
+                    String lectorKey = line.split("\\s+")[2];
+                    try {
+                        service.deleteLector(lectorKey);
+                        System.out.println("Lector deleted.");
+                    } catch (IllegalArgumentException | OptimisticLockingFailureException e) {
+                        System.out.println("Error: " + e.getMessage());
+                    }
+
+                } else if (line.matches("(?i)list departments")) {
+                    List<DepartmentSummary> depts = service.listDepartments();
+                    if (depts.isEmpty()) {
+                        System.out.println("No departments found.");
+                    } else {
+                        for (DepartmentSummary d : depts) {
+                            rows.text("id=").number(d.id()).text(" name=").text(d.name()).text(" head=");
+                            if (d.headFirstName() == null && d.headLastName() == null) {
+                                rows.text("–");
+                            } else {
+                                rows.text(d.headFirstName()).text(' ').text(d.headLastName());
+                            }
+                            rows.newline();
+                        }
+                        rows.flush();
+                    }
+
+                } else if (line.matches("(?i)list lectors")) {
+                    List<LectorSummary> lectors = service.listLectors();
+                    if (lectors.isEmpty()) {
+                        System.out.println("No lectors found.");
+                    } else {
+                        for (LectorSummary l : lectors) {
+                            rows.text("id=").number(l.id()).text(' ').text(l.firstName()).text(' ')
+                                    .text(l.lastName()).text(' ').text(l.degree())
+                                    .text(" salary=").fixed2(l.salary()).newline();
+                        }
+                        rows.flush();
+                    }
+
+                } else if (line.matches("(?i)show pool metrics")) {
+                    try {
+                        PoolMetricsService.PoolStats p = poolMetrics.getPoolStats();
+                        System.out.printf("pool %s: active=%d idle=%d pending=%d max=%d%n" +
+                                        "acquire: count=%d mean=%.3f ms max=%.3f ms timeouts=%d%n",
+                                p.pool(), p.active(), p.idle(), p.pending(), p.max(),
+                                p.acquireCount(), p.acquireMeanMs(), p.acquireMaxMs(), p.timeouts());
+                    } catch (IllegalStateException e) {
+                        System.out.println("Error: " + e.getMessage());
+                    }
+
+                } else if (line.matches("(?i)show coalescing metrics")) {
+                    List<SingleFlight.OperationStats> stats = singleFlight.stats();
+                    if (stats.isEmpty()) {
+                        System.out.println("No coalescible reads yet.");
+                    }
+                    for (SingleFlight.OperationStats s : stats) {
+                        System.out.printf("%s: executed=%d coalesced=%d%n", s.operation(), s.executed(), s.coalesced());
+                    }
+
+                } else if (line.matches("(?i)export lectors to .+")) {
+                    String dir = line.replaceAll("(?i)export lectors to ", "");
+                    try {
+                        ReportExportService.ExportSummary r = reportExport.exportLectors(Path.of(dir));
+                        System.out.printf("Exported %d rows in %d department partitions (%.1f MiB) to %s%n" +
+                                        "in %.2f s, %.0f rows/s%n",
+                                r.rows(), r.partitions(), r.bytes() / (1024.0 * 1024.0), r.directory(),
+                                r.elapsed().toMillis() / 1000.0, r.rowsPerSecond());
+                    } catch (IllegalArgumentException | UncheckedIOException e) {
+                        System.out.println("Error: " + e.getMessage());
+                    }
+
+                } else if (line.matches("(?i)snapshot (save|load) .+")) {
+                    String[] parts = line.split("\\s+", 3);
+                    boolean save = parts[1].equalsIgnoreCase("save");
+                    try {
+                        SnapshotService.SnapshotSummary s = save
+                                ? snapshots.save(Path.of(parts[2]))
+                                : snapshots.load(Path.of(parts[2]));
+                        System.out.printf("%s %d lectors, %d departments, %d memberships (%.1f MiB) in %.2f s%n",
+                                save ? "Saved" : "Loaded", s.lectors(), s.departments(), s.memberships(),
+                                s.bytes() / (1024.0 * 1024.0), s.elapsed().toMillis() / 1000.0);
+                    } catch (IllegalArgumentException | UncheckedIOException e) {
+                        System.out.println("Error: " + e.getMessage());
+                    }
+
+                } else if (line.matches(ARCHIVE_PURGE)) {
+                    Matcher m = Pattern.compile(ARCHIVE_PURGE).matcher(line);
+                    m.matches();
+                    try {
+                        ArchiveService.PurgeSummary p = m.group(1) != null
+                                ? archive.purge(Duration.ofDays(Long.parseLong(m.group(1))))
+                                : archive.purge();
+                        System.out.printf("Purged %d archived lectors and %d memberships in %d batches%n",
+                                p.lectors(), p.memberships(), p.batches());
+                    } catch (IllegalArgumentException | ArithmeticException | DateTimeException e) {
+                        System.out.println("Error: " + e.getMessage());
+                    }
+
+                } else if (line.matches(GENERATE)) {
+                    Matcher m = Pattern.compile(GENERATE).matcher(line);
+                    m.matches();
+                    try {
+                        DatasetGenerator.Spec spec = new DatasetGenerator.Spec(Integer.parseInt(m.group(1)),
+                                Integer.parseInt(m.group(2)), m.group(3) != null ? Long.parseLong(m.group(3)) : 1L);
+                        DataGeneratorService.GenerateSummary g = m.group(4) != null
+                                ? generator.generateToFile(spec, Path.of(m.group(4)))
+                                : generator.generateToDatabase(spec);
+                        System.out.printf("Generated %d lectors, %d departments, %d memberships %s in %.2f s%n",
+                                g.counts().lectors(), g.counts().departments(), g.counts().memberships(),
+                                g.file() != null ? "to " + g.file() : "into the database",
+                                g.elapsed().toMillis() / 1000.0);
+                    } catch (IllegalArgumentException | UncheckedIOException e) {
+                        System.out.println("Error: " + e.getMessage());
+                    }
+
+                } else if (line.matches("(?i)jfr start")) {
+                    try {
+                        System.out.println(flightRecorder.start()
+                                ? "Flight recording started with " + FlightRecorderService.PROFILE
+                                : "Flight recording is already running.");
+                    } catch (IllegalArgumentException | UncheckedIOException e) {
+                        System.out.println("Error: " + e.getMessage());
+                    }
+
+                } else if (line.matches("(?i)jfr dump .+")) {
+                    Path file = Path.of(line.substring("jfr dump ".length()).trim());
+                    try {
+                        FlightRecorderService.DumpSummary d = flightRecorder.dump(file);
+                        System.out.printf("Dumped %d running recording(s) to %s (%.1f MiB)%n",
+                                d.recordings(), d.file(), d.bytes() / (1024.0 * 1024.0));
+                    } catch (IllegalArgumentException | UncheckedIOException e) {
+                        System.out.println("Error: " + e.getMessage());
+                    }
+
+                } else if (line.matches("(?i)use university .+")) {
+                    try {
+                        String tenant = tenants.use(line.substring("use university ".length()).trim());
+                        // a cursor from the previous university must not page through this one
+                        pendingSearch = null;
+                        pendingCursor = null;
+                        System.out.println("Using university " + tenant + ".");
+                    } catch (IllegalArgumentException e) {
+                        System.out.println("Error: " + e.getMessage());
+                    }
+
+                } else if (line.matches("(?i)show trace")) {
+                    System.out.print(tracer.last().map(Tracer.Span::tree).orElse("No traced command yet.\n"));
 
-            } else if (line.matches("(?i)list lectors")) {
-                List<Lector> lectors = service.listLectors();
-                if (lectors.isEmpty()) {
-                    System.out.println("No lectors found.");
                 } else {
-                    lectors.forEach(l ->
-                            System.out.printf("id=%d %s %s %s salary=%.2f%n",
-                                    l.getId(),
-                                    l.getFirstName(),
-                                    l.getLastName(),
-                                    l.getDegree(),
-                                    l.getSalary())
-                    );
+                    System.out.println("Unknown command.");
                 }
-
-            } else {
-                System.out.println("Unknown command.");
             }
         }
 
         System.out.println("Goodbye!");
     }
+
+    // names of the headed departments; a head outside the member list is shown by id
+    private static List<String> headedDepartments(LectorCard card) {
+        List<Long> memberIds = Arrays.asList(card.getDepartmentIds());
+        return Arrays.stream(card.getHeadedDepartmentIds())
+                .map(id -> memberIds.contains(id) ? card.getDepartmentNames()[memberIds.indexOf(id)] : "id=" + id)
+                .toList();
+    }
+
+    private static String joinOrDash(List<String> values) {
+        return values.isEmpty() ? "–" : String.join(", ", values);
+    }
+
+    /**
+     * Writes matches page by page as they are fetched, so the first names appear at once and only
+     * one page is held in memory. Stops after {@code searchMaxResults} names and remembers where.
+     */
+    private void printSearch(String template, SearchPage.Cursor from) {
+        pendingSearch = null;
+        pendingCursor = null;
+
+        SearchPage.Cursor cursor = from;
+        int printed = 0;
+        while (cursor != null && printed < searchMaxResults) {
+            SearchPage page = service.searchLectors(template, cursor,
+                    Math.min(searchPageSize, searchMaxResults - printed));
+            for (LectorName hit : page.hits()) {
+                System.out.print(printed++ == 0 ? hit.fullName() : ", " + hit.fullName());
+            }
+            System.out.flush();
+            cursor = page.next();
+        }
+
+        if (printed == 0) {
+            System.out.println(from == SearchPage.Cursor.START ? "No matches found." : "No more matches.");
+            return;
+        }
+        System.out.println();
+        if (cursor != null) {
+            pendingSearch = template;
+            pendingCursor = cursor;
+            System.out.printf("Showing %d matches; type 'next page' for more.%n", printed);
+        }
+    }
 }
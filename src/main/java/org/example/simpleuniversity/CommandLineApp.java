@@ -2,8 +2,8 @@ package org.example.simpleuniversity;
 
 import lombok.AllArgsConstructor;
 import org.example.simpleuniversity.model.Degree;
-import org.example.simpleuniversity.model.Department;
-import org.example.simpleuniversity.model.Lector;
+import org.example.simpleuniversity.model.DepartmentSummary;
+import org.example.simpleuniversity.model.LectorSummary;
 import org.example.simpleuniversity.service.UniversityService;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
@@ -183,32 +183,30 @@ public class CommandLineApp implements CommandLineRunner {
                 }
 
             } else if (line.matches("(?i)list departments")) {
-                List<Department> depts = service.listDepartments();
+                List<DepartmentSummary> depts = service.listDepartments();
                 if (depts.isEmpty()) {
                     System.out.println("No departments found.");
                 } else {
                     depts.forEach(d ->
                             System.out.printf("id=%d name=%s head=%s%n",
-                                    d.getId(),
-                                    d.getName(),
-                                    d.getHead() != null
-                                            ? d.getHead().getFirstName() + " " + d.getHead().getLastName()
-                                            : "–")
+                                    d.id(),
+                                    d.name(),
+                                    d.headName() != null ? d.headName() : "–")
                     );
                 }
 
             } else if (line.matches("(?i)list lectors")) {
-                List<Lector> lectors = service.listLectors();
+                List<LectorSummary> lectors = service.listLectors();
                 if (lectors.isEmpty()) {
                     System.out.println("No lectors found.");
                 } else {
                     lectors.forEach(l ->
                             System.out.printf("id=%d %s %s %s salary=%.2f%n",
-                                    l.getId(),
-                                    l.getFirstName(),
-                                    l.getLastName(),
-                                    l.getDegree(),
-                                    l.getSalary())
+                                    l.id(),
+                                    l.firstName(),
+                                    l.lastName(),
+                                    l.degree(),
+                                    l.salary())
                     );
                 }
 
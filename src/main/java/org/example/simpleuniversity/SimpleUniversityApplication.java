@@ -2,8 +2,11 @@ package org.example.simpleuniversity;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 
-@SpringBootApplication
+// R2DBC is only used for the reactive read side (see ReactiveDatabaseConfig); Boot's own
+// ConnectionFactory would switch the JDBC DataSource, and with it JPA, off.
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 public class SimpleUniversityApplication {
     public static void main(String[] args) {
         SpringApplication.run(SimpleUniversityApplication.class, args);
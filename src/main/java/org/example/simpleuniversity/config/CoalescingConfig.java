@@ -0,0 +1,53 @@
+package org.example.simpleuniversity.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.example.simpleuniversity.model.Names;
+import org.example.simpleuniversity.service.Coalesced;
+import org.example.simpleuniversity.service.SingleFlight;
+import org.example.simpleuniversity.service.TenantContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Routes {@link Coalesced} reads through {@link SingleFlight}, keyed by operation, university,
+ * normalized first argument and any further arguments.
+ */
+@Configuration
+public class CoalescingConfig {
+
+    @Bean
+    public CoalescingAspect coalescingAspect(SingleFlight singleFlight, TenantContext tenants) {
+        return new CoalescingAspect(singleFlight, tenants);
+    }
+
+    // inside the tracing and JFR aspects, so every caller still gets its own span and event, but
+    // outside the transaction: a waiter never opens a transaction or takes a connection
+    @Aspect
+    @Order(Ordered.HIGHEST_PRECEDENCE + 2)
+    public static class CoalescingAspect {
+        private final SingleFlight singleFlight;
+        private final TenantContext tenants;
+
+        CoalescingAspect(SingleFlight singleFlight, TenantContext tenants) {
+            this.singleFlight = singleFlight;
+            this.tenants = tenants;
+        }
+
+        @Around("@annotation(org.example.simpleuniversity.service.Coalesced)")
+        public Object coalesce(ProceedingJoinPoint call) throws Throwable {
+            Object[] args = call.getArgs();
+            StringBuilder argument = new StringBuilder(
+                    args.length > 0 && args[0] instanceof String s ? Names.normalize(s) : "");
+            // later arguments, such as an as-of date, are part of the key as they are
+            for (int i = 1; i < args.length; i++) {
+                argument.append('\0').append(args[i]);
+            }
+            return singleFlight.execute(call.getSignature().getName(), tenants.current(), argument.toString(),
+                    call::proceed);
+        }
+    }
+}
@@ -2,13 +2,16 @@ package org.example.simpleuniversity.config;
 
 import org.springframework.core.annotation.Order;
 import org.springframework.transaction.annotation.Transactional;
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
 import org.example.simpleuniversity.CommandLineApp;
 import org.example.simpleuniversity.model.Degree;
 import org.example.simpleuniversity.model.Department;
 import org.example.simpleuniversity.model.Lector;
 import org.example.simpleuniversity.repository.DepartmentRepository;
+import org.example.simpleuniversity.repository.LectorCardRepository;
 import org.example.simpleuniversity.repository.LectorRepository;
+import org.example.simpleuniversity.service.TenantContext;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.stereotype.Component;
@@ -18,16 +21,21 @@ import java.util.List;
 
 @Order(1)
 @Component
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class DataInitializer implements CommandLineRunner {
 
     private final LectorRepository lectorRepo;
     private final DepartmentRepository deptRepo;
+    private final LectorCardRepository cardRepo;
+    private final TenantContext tenants;
+
+    @Value("${university.seed.enabled:true}")
+    private boolean seedEnabled;
 
     @Override
     @Transactional
     public void run(String... args) {
-        if (lectorRepo.count() > 0) return;
+        if (!seedEnabled || lectorRepo.count() > 0) return;
         System.out.println("Running DataInitializer…");
 
         Lector john = Lector.builder()
@@ -77,6 +85,12 @@ public class DataInitializer implements CommandLineRunner {
 
         lectorRepo.saveAll(List.of(john, jane, albert));
 
+        // the seed bypasses UniversityService, so build the read model and history in one pass
+        cardRepo.deleteTenantCards(tenants.current());
+        cardRepo.insertTenantCards(tenants.current());
+        lectorRepo.recordSalaryHistory();
+        deptRepo.recordMembershipHistory();
+
         System.out.println("Sample data loaded.");
     }
 }
@@ -0,0 +1,67 @@
+package org.example.simpleuniversity.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.example.simpleuniversity.service.OperationEvent;
+import org.example.simpleuniversity.service.SearchPage;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Commits an {@link OperationEvent} per {@code UniversityService} call while a flight recording
+ * enables it; otherwise the advice costs one {@code isEnabled()} check.
+ */
+@Configuration
+public class FlightRecorderConfig {
+
+    @Bean
+    public OperationEventAspect operationEventAspect() {
+        return new OperationEventAspect();
+    }
+
+    // just inside the tracing aspect, so the duration includes the transaction commit
+    @Aspect
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public static class OperationEventAspect {
+
+        @Around("execution(public * org.example.simpleuniversity.service.UniversityService.*(..))")
+        public Object record(ProceedingJoinPoint call) throws Throwable {
+            OperationEvent event = new OperationEvent();
+            if (!event.isEnabled()) return call.proceed();
+
+            event.operation = call.getSignature().getName();
+            for (Object arg : call.getArgs()) {
+                if (arg instanceof String key) {
+                    event.key = key;
+                    break;
+                }
+            }
+            event.begin();
+            OperationEvent previous = OperationEvent.enter(event);
+            try {
+                Object result = call.proceed();
+                event.rows += rows(result);
+                return result;
+            } catch (Throwable t) {
+                event.failed = true;
+                throw t;
+            } finally {
+                OperationEvent.exit(previous);
+                event.commit();
+            }
+        }
+
+        private static long rows(Object result) {
+            if (result instanceof Collection<?> c) return c.size();
+            if (result instanceof Map<?, ?> m) return m.size();
+            if (result instanceof SearchPage page) return page.hits().size();
+            return 0;
+        }
+    }
+}
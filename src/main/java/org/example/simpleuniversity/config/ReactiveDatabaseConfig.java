@@ -0,0 +1,49 @@
+package org.example.simpleuniversity.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+
+@Configuration
+public class ReactiveDatabaseConfig {
+
+    /**
+     * Non-blocking connection pool for the reactive read side. It is deliberately not
+     * exposed as a {@code ConnectionFactory} bean: Spring Boot backs the JDBC DataSource
+     * off as soon as one exists. Connections are opened on first use.
+     */
+    @Bean(destroyMethod = "close")
+    public ReactiveDatabase reactiveDatabase(
+            @Value("${university.r2dbc.url}") String url,
+            @Value("${university.r2dbc.username:}") String username,
+            @Value("${university.r2dbc.password:}") String password,
+            @Value("${university.r2dbc.pool.max-size:8}") int maxSize) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(url).mutate();
+        if (!username.isEmpty()) {
+            options.option(ConnectionFactoryOptions.USER, username)
+                    .option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+
+        ConnectionPool pool = new ConnectionPool(ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(options.build()))
+                .initialSize(0)
+                .maxSize(maxSize)
+                .maxAcquireTime(Duration.ofSeconds(5))
+                .build());
+        return new ReactiveDatabase(pool, DatabaseClient.create(pool));
+    }
+
+    public record ReactiveDatabase(ConnectionPool pool, DatabaseClient client) implements AutoCloseable {
+        @Override
+        public void close() {
+            pool.dispose();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.simpleuniversity.config;
+
+import org.example.simpleuniversity.service.TenantContext;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Discriminator-based multi-tenancy: every Hibernate session is opened for the calling thread's
+ * {@link TenantContext#current()} tenant, and the {@code @TenantId} column of {@code Lector},
+ * {@code Department} and {@code LectorCard} is set from it on insert and added to every load and
+ * query. Native SQL is not filtered; it has to bind the tenant itself.
+ */
+@Configuration
+public class TenantConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer tenantIdentifierResolver(TenantContext tenants) {
+        CurrentTenantIdentifierResolver<String> resolver = new CurrentTenantIdentifierResolver<>() {
+            @Override
+            public String resolveCurrentTenantIdentifier() {
+                return tenants.current();
+            }
+
+            // Spring binds sessions to transactions itself; there is no getCurrentSession() to check
+            @Override
+            public boolean validateExistingCurrentSessions() {
+                return false;
+            }
+        };
+        return properties -> properties.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER, resolver);
+    }
+}
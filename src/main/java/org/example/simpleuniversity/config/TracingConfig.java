@@ -0,0 +1,86 @@
+package org.example.simpleuniversity.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.example.simpleuniversity.service.Tracer;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import javax.sql.DataSource;
+
+/**
+ * Feeds {@link Tracer} spans from the layers below a CLI command: every public method of a
+ * {@code @Service}, every Spring Data repository call, every Hibernate flush and every JDBC
+ * statement. All of them are no-ops unless a command is being traced.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    public static BeanPostProcessor tracingDataSourcePostProcessor(ObjectProvider<Tracer> tracer) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && !(bean instanceof TracingDataSource)
+                        ? new TracingDataSource(dataSource, tracer.getObject())
+                        : bean;
+            }
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer tracingSessionListener(Tracer tracer) {
+        TracingSessionListener.tracer = tracer;
+        return properties -> properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER,
+                TracingSessionListener.class.getName());
+    }
+
+    @Bean
+    public TracingAspect tracingAspect(Tracer tracer) {
+        return new TracingAspect(tracer);
+    }
+
+    // outermost advice, so a service span also covers its transaction's commit and flush
+    @Aspect
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public static class TracingAspect {
+        private final Tracer tracer;
+
+        TracingAspect(Tracer tracer) {
+            this.tracer = tracer;
+        }
+
+        @Around("execution(public * org.example.simpleuniversity.service..*(..))"
+                + " && @within(org.springframework.stereotype.Service)")
+        public Object service(ProceedingJoinPoint call) throws Throwable {
+            if (!tracer.isTracing()) return call.proceed();
+            return trace(Tracer.SERVICE, call.getSignature().getDeclaringType().getSimpleName(), call);
+        }
+
+        @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+        public Object repository(ProceedingJoinPoint call) throws Throwable {
+            if (!tracer.isTracing()) return call.proceed();
+            Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(call.getThis());
+            return trace(Tracer.REPOSITORY, interfaces[0].getSimpleName(), call);
+        }
+
+        private Object trace(String kind, String type, ProceedingJoinPoint call) throws Throwable {
+            try (Tracer.Span span = tracer.span(kind, type + "." + call.getSignature().getName())) {
+                try {
+                    return call.proceed();
+                } catch (Throwable t) {
+                    span.error(t);
+                    throw t;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.simpleuniversity.config;
+
+import org.example.simpleuniversity.service.Tracer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Opens a {@link Tracer#JDBC} span around every {@code execute*} call of the statements handed
+ * out by the wrapped pool, with the SQL as an attribute. Outside a traced command the spans are
+ * no-ops, so the only cost is one proxy hop per JDBC call. {@code unwrap} still reaches the pool,
+ * so its metrics stay bound.
+ */
+class TracingDataSource extends DelegatingDataSource {
+
+    private final Tracer tracer;
+
+    TracingDataSource(DataSource target, Tracer tracer) {
+        super(target);
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connection(super.getConnection(username, password));
+    }
+
+    private Connection connection(Connection target) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    // Spring compares the connections it binds to a transaction
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "prepareStatement" -> statement(invoke(target, method, args), PreparedStatement.class, (String) args[0]);
+                    case "prepareCall" -> statement(invoke(target, method, args), CallableStatement.class, (String) args[0]);
+                    case "createStatement" -> statement(invoke(target, method, args), Statement.class, null);
+                    default -> invoke(target, method, args);
+                });
+    }
+
+    private Object statement(Object target, Class<? extends Statement> type, String sql) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (!method.getName().startsWith("execute")) {
+                return invoke(target, method, args);
+            }
+            String statement = sql != null ? sql : args != null && args.length > 0 ? String.valueOf(args[0]) : "";
+            try (Tracer.Span span = tracer.span(Tracer.JDBC, method.getName()).attribute("sql", statement)) {
+                try {
+                    return invoke(target, method, args);
+                } catch (SQLException e) {
+                    span.error(e);
+                    throw e;
+                }
+            }
+        };
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
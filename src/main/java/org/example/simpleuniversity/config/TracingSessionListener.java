@@ -0,0 +1,47 @@
+package org.example.simpleuniversity.config;
+
+import org.example.simpleuniversity.service.Tracer;
+import org.hibernate.SessionEventListener;
+
+/**
+ * Times Hibernate flushes as {@link Tracer#FLUSH} spans, so the statements a flush issues show up
+ * under it rather than under whatever repository call triggered it. Hibernate instantiates one
+ * listener per session by class name ({@code hibernate.session.events.auto}), hence the static
+ * tracer set by {@link TracingConfig}.
+ */
+public class TracingSessionListener implements SessionEventListener {
+
+    static volatile Tracer tracer;
+
+    private Tracer.Span flush = Tracer.Span.NOOP;
+
+    @Override
+    public void flushStart() {
+        flush = start("flush");
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        end(numberOfEntities, numberOfCollections);
+    }
+
+    @Override
+    public void partialFlushStart() {
+        flush = start("auto-flush");
+    }
+
+    @Override
+    public void partialFlushEnd(int numberOfEntities, int numberOfCollections) {
+        end(numberOfEntities, numberOfCollections);
+    }
+
+    private static Tracer.Span start(String name) {
+        Tracer t = tracer;
+        return t == null ? Tracer.Span.NOOP : t.span(Tracer.FLUSH, name);
+    }
+
+    private void end(int entities, int collections) {
+        flush.attribute("entities", entities).attribute("collections", collections).close();
+        flush = Tracer.Span.NOOP;
+    }
+}
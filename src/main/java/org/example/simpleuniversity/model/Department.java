@@ -2,15 +2,19 @@ package org.example.simpleuniversity.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnTransformer;
+import org.hibernate.annotations.TenantId;
 
+import java.time.Instant;
 import java.util.HashSet;
 import java.util.Set;
 
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-@EqualsAndHashCode(exclude = "lectors")
+@EqualsAndHashCode(exclude = {"head", "parent", "lectors", "version", "nameNorm", "updatedAt", "tenantId"})
 @Entity
+@EntityListeners(UpdatedAtListener.class)
 @Builder
 public class Department {
     @Id
@@ -18,15 +22,43 @@ public class Department {
     private Long id;
     private String name;
 
-    @ManyToOne
+    // case-folded name behind the unique index; null while the name is unset
+    private String nameNorm;
+
+    @Version
+    private Long version;
+
+    // database time, the clock ChangePoller's watermark is read from (see UpdatedAtListener)
+    @ColumnTransformer(write = "COALESCE(?, CURRENT_TIMESTAMP)")
+    private Instant updatedAt;
+
+    // university the row belongs to; stamped on insert and filtered on from TenantContext
+    @TenantId
+    private String tenantId;
+
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "head_id")
     private Lector head;
 
-    @ManyToMany
+    // faculty or department this one belongs to; moves also rewrite department_closure
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "parent_id")
+    private Department parent;
+
+    @ToString.Exclude
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
             name = "department_lector",
             joinColumns = @JoinColumn(name = "department_id"),
             inverseJoinColumns = @JoinColumn(name = "lector_id")
     )
     private Set<Lector> lectors = new HashSet<>();;
+
+    @PrePersist
+    @PreUpdate
+    void normalizeName() {
+        nameNorm = name == null ? null : Names.normalize(name);
+    }
 }
@@ -0,0 +1,12 @@
+package org.example.simpleuniversity.model;
+
+/**
+ * The columns printed by "list departments"; the head's names come from a left join, so both are
+ * null for a department without a head.
+ */
+public record DepartmentSummary(Long id, String name, String headFirstName, String headLastName) {
+
+    public String headName() {
+        return headFirstName == null && headLastName == null ? null : headFirstName + " " + headLastName;
+    }
+}
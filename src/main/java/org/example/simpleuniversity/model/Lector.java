@@ -2,15 +2,19 @@ package org.example.simpleuniversity.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnTransformer;
+import org.hibernate.annotations.TenantId;
 
+import java.time.Instant;
 import java.util.HashSet;
 import java.util.Set;
 
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-@EqualsAndHashCode(exclude = "departments")
+@EqualsAndHashCode(exclude = {"departments", "version", "firstNameNorm", "lastNameNorm", "updatedAt", "tenantId"})
 @Entity
+@EntityListeners(UpdatedAtListener.class)
 @Builder
 public class Lector {
     @Id
@@ -22,6 +26,31 @@ public class Lector {
     @Enumerated(EnumType.STRING)
     private Degree degree;
 
-    @ManyToMany(mappedBy = "lectors")
+    @Version
+    private Long version;
+
+    // database time, the clock ChangePoller's watermark is read from (see UpdatedAtListener)
+    @ColumnTransformer(write = "COALESCE(?, CURRENT_TIMESTAMP)")
+    private Instant updatedAt;
+
+    // university the row belongs to; stamped on insert and filtered on from TenantContext
+    @TenantId
+    private String tenantId;
+
+    // case-folded names backing the indexed key lookups in LectorRepository
+    @Column(nullable = false)
+    private String firstNameNorm;
+    @Column(nullable = false)
+    private String lastNameNorm;
+
+    @ToString.Exclude
+    @ManyToMany(mappedBy = "lectors", fetch = FetchType.LAZY)
     private Set<Department> departments = new HashSet<>();;
+
+    @PrePersist
+    @PreUpdate
+    void normalizeNames() {
+        firstNameNorm = Names.normalize(firstName);
+        lastNameNorm = Names.normalize(lastName);
+    }
 }
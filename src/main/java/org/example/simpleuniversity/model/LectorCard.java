@@ -0,0 +1,41 @@
+package org.example.simpleuniversity.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.TenantId;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * Read-only row of the {@code lector_card} read model. Written only by the native statements in
+ * {@code LectorCardRepository}, never through the persistence context.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Immutable
+@Table(name = "lector_card")
+public class LectorCard {
+    @Id
+    private Long lectorId;
+    @TenantId
+    private String tenantId;
+    private String firstName;
+    private String lastName;
+    private String firstNameNorm;
+    private String lastNameNorm;
+    @Enumerated(EnumType.STRING)
+    private Degree degree;
+    private double salary;
+
+    // member departments ordered by name, as parallel arrays
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    private Long[] departmentIds;
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    private String[] departmentNames;
+
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    private Long[] headedDepartmentIds;
+}
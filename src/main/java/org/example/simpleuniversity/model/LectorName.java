@@ -0,0 +1,11 @@
+package org.example.simpleuniversity.model;
+
+/**
+ * Name-only view of a lector, read straight from the name index columns without loading the entity.
+ */
+public record LectorName(Long id, String firstName, String lastName, String firstNameNorm, String lastNameNorm) {
+
+    public String fullName() {
+        return firstName + " " + lastName;
+    }
+}
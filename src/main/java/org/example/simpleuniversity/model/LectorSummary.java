@@ -0,0 +1,7 @@
+package org.example.simpleuniversity.model;
+
+/**
+ * The columns printed by "list lectors", selected without materializing {@link Lector} entities.
+ */
+public record LectorSummary(Long id, String firstName, String lastName, Degree degree, double salary) {
+}
@@ -0,0 +1,28 @@
+package org.example.simpleuniversity.model;
+
+import java.util.Locale;
+
+/**
+ * Case folding shared by the {@code *_norm} columns and every lookup against them.
+ */
+public final class Names {
+
+    private Names() {
+    }
+
+    public static String normalize(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * LIKE pattern for {@code *_norm} values containing {@code template}, with {@code \} as the
+     * escape character, so {@code %} and {@code _} in the template match literally.
+     */
+    public static String containsPattern(String template) {
+        return "%" + escapeLike(normalize(template)) + "%";
+    }
+
+    private static String escapeLike(String s) {
+        return s.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.simpleuniversity.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnTransformer;
+
+import java.time.Instant;
+
+/**
+ * Marker left behind by a delete, so pollers can tell "gone" from "unchanged". Tombstones of all
+ * tenants form one change log, so the tenant is an ordinary column here, not a filter.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+public class Tombstone {
+    public static final String LECTOR = "lector";
+    public static final String DEPARTMENT = "department";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    private String entityType;
+    private Long entityId;
+    // database time, like updated_at; of() leaves it null for the write expression to fill
+    @ColumnTransformer(write = "COALESCE(?, CURRENT_TIMESTAMP)")
+    private Instant deletedAt;
+    private String tenantId;
+
+    public static Tombstone of(String tenantId, String entityType, Long entityId) {
+        return new Tombstone(null, entityType, entityId, null, tenantId);
+    }
+}
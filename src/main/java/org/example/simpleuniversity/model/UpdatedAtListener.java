@@ -0,0 +1,23 @@
+package org.example.simpleuniversity.model;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+
+/**
+ * Has the database stamp {@code updated_at} on every insert and update that goes through JPA:
+ * the value is cleared here, so the column's write expression falls back to
+ * {@code CURRENT_TIMESTAMP}, the clock {@code ChangePoller} reads its watermark from. The stamp is
+ * not read back into the entity.
+ */
+public class UpdatedAtListener {
+
+    @PrePersist
+    @PreUpdate
+    void touch(Object entity) {
+        if (entity instanceof Lector l) {
+            l.setUpdatedAt(null);
+        } else if (entity instanceof Department d) {
+            d.setUpdatedAt(null);
+        }
+    }
+}
@@ -1,12 +1,181 @@
 package org.example.simpleuniversity.repository;
 
 import org.example.simpleuniversity.model.Department;
+import org.example.simpleuniversity.model.DepartmentSummary;
+import org.example.simpleuniversity.model.Names;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface DepartmentRepository extends JpaRepository<Department,Long> {
-    Optional<Department> findByNameIgnoreCase(String name);
+    // served by the unique index on name_norm instead of an upper(name) scan
+    default Optional<Department> findByNameIgnoreCase(String name) {
+        return findByNameNorm(Names.normalize(name));
+    }
+
+    Optional<Department> findByNameNorm(String nameNorm);
+
+    @Query("select new org.example.simpleuniversity.model.DepartmentSummary("
+            + "d.id, d.name, h.firstName, h.lastName) from Department d left join d.head h order by d.id")
+    List<DepartmentSummary> findAllSummaries();
+
+    @Query("select l.id from Department d join d.lectors l where d.id = :id")
+    List<Long> findMemberIds(@Param("id") Long departmentId);
+
+    // Single membership rows, written without loading the department's lector collection
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            INSERT INTO department_lector (department_id, lector_id)
+            SELECT CAST(:departmentId AS BIGINT), CAST(:lectorId AS BIGINT)
+            WHERE NOT EXISTS (SELECT 1 FROM department_lector
+                              WHERE department_id = :departmentId AND lector_id = :lectorId)""", nativeQuery = true)
+    void addMember(@Param("departmentId") Long departmentId, @Param("lectorId") Long lectorId);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM department_lector WHERE department_id = :departmentId AND lector_id = :lectorId",
+            nativeQuery = true)
+    void removeMember(@Param("departmentId") Long departmentId, @Param("lectorId") Long lectorId);
+
+    boolean existsByParentId(Long parentId);
+
+    boolean existsByHeadId(Long headId);
+
+    @Query(value = "SELECT COUNT(*) FROM department_closure WHERE ancestor_id = :ancestor AND descendant_id = :descendant",
+            nativeQuery = true)
+    long countAncestorLinks(@Param("ancestor") Long ancestorId, @Param("descendant") Long descendantId);
+
+    // degree, head count and salary total over the department and every department below it; a
+    // lector in several of them is one IN-list entry, so counted once
+    @Query(value = """
+            SELECT l.degree, COUNT(*), SUM(l.salary) FROM lector l
+            WHERE l.id IN (SELECT dl.lector_id FROM department_lector dl
+                           WHERE dl.department_id = :root
+                              OR dl.department_id IN (SELECT c.descendant_id FROM department_closure c
+                                                      WHERE c.ancestor_id = :root))
+            GROUP BY l.degree""", nativeQuery = true)
+    List<Object[]> subtreeTotals(@Param("root") Long rootId);
+
+    // Row locks on both departments and all their ancestors, taken in id order so concurrent
+    // moves queue instead of deadlocking. Two moves that could close a cycle between them always
+    // share a row: one moves a department under something in the other's subtree, and the
+    // other's moved department is an ancestor of it.
+    @Query(value = """
+            SELECT id FROM department
+            WHERE id IN (:id, :other)
+               OR id IN (SELECT ancestor_id FROM department_closure WHERE descendant_id IN (:id, :other))
+            ORDER BY id FOR UPDATE""", nativeQuery = true)
+    List<Long> lockAncestors(@Param("id") Long departmentId, @Param("other") Long otherId);
+
+    // Moving a subtree: cut every link from the department's ancestors into the subtree, then add
+    // one per (new ancestor, subtree member); links inside the subtree stay as they are
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            DELETE FROM department_closure
+            WHERE ancestor_id IN (SELECT a.ancestor_id FROM department_closure a WHERE a.descendant_id = :id)
+              AND (descendant_id = :id
+                   OR descendant_id IN (SELECT s.descendant_id FROM department_closure s WHERE s.ancestor_id = :id))""",
+            nativeQuery = true)
+    int detachSubtree(@Param("id") Long departmentId);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            INSERT INTO department_closure (ancestor_id, descendant_id, depth)
+            SELECT a.ancestor_id, s.descendant_id, a.depth + s.depth + 1
+            FROM (SELECT ancestor_id, depth FROM department_closure WHERE descendant_id = :parent
+                  UNION ALL SELECT CAST(:parent AS BIGINT), 0) a
+            CROSS JOIN (SELECT descendant_id, depth FROM department_closure WHERE ancestor_id = :id
+                        UNION ALL SELECT CAST(:id AS BIGINT), 0) s""", nativeQuery = true)
+    int attachSubtree(@Param("id") Long departmentId, @Param("parent") Long parentId);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM department_closure WHERE descendant_id = :id", nativeQuery = true)
+    int deleteClosure(@Param("id") Long departmentId);
+
+    // Membership history: a membership's open row is opened and closed next to the change to
+    // department_lector, stamped with the transaction's time. deleteLector ends the rows at the
+    // lector's archive stamp instead; recordMembershipHistory() reconciles every membership after
+    // bulk loads.
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            INSERT INTO department_lector_history (department_id, lector_id, valid_from)
+            SELECT CAST(:departmentId AS BIGINT), CAST(:lectorId AS BIGINT), CURRENT_TIMESTAMP
+            WHERE NOT EXISTS (SELECT 1 FROM department_lector_history
+                              WHERE department_id = :departmentId AND lector_id = :lectorId AND valid_to IS NULL)""",
+            nativeQuery = true)
+    int openMembership(@Param("departmentId") Long departmentId, @Param("lectorId") Long lectorId);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            UPDATE department_lector_history SET valid_to = CURRENT_TIMESTAMP
+            WHERE lector_id = :lectorId AND department_id = :departmentId AND valid_to IS NULL""",
+            nativeQuery = true)
+    int closeMembership(@Param("departmentId") Long departmentId, @Param("lectorId") Long lectorId);
+
+    // every membership of a department that is being deleted
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            UPDATE department_lector_history SET valid_to = CURRENT_TIMESTAMP
+            WHERE department_id = :departmentId AND valid_to IS NULL""", nativeQuery = true)
+    int closeMemberships(@Param("departmentId") Long departmentId);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            UPDATE department_lector_history SET valid_to = CAST(:at AS TIMESTAMP(6) WITH TIME ZONE)
+            WHERE lector_id = :lectorId AND valid_to IS NULL""", nativeQuery = true)
+    int endMemberships(@Param("lectorId") Long lectorId, @Param("at") Instant at);
+
+    default void recordMembershipHistory() {
+        closeMembershipHistory();
+        openMembershipHistoryFrom(0L);
+    }
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            UPDATE department_lector_history h SET valid_to = CURRENT_TIMESTAMP
+            WHERE h.valid_to IS NULL
+              AND NOT EXISTS (SELECT 1 FROM department_lector dl
+                              WHERE dl.department_id = h.department_id AND dl.lector_id = h.lector_id)""",
+            nativeQuery = true)
+    int closeMembershipHistory();
+
+    // memberships of lectors from firstId up that have no open row, e.g. a generated batch
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            INSERT INTO department_lector_history (department_id, lector_id, valid_from)
+            SELECT dl.department_id, dl.lector_id, CURRENT_TIMESTAMP FROM department_lector dl
+            WHERE dl.lector_id >= :firstId
+              AND NOT EXISTS (SELECT 1 FROM department_lector_history h
+                              WHERE h.department_id = dl.department_id AND h.lector_id = dl.lector_id
+                                AND h.valid_to IS NULL)""", nativeQuery = true)
+    int openMembershipHistoryFrom(@Param("firstId") Long firstLectorId);
+
+    // Where bulk loads restart the department ids: above every id the membership history still
+    // mentions, so a new department never inherits a deleted one's past members
+    @Query(value = """
+            SELECT GREATEST(COALESCE((SELECT MAX(id) FROM department), 0),
+                            COALESCE((SELECT MAX(department_id) FROM department_lector_history), 0)) + 1""",
+            nativeQuery = true)
+    long firstUnusedId();
+
+    // degree, head count and salary total of the department's members just before :until, each
+    // membership and salary taken from the history row in effect then: one range on
+    // (department_id, valid_from), then one on (lector_id, valid_from) per member
+    @Query(value = """
+            SELECT h.degree, COUNT(*), SUM(h.salary)
+            FROM department_lector_history m
+            JOIN salary_history h ON h.lector_id = m.lector_id
+            WHERE m.department_id = :id
+              AND m.valid_from < CAST(:until AS TIMESTAMP(6) WITH TIME ZONE)
+              AND (m.valid_to IS NULL OR m.valid_to >= CAST(:until AS TIMESTAMP(6) WITH TIME ZONE))
+              AND h.valid_from < CAST(:until AS TIMESTAMP(6) WITH TIME ZONE)
+              AND (h.valid_to IS NULL OR h.valid_to >= CAST(:until AS TIMESTAMP(6) WITH TIME ZONE))
+            GROUP BY h.degree""", nativeQuery = true)
+    List<Object[]> totalsBefore(@Param("id") Long departmentId, @Param("until") Instant until);
 }
@@ -0,0 +1,79 @@
+package org.example.simpleuniversity.repository;
+
+import org.example.simpleuniversity.model.LectorCard;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LectorCardRepository extends JpaRepository<LectorCard, Long> {
+
+    // Same projection as the backfill in V4__lector_card.sql, plus the tenant added in V6
+    String CARD_INSERT = """
+            INSERT INTO lector_card (lector_id, tenant_id, first_name, last_name, first_name_norm, last_name_norm,
+                                     degree, salary, department_ids, department_names, headed_department_ids)
+            SELECT l.id, l.tenant_id, l.first_name, l.last_name, l.first_name_norm, l.last_name_norm, l.degree, l.salary,
+                   ARRAY(SELECT d.id FROM department_lector dl JOIN department d ON d.id = dl.department_id
+                         WHERE dl.lector_id = l.id ORDER BY d.name, d.id),
+                   ARRAY(SELECT d.name FROM department_lector dl JOIN department d ON d.id = dl.department_id
+                         WHERE dl.lector_id = l.id ORDER BY d.name, d.id),
+                   ARRAY(SELECT h.id FROM department h WHERE h.head_id = l.id ORDER BY h.id)
+            FROM lector l
+            """;
+
+    // Same projection again, recomputed in place for cards that already exist
+    String CARD_UPDATE = """
+            UPDATE lector_card c
+            SET (tenant_id, first_name, last_name, first_name_norm, last_name_norm, degree, salary,
+                 department_ids, department_names, headed_department_ids) =
+                (SELECT l.tenant_id, l.first_name, l.last_name, l.first_name_norm, l.last_name_norm, l.degree, l.salary,
+                        ARRAY(SELECT d.id FROM department_lector dl JOIN department d ON d.id = dl.department_id
+                              WHERE dl.lector_id = l.id ORDER BY d.name, d.id),
+                        ARRAY(SELECT d.name FROM department_lector dl JOIN department d ON d.id = dl.department_id
+                              WHERE dl.lector_id = l.id ORDER BY d.name, d.id),
+                        ARRAY(SELECT h.id FROM department h WHERE h.head_id = l.id ORDER BY h.id)
+                 FROM lector l WHERE l.id = c.lector_id),
+                version = c.version + 1
+            """;
+
+    // Optimistic card refresh: the versions are read first and the update only touches cards
+    // still at the version read, matched as "id:version" keys; fewer rows updated than read means
+    // another transaction refreshed one of them in between
+    @Query(value = "SELECT lector_id, version FROM lector_card WHERE lector_id IN (:ids)", nativeQuery = true)
+    List<Object[]> findVersions(@Param("ids") Collection<Long> lectorIds);
+
+    // Both flush first, so the cards are computed from this transaction's pending changes
+    @Modifying(flushAutomatically = true)
+    @Query(value = CARD_UPDATE + """
+            WHERE c.lector_id IN (:ids) AND CONCAT(c.lector_id, ':', c.version) IN (:keys)""", nativeQuery = true)
+    int updateCards(@Param("ids") Collection<Long> lectorIds, @Param("keys") Collection<String> versionKeys);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = CARD_INSERT + "WHERE l.id IN (:ids)", nativeQuery = true)
+    void insertCards(@Param("ids") Collection<Long> lectorIds);
+
+    // Every card of one tenant, rebuilt after bulk loads that bypass the entities
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM lector_card WHERE tenant_id = :tenant", nativeQuery = true)
+    void deleteTenantCards(@Param("tenant") String tenantId);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = CARD_INSERT + "WHERE l.tenant_id = :tenant", nativeQuery = true)
+    void insertTenantCards(@Param("tenant") String tenantId);
+
+    // Cards for a block of lectors appended with ids from firstId up (bulk generation)
+    @Modifying(flushAutomatically = true)
+    @Query(value = CARD_INSERT + "WHERE l.id >= :firstId", nativeQuery = true)
+    void insertCardsFrom(@Param("firstId") long firstLectorId);
+
+    Optional<LectorCard> findFirstByFirstNameNormAndLastNameNormOrderByLectorIdAsc(String firstNameNorm, String lastNameNorm);
+
+    @Query("select c from LectorCard c where c.firstNameNorm = :token or c.lastNameNorm = :token order by c.lectorId limit 1")
+    Optional<LectorCard> findFirstByNameToken(@Param("token") String token);
+}
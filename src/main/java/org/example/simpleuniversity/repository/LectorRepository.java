@@ -2,11 +2,20 @@ package org.example.simpleuniversity.repository;
 
 import lombok.RequiredArgsConstructor;
 import org.example.simpleuniversity.model.Lector;
+import org.example.simpleuniversity.model.LectorName;
+import org.example.simpleuniversity.model.LectorSummary;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface LectorRepository extends JpaRepository<Lector,Long> {
@@ -14,4 +23,119 @@ public interface LectorRepository extends JpaRepository<Lector,Long> {
     Optional<Lector> findByFirstNameIgnoreCaseAndLastNameIgnoreCase(String firstName, String lastName);
 
     Object findByFirstNameIgnoreCase(String firstName);
+
+    // Key resolution: arguments are already normalized with Names.normalize
+    Optional<Lector> findFirstByFirstNameNormAndLastNameNormOrderByIdAsc(String firstNameNorm, String lastNameNorm);
+    Optional<Lector> findFirstByFirstNameNormOrderByIdAsc(String firstNameNorm);
+    Optional<Lector> findFirstByLastNameNormOrderByIdAsc(String lastNameNorm);
+    Optional<Lector> findFirstByFirstNameNormContainingOrLastNameNormContainingOrderByIdAsc(String fn, String ln);
+
+    // Keyset page of name matches, walking ix_lector_name_norm in order and stopping after `limit` rows
+    @Query("""
+            select new org.example.simpleuniversity.model.LectorName(
+                l.id, l.firstName, l.lastName, l.firstNameNorm, l.lastNameNorm)
+            from Lector l
+            where (l.firstNameNorm like :pattern escape '\\' or l.lastNameNorm like :pattern escape '\\')
+              and (l.lastNameNorm > :lastNorm
+                   or (l.lastNameNorm = :lastNorm
+                       and (l.firstNameNorm > :firstNorm
+                            or (l.firstNameNorm = :firstNorm and l.id > :id))))
+            order by l.lastNameNorm, l.firstNameNorm, l.id""")
+    List<LectorName> searchNamesAfter(@Param("pattern") String pattern,
+                                      @Param("lastNorm") String lastNameNorm,
+                                      @Param("firstNorm") String firstNameNorm,
+                                      @Param("id") long id,
+                                      Limit limit);
+
+    // Full scan for in-memory indexes; needs an open transaction while the stream is consumed
+    @Query("select new org.example.simpleuniversity.model.LectorName("
+            + "l.id, l.firstName, l.lastName, l.firstNameNorm, l.lastNameNorm) from Lector l")
+    Stream<LectorName> streamAllNames();
+
+    @Query("select new org.example.simpleuniversity.model.LectorSummary("
+            + "l.id, l.firstName, l.lastName, l.degree, l.salary) from Lector l order by l.id")
+    List<LectorSummary> findAllSummaries();
+
+    // Where bulk loads restart the lector ids: above every id that still has archive or salary
+    // history rows too, so a reissued id never inherits a deleted lector's past
+    @Query(value = """
+            SELECT GREATEST(COALESCE((SELECT MAX(id) FROM lector), 0),
+                            COALESCE((SELECT MAX(id) FROM lector_archive), 0),
+                            COALESCE((SELECT MAX(lector_id) FROM salary_history), 0)) + 1""",
+            nativeQuery = true)
+    long firstUnusedId();
+
+    // Archive copies taken by deleteLector before the rows leave the hot tables
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            INSERT INTO lector_archive (id, tenant_id, first_name, last_name, salary, degree, archived_at)
+            SELECT id, tenant_id, first_name, last_name, salary, degree, CAST(:at AS TIMESTAMP(6) WITH TIME ZONE)
+            FROM lector WHERE id = :id""",
+            nativeQuery = true)
+    int archive(@Param("id") Long lectorId, @Param("at") Instant archivedAt);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            INSERT INTO department_lector_archive (lector_id, department_id, archived_at)
+            SELECT lector_id, department_id, CAST(:at AS TIMESTAMP(6) WITH TIME ZONE)
+            FROM department_lector WHERE lector_id = :id""",
+            nativeQuery = true)
+    int archiveMemberships(@Param("id") Long lectorId, @Param("at") Instant archivedAt);
+
+    // Salary history: the open row of a lector whose salary or degree no longer matches is closed
+    // and a new one opened, both stamped with the lector's updated_at; a lector that is gone just
+    // has its row closed. recordSalaryHistory() reconciles every lector after bulk loads.
+    // deleteLector closes the row with endSalaryHistory instead, at the lector's archive stamp.
+    default void recordSalaryHistory(Collection<Long> lectorIds) {
+        closeSalaryHistory(lectorIds);
+        openSalaryHistory(lectorIds);
+    }
+
+    default void recordSalaryHistory() {
+        closeSalaryHistory();
+        openSalaryHistoryFrom(0L);
+    }
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            UPDATE salary_history h
+            SET valid_to = COALESCE((SELECT l.updated_at FROM lector l WHERE l.id = h.lector_id), CURRENT_TIMESTAMP)
+            WHERE h.lector_id IN (:ids) AND h.valid_to IS NULL
+              AND NOT EXISTS (SELECT 1 FROM lector l WHERE l.id = h.lector_id AND l.salary = h.salary
+                              AND l.degree IS NOT DISTINCT FROM h.degree)""", nativeQuery = true)
+    int closeSalaryHistory(@Param("ids") Collection<Long> lectorIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            INSERT INTO salary_history (lector_id, salary, degree, valid_from)
+            SELECT l.id, l.salary, l.degree, l.updated_at FROM lector l
+            WHERE l.id IN (:ids)
+              AND NOT EXISTS (SELECT 1 FROM salary_history h WHERE h.lector_id = l.id AND h.valid_to IS NULL)""",
+            nativeQuery = true)
+    int openSalaryHistory(@Param("ids") Collection<Long> lectorIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            UPDATE salary_history h
+            SET valid_to = COALESCE((SELECT l.updated_at FROM lector l WHERE l.id = h.lector_id), CURRENT_TIMESTAMP)
+            WHERE h.valid_to IS NULL
+              AND NOT EXISTS (SELECT 1 FROM lector l WHERE l.id = h.lector_id AND l.salary = h.salary
+                              AND l.degree IS NOT DISTINCT FROM h.degree)""", nativeQuery = true)
+    int closeSalaryHistory();
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            UPDATE salary_history SET valid_to = CAST(:at AS TIMESTAMP(6) WITH TIME ZONE)
+            WHERE lector_id = :id AND valid_to IS NULL""", nativeQuery = true)
+    int endSalaryHistory(@Param("id") Long lectorId, @Param("at") Instant at);
+
+    // lectors from firstId up that have no open row, e.g. a generated batch
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            INSERT INTO salary_history (lector_id, salary, degree, valid_from)
+            SELECT l.id, l.salary, l.degree, l.updated_at FROM lector l
+            WHERE l.id >= :firstId
+              AND NOT EXISTS (SELECT 1 FROM salary_history h WHERE h.lector_id = l.id AND h.valid_to IS NULL)""",
+            nativeQuery = true)
+    int openSalaryHistoryFrom(@Param("firstId") Long firstId);
 }
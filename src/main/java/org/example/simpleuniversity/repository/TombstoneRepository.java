@@ -0,0 +1,18 @@
+package org.example.simpleuniversity.repository;
+
+import org.example.simpleuniversity.model.Tombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Repository
+public interface TombstoneRepository extends JpaRepository<Tombstone, Long> {
+
+    @Modifying
+    @Query("delete from Tombstone t where t.deletedAt < :cutoff")
+    int purgeBefore(@Param("cutoff") Instant cutoff);
+}
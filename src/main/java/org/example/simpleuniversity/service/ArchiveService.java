@@ -0,0 +1,128 @@
+package org.example.simpleuniversity.service;
+
+import org.example.simpleuniversity.repository.LectorRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Archive of deleted lectors. {@link UniversityService#deleteLector} copies the lector and its
+ * memberships into {@code lector_archive} / {@code department_lector_archive} in the deleting
+ * transaction, just before the rows are removed, so the hot tables only ever hold active rows
+ * and no query needs a "deleted" condition. {@link #purge(Duration)} removes old archive rows of
+ * the current university in short batches, each in its own transaction, so a large purge never holds long
+ * locks or one huge undo log.
+ */
+@Service
+public class ArchiveService {
+
+    private static final String OLDEST = """
+            SELECT id, archived_at FROM lector_archive
+            WHERE tenant_id = ? AND archived_at <= ?
+            ORDER BY archived_at, id LIMIT ?""";
+
+    private final LectorRepository lectorRepository;
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate batchTransaction;
+    private final TenantContext tenants;
+    private final boolean enabled;
+    private final Duration retention;
+    private final int batchSize;
+
+    public record PurgeSummary(long lectors, long memberships, int batches) {
+    }
+
+    private record Archived(long id, OffsetDateTime archivedAt) {
+    }
+
+    public ArchiveService(LectorRepository lectorRepository,
+                          JdbcTemplate jdbc,
+                          PlatformTransactionManager transactionManager,
+                          TenantContext tenants,
+                          @Value("${university.archive.enabled:true}") boolean enabled,
+                          @Value("${university.archive.retention-days:365}") long retentionDays,
+                          @Value("${university.archive.purge-batch-size:1000}") int batchSize) {
+        this.lectorRepository = lectorRepository;
+        this.jdbc = jdbc;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.tenants = tenants;
+        this.enabled = enabled;
+        this.retention = Duration.ofDays(retentionDays);
+        this.batchSize = Math.max(batchSize, 1);
+    }
+
+    /**
+     * Copies the lector and its memberships into the archive, in the caller's transaction, and
+     * returns the archive stamp; copies nothing when {@code university.archive.enabled} is off.
+     * The caller closes the lector's salary and membership history at that stamp, so a purge of
+     * this archive row can tell the history that ended with it from a later one of the same id.
+     * The stamp is database time, the clock the history rows are opened with; it is the
+     * transaction's {@code CURRENT_TIMESTAMP}, so the tombstone of the same delete gets it too.
+     */
+    public Instant archive(Long lectorId) {
+        // one stamp for both tables, so a purge removes a lector together with its memberships
+        Instant at = databaseNow().toInstant();
+        if (enabled) {
+            lectorRepository.archiveMemberships(lectorId, at);
+            lectorRepository.archive(lectorId, at);
+        }
+        return at;
+    }
+
+    /** Purges archive rows older than {@code university.archive.retention-days}. */
+    public PurgeSummary purge() {
+        return purge(retention);
+    }
+
+    /** Purges the current university's lectors archived at least {@code olderThan} ago, by database time. */
+    public PurgeSummary purge(Duration olderThan) {
+        String tenant = tenants.current();
+        OffsetDateTime cutoff = databaseNow().minus(olderThan);
+        long lectors = 0;
+        long memberships = 0;
+        int batches = 0;
+        while (true) {
+            long[] purged = batchTransaction.execute(status -> purgeBatch(tenant, cutoff));
+            if (purged[0] == 0) break;
+            lectors += purged[0];
+            memberships += purged[1];
+            batches++;
+            if (purged[0] < batchSize) break;
+        }
+        return new PurgeSummary(lectors, memberships, batches);
+    }
+
+    private long[] purgeBatch(String tenant, OffsetDateTime cutoff) {
+        List<Archived> oldest = jdbc.query(OLDEST,
+                (rs, i) -> new Archived(rs.getLong(1), rs.getObject(2, OffsetDateTime.class)),
+                tenant, cutoff, batchSize);
+        if (oldest.isEmpty()) return new long[2];
+        List<Object[]> keys = oldest.stream().map(a -> new Object[]{a.id(), a.archivedAt()}).toList();
+        long memberships = sum(jdbc.batchUpdate(
+                "DELETE FROM department_lector_archive WHERE lector_id = ? AND archived_at = ?", keys));
+        jdbc.batchUpdate("DELETE FROM lector_archive WHERE id = ? AND archived_at = ?", keys);
+        // the salary and membership history that ended with this deletion goes with it; rows of a
+        // later life of the same id, after a snapshot load brought it back, end after archived_at
+        // or are open
+        jdbc.batchUpdate("DELETE FROM salary_history WHERE lector_id = ? AND valid_to <= ?", keys);
+        jdbc.batchUpdate("DELETE FROM department_lector_history WHERE lector_id = ? AND valid_to <= ?", keys);
+        return new long[]{oldest.size(), memberships};
+    }
+
+    private OffsetDateTime databaseNow() {
+        return jdbc.queryForObject("SELECT CURRENT_TIMESTAMP", OffsetDateTime.class);
+    }
+
+    private static long sum(int[] counts) {
+        long total = 0;
+        for (int c : counts) total += Math.max(c, 0);
+        return total;
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.simpleuniversity.service;
+
+/**
+ * In-memory state kept current by {@link ChangePoller}. Every bean implementing this is
+ * registered automatically; others can call {@link ChangePoller#register}. Changes may be
+ * delivered more than once (and also arrive as local events), so applying one must be idempotent.
+ */
+public interface ChangeConsumer {
+
+    default void onLectorChange(LectorChangedEvent change) {
+    }
+
+    default void onDepartmentChange(DepartmentChange change) {
+    }
+}
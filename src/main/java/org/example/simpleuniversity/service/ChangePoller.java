@@ -0,0 +1,146 @@
+package org.example.simpleuniversity.service;
+
+import org.example.simpleuniversity.model.Tombstone;
+import org.example.simpleuniversity.repository.TombstoneRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Feeds rows written by any process (this one, other CLI instances, bulk SQL) to the registered
+ * {@link ChangeConsumer}s, without full reloads. Each poll reads only lectors, departments and
+ * tombstones stamped after the watermark, across all tenants; every change names its tenant.
+ * <p>
+ * A transaction can commit after a later-stamped one, so each poll re-reads an {@code overlap}
+ * window behind the watermark; changes already delivered in that window are skipped.
+ * {@code updated_at} and {@code deleted_at} come from the database clock, like the watermark, and
+ * hold the writing transaction's start time, so a row can become visible up to one transaction
+ * length after its stamp. The overlap must therefore be longer than the longest write
+ * transaction; a longer one can be missed by every poller that ran while it was open.
+ */
+@Component
+public class ChangePoller {
+
+    private static final String LECTORS = """
+            SELECT id, first_name, last_name, updated_at, tenant_id FROM lector
+            WHERE updated_at > ? ORDER BY updated_at, id""";
+    private static final String DEPARTMENTS = """
+            SELECT id, name, head_id, updated_at, tenant_id FROM department
+            WHERE updated_at > ? ORDER BY updated_at, id""";
+    private static final String TOMBSTONES = """
+            SELECT entity_type, entity_id, deleted_at, tenant_id FROM tombstone
+            WHERE deleted_at > ? ORDER BY deleted_at, id""";
+
+    private final JdbcTemplate jdbc;
+    private final TombstoneRepository tombstones;
+    private final List<ChangeConsumer> consumers = new CopyOnWriteArrayList<>();
+
+    @Value("${university.sync.enabled:true}")
+    private boolean enabled;
+
+    @Value("${university.sync.overlap-ms:5000}")
+    private long overlapMs;
+
+    @Value("${university.sync.tombstone-retention-hours:168}")
+    private long tombstoneRetentionHours;
+
+    private Instant watermark;
+    // "type:id" -> stamp already delivered, for rows inside the overlap window
+    private final Map<String, Instant> delivered = new HashMap<>();
+
+    public ChangePoller(JdbcTemplate jdbc, TombstoneRepository tombstones, List<ChangeConsumer> beans) {
+        this.jdbc = jdbc;
+        this.tombstones = tombstones;
+        this.consumers.addAll(beans);
+    }
+
+    public void register(ChangeConsumer consumer) {
+        consumers.add(consumer);
+    }
+
+    @Scheduled(fixedDelayString = "${university.sync.poll-interval-ms:2000}",
+            initialDelayString = "${university.sync.poll-interval-ms:2000}")
+    public void scheduledPoll() {
+        if (enabled) poll();
+    }
+
+    /**
+     * Delivers everything changed since the previous poll; returns the number of changes applied.
+     */
+    public synchronized int poll() {
+        Duration overlap = Duration.ofMillis(overlapMs);
+        if (watermark == null) {
+            // consumers load their initial state themselves; only follow changes from now on
+            watermark = jdbc.queryForObject("SELECT CURRENT_TIMESTAMP", OffsetDateTime.class).toInstant();
+        }
+        OffsetDateTime since = OffsetDateTime.ofInstant(watermark.minus(overlap), ZoneOffset.UTC);
+        Instant[] newest = {watermark};
+        int[] applied = {0};
+
+        jdbc.query(LECTORS, (RowCallbackHandler) rs -> {
+            Instant at = stamp(rs.getObject(4, OffsetDateTime.class), newest);
+            if (firstDelivery("lector:" + rs.getLong(1), at)) {
+                LectorChangedEvent change = new LectorChangedEvent(rs.getString(5), rs.getLong(1), rs.getString(2),
+                        rs.getString(3), false);
+                consumers.forEach(c -> c.onLectorChange(change));
+                applied[0]++;
+            }
+        }, since);
+        jdbc.query(DEPARTMENTS, (RowCallbackHandler) rs -> {
+            Instant at = stamp(rs.getObject(4, OffsetDateTime.class), newest);
+            if (firstDelivery("department:" + rs.getLong(1), at)) {
+                long headId = rs.getLong(3);
+                Long head = rs.wasNull() ? null : headId;
+                DepartmentChange change = new DepartmentChange(rs.getString(5), rs.getLong(1), rs.getString(2),
+                        head, false);
+                consumers.forEach(c -> c.onDepartmentChange(change));
+                applied[0]++;
+            }
+        }, since);
+        jdbc.query(TOMBSTONES, (RowCallbackHandler) rs -> {
+            Instant at = stamp(rs.getObject(3, OffsetDateTime.class), newest);
+            String type = rs.getString(1);
+            long id = rs.getLong(2);
+            if (!firstDelivery("deleted " + type + ":" + id, at)) return;
+            if (Tombstone.LECTOR.equals(type)) {
+                LectorChangedEvent change = new LectorChangedEvent(rs.getString(4), id, null, null, true);
+                consumers.forEach(c -> c.onLectorChange(change));
+            } else if (Tombstone.DEPARTMENT.equals(type)) {
+                DepartmentChange change = new DepartmentChange(rs.getString(4), id, null, null, true);
+                consumers.forEach(c -> c.onDepartmentChange(change));
+            }
+            applied[0]++;
+        }, since);
+
+        watermark = newest[0];
+        Instant horizon = watermark.minus(overlap);
+        delivered.values().removeIf(at -> at.isBefore(horizon));
+        return applied[0];
+    }
+
+    @Scheduled(cron = "${university.sync.tombstone-purge-cron:0 0 3 * * *}")
+    public void purgeTombstones() {
+        if (enabled) tombstones.purgeBefore(Instant.now().minus(Duration.ofHours(tombstoneRetentionHours)));
+    }
+
+    private boolean firstDelivery(String key, Instant at) {
+        return !at.equals(delivered.put(key, at));
+    }
+
+    private static Instant stamp(OffsetDateTime at, Instant[] newest) {
+        Instant instant = at.toInstant();
+        if (instant.isAfter(newest[0])) newest[0] = instant;
+        return instant;
+    }
+}
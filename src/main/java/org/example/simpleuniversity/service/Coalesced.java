@@ -0,0 +1,17 @@
+package org.example.simpleuniversity.service;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read whose concurrent identical calls share one execution: while a call with the same
+ * first argument (a department name, compared as {@link org.example.simpleuniversity.model.Names#normalize
+ * normalized}) and equal further arguments is running for the same university, later callers wait
+ * for its result instead of querying again. Applied by {@code CoalescingConfig} through {@link SingleFlight}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Coalesced {
+}
@@ -0,0 +1,38 @@
+package org.example.simpleuniversity.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning one CLI command, from reading the line to printing the result, so
+ * allocation, lock and GC events in the same recording can be attributed to it.
+ */
+@Name("university.Command")
+@Label("CLI Command")
+@Description("One command line handled by the CLI")
+@Category({"SimpleUniversity"})
+@StackTrace(false)
+public class CommandEvent extends Event implements AutoCloseable {
+
+    @Label("Command")
+    public String command;
+
+    /** Begins timing {@code line}; closing the event commits it if recording is enabled. */
+    public static CommandEvent start(String line) {
+        CommandEvent event = new CommandEvent();
+        if (event.isEnabled()) {
+            event.command = line;
+            event.begin();
+        }
+        return event;
+    }
+
+    @Override
+    public void close() {
+        commit();
+    }
+}
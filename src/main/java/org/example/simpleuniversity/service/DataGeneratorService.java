@@ -0,0 +1,163 @@
+package org.example.simpleuniversity.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.simpleuniversity.model.Degree;
+import org.example.simpleuniversity.model.Names;
+import org.example.simpleuniversity.repository.DepartmentRepository;
+import org.example.simpleuniversity.repository.LectorCardRepository;
+import org.example.simpleuniversity.repository.LectorRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * {@code generate data}: a {@link DatasetGenerator} university appended to the database through
+ * JDBC batches, or written to a {@link SnapshotFile} that {@code snapshot load} restores.
+ */
+@Service
+@RequiredArgsConstructor
+public class DataGeneratorService {
+
+    private static final String INSERT_LECTOR = """
+            INSERT INTO lector (id, tenant_id, first_name, last_name, first_name_norm, last_name_norm, degree, salary, version)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)""";
+    private static final int[] LECTOR_TYPES = {Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.DOUBLE};
+    private static final String INSERT_DEPARTMENT = """
+            INSERT INTO department (id, tenant_id, name, name_norm, head_id, version) VALUES (?, ?, ?, ?, ?, 0)""";
+    private static final int[] DEPARTMENT_TYPES = {Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.BIGINT};
+    private static final String INSERT_MEMBERSHIP = "INSERT INTO department_lector (department_id, lector_id) VALUES (?, ?)";
+    private static final int[] MEMBERSHIP_TYPES = {Types.BIGINT, Types.BIGINT};
+
+    private final JdbcTemplate jdbc;
+    private final LectorCardRepository cardRepository;
+    private final DepartmentRepository departmentRepository;
+    private final LectorRepository lectorRepository;
+    private final LectorNameIndex nameIndex;
+    private final TenantContext tenants;
+
+    public record GenerateSummary(DatasetGenerator.Counts counts, Path file, Duration elapsed) {
+    }
+
+    /**
+     * Adds the generated lectors and departments to the current tenant above the existing ids, in
+     * one transaction, and builds their lector cards and first salary history rows.
+     */
+    @Transactional
+    public GenerateSummary generateToDatabase(DatasetGenerator.Spec spec) {
+        Instant started = Instant.now();
+        String tenant = tenants.current();
+        long firstLector = lectorRepository.firstUnusedId();
+        long firstDepartment = departmentRepository.firstUnusedId();
+
+        JdbcBatch lectors = new JdbcBatch(jdbc, INSERT_LECTOR, LECTOR_TYPES);
+        JdbcBatch departments = new JdbcBatch(jdbc, INSERT_DEPARTMENT, DEPARTMENT_TYPES);
+        JdbcBatch memberships = new JdbcBatch(jdbc, INSERT_MEMBERSHIP, MEMBERSHIP_TYPES);
+        DatasetGenerator.Counts counts;
+        try {
+            counts = new DatasetGenerator(spec).generate(firstLector, firstDepartment, new DatasetGenerator.Sink() {
+                @Override
+                public void lector(long id, String firstName, String lastName, Degree degree, double salary) {
+                    lectors.add(id, tenant, firstName, lastName, Names.normalize(firstName), Names.normalize(lastName),
+                            degree.name(), salary);
+                }
+
+                @Override
+                public void endLectors() {
+                    lectors.finish();
+                }
+
+                @Override
+                public void department(long id, String name, long headId) {
+                    departments.add(id, tenant, name, Names.normalize(name), headId);
+                }
+
+                @Override
+                public void endDepartments() {
+                    departments.finish();
+                }
+
+                @Override
+                public void membership(long departmentId, long lectorId) {
+                    memberships.add(departmentId, lectorId);
+                }
+
+                @Override
+                public void endMemberships() {
+                    memberships.finish();
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        cardRepository.insertCardsFrom(firstLector);
+        lectorRepository.openSalaryHistoryFrom(firstLector);
+        departmentRepository.openMembershipHistoryFrom(firstLector);
+        // last: H2 commits on DDL, PostgreSQL keeps it in the transaction
+        jdbc.execute("ALTER TABLE lector ALTER COLUMN id RESTART WITH " + (firstLector + counts.lectors()));
+        jdbc.execute("ALTER TABLE department ALTER COLUMN id RESTART WITH " + (firstDepartment + counts.departments()));
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                nameIndex.invalidate(tenant);
+            }
+        });
+        return new GenerateSummary(counts, null, Duration.between(started, Instant.now()));
+    }
+
+    /**
+     * Writes the generated university, with ids from 1, as a snapshot file.
+     */
+    public GenerateSummary generateToFile(DatasetGenerator.Spec spec, Path file) {
+        Instant started = Instant.now();
+        DatasetGenerator.Counts counts;
+        try (SnapshotFile.Writer out = SnapshotFile.create(file)) {
+            counts = new DatasetGenerator(spec).generate(1, 1, new DatasetGenerator.Sink() {
+                @Override
+                public void lector(long id, String firstName, String lastName, Degree degree, double salary)
+                        throws IOException {
+                    out.lector(id, firstName, lastName, degree.ordinal(), salary, 0);
+                }
+
+                @Override
+                public void endLectors() throws IOException {
+                    out.endSection();
+                }
+
+                @Override
+                public void department(long id, String name, long headId) throws IOException {
+                    out.department(id, name, headId, -1, 0);
+                }
+
+                @Override
+                public void endDepartments() throws IOException {
+                    out.endSection();
+                }
+
+                @Override
+                public void membership(long departmentId, long lectorId) throws IOException {
+                    out.membership(departmentId, lectorId);
+                }
+
+                @Override
+                public void endMemberships() throws IOException {
+                    out.endSection();
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Writing " + file + " failed", e);
+        }
+        return new GenerateSummary(counts, file, Duration.between(started, Instant.now()));
+    }
+}
@@ -0,0 +1,242 @@
+package org.example.simpleuniversity.service;
+
+import org.example.simpleuniversity.model.Degree;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic university: the same {@link Spec} always yields the same rows.
+ * <ul>
+ *   <li>names are drawn Zipf-distributed from common Ukrainian first names and surname stems
+ *       and suffixes, so a few names ("Kovalenko") repeat a lot and most are rare;</li>
+ *   <li>degrees are 50% assistants, 30% associate professors and 20% professors;</li>
+ *   <li>salaries are log-normal around a per-degree median, i.e. skewed to the right;</li>
+ *   <li>the number of departments per lector follows a power law (most lectors belong to one,
+ *       a few to many), and departments are picked Zipf-distributed, so the first ones are huge;</li>
+ *   <li>each department is headed, where possible, by a professor who is also made a member.</li>
+ * </ul>
+ * Every lector and department draws from its own random stream derived from the seed, so rows are
+ * produced in one pass per table with memory proportional to the number of departments only.
+ */
+public final class DatasetGenerator {
+
+    public record Spec(int departments, int lectors, long seed) {
+        public Spec {
+            if (departments < 0 || lectors < 0) {
+                throw new IllegalArgumentException("Department and lector counts must not be negative");
+            }
+            if (departments > 0 && lectors == 0) {
+                throw new IllegalArgumentException("Departments need at least one lector to head them");
+            }
+        }
+    }
+
+    public record Counts(long lectors, long departments, long memberships) {
+    }
+
+    /**
+     * Receives the rows table by table: every lector, then every department, then every
+     * membership.
+     */
+    public interface Sink {
+        void lector(long id, String firstName, String lastName, Degree degree, double salary) throws IOException;
+
+        void department(long id, String name, long headId) throws IOException;
+
+        void membership(long departmentId, long lectorId) throws IOException;
+
+        default void endLectors() throws IOException {
+        }
+
+        default void endDepartments() throws IOException {
+        }
+
+        default void endMemberships() throws IOException {
+        }
+    }
+
+    static final String[] FIRST_NAMES = {
+            "Oleksandr", "Olena", "Andrii", "Iryna", "Serhii", "Nataliia", "Volodymyr", "Tetiana",
+            "Oleksii", "Yuliia", "Dmytro", "Oksana", "Mykola", "Svitlana", "Ivan", "Kateryna",
+            "Viktor", "Olha", "Yurii", "Mariia", "Vasyl", "Halyna", "Petro", "Liudmyla", "Ihor",
+            "Anna", "Mykhailo", "Larysa", "Roman", "Viktoriia", "Taras", "Nadiia", "Bohdan",
+            "Inna", "Vitalii", "Alla", "Maksym", "Lesia", "Stepan", "Solomiia", "Ostap", "Zoriana",
+            "Yaroslav", "Khrystyna", "Hryhorii", "Uliana", "Danylo", "Sofiia", "Artem", "Daryna"
+    };
+
+    static final String[] SURNAME_STEMS = {
+            "Koval", "Bond", "Tkach", "Kravch", "Shevch", "Boyk", "Melnyk", "Moroz", "Lysen",
+            "Savch", "Rudn", "Marchen", "Petr", "Pavl", "Ivan", "Hrytsen", "Kuzmen", "Levch",
+            "Tymoshch", "Honchar", "Sydor", "Kovalch", "Ostap", "Panas", "Fedor", "Klym", "Semen",
+            "Yurch", "Danyl", "Tarasen", "Zhuk", "Polishch", "Karpen", "Dmytren", "Kharchen",
+            "Lytvyn", "Nazar", "Prykhod", "Vasylen", "Oliinyk"
+    };
+
+    static final String[] SURNAME_SUFFIXES = {"enko", "uk", "chuk", "ko", "ets", "ovych", "yshyn", "iak"};
+
+    static final String[] FIELDS = {
+            "Physics", "Mathematics", "Computer Science", "History", "Philology", "Economics", "Law",
+            "Chemistry", "Biology", "Philosophy", "Psychology", "Geography", "Sociology",
+            "Political Science", "Journalism", "International Relations", "Mechanics", "Astronomy",
+            "Geology", "Ecology", "Statistics", "Linguistics", "Pedagogy", "Art History",
+            "Musicology", "Architecture", "Civil Engineering", "Electronics", "Cybernetics",
+            "Applied Physics", "Radiophysics", "Biochemistry", "Genetics", "Microbiology",
+            "Finance", "Accounting", "Management", "Marketing", "Translation", "Classics"
+    };
+
+    private static final double[] DEGREE_SHARE = {0.5, 0.8, 1.0};
+    private static final double[] MEDIAN_SALARY = {3000, 4500, 6500};
+    private static final double SALARY_SIGMA = 0.35;
+    private static final double MEMBERSHIP_ALPHA = 1.6;
+    private static final int MAX_MEMBERSHIPS = 12;
+    private static final int HEAD_ATTEMPTS = 32;
+
+    private static final int[] NONE = new int[0];
+
+    private static final long LECTOR_STREAM = 0x4C;
+    private static final long MEMBERSHIP_STREAM = 0x4D;
+    private static final long HEAD_STREAM = 0x48;
+
+    private final Spec spec;
+    private final Zipf firstNames;
+    private final Zipf stems;
+    private final Zipf suffixes;
+    private final Zipf departmentRank;
+
+    public DatasetGenerator(Spec spec) {
+        this.spec = spec;
+        this.firstNames = new Zipf(FIRST_NAMES.length, 1.0);
+        this.stems = new Zipf(SURNAME_STEMS.length, 0.9);
+        this.suffixes = new Zipf(SURNAME_SUFFIXES.length, 1.2);
+        this.departmentRank = new Zipf(Math.max(spec.departments(), 1), 1.0);
+    }
+
+    /**
+     * Emits the dataset with lector ids from {@code firstLectorId} and department ids from
+     * {@code firstDepartmentId}; department names are derived from the ids, so ranges that do not
+     * overlap never produce the same name.
+     */
+    public Counts generate(long firstLectorId, long firstDepartmentId, Sink sink) throws IOException {
+        int lectors = spec.lectors();
+        int departments = spec.departments();
+
+        for (int i = 0; i < lectors; i++) {
+            SplittableRandom rnd = stream(LECTOR_STREAM, i);
+            Degree degree = degree(rnd);
+            double salary = salary(rnd, degree);
+            String first = FIRST_NAMES[firstNames.sample(rnd)];
+            String last = SURNAME_STEMS[stems.sample(rnd)] + SURNAME_SUFFIXES[suffixes.sample(rnd)];
+            sink.lector(firstLectorId + i, first, last, degree, salary);
+        }
+        sink.endLectors();
+
+        // lector index -> departments it heads; at most one entry per department
+        Map<Integer, int[]> headed = new HashMap<>();
+        for (int d = 0; d < departments; d++) {
+            int head = head(d);
+            int[] previous = headed.get(head);
+            int[] next = previous == null ? new int[]{d} : Arrays.copyOf(previous, previous.length + 1);
+            next[next.length - 1] = d;
+            headed.put(head, next);
+            sink.department(firstDepartmentId + d, departmentName(firstDepartmentId + d), firstLectorId + head);
+        }
+        sink.endDepartments();
+
+        long memberships = 0;
+        int[] chosen = new int[MAX_MEMBERSHIPS + departments];
+        for (int i = 0; i < lectors && departments > 0; i++) {
+            int n = memberships(i, chosen);
+            for (int d : headed.getOrDefault(i, NONE)) {
+                if (!contains(chosen, n, d)) chosen[n++] = d;
+            }
+            for (int k = 0; k < n; k++) {
+                sink.membership(firstDepartmentId + chosen[k], firstLectorId + i);
+            }
+            memberships += n;
+        }
+        sink.endMemberships();
+        return new Counts(lectors, departments, memberships);
+    }
+
+    /** "Department of Physics", "Department of Mathematics", …, then "Department of Physics 2", … in id order. */
+    public static String departmentName(long departmentId) {
+        long index = departmentId - 1;
+        String field = FIELDS[(int) Math.floorMod(index, (long) FIELDS.length)];
+        long round = Math.floorDiv(index, (long) FIELDS.length);
+        return round == 0 ? "Department of " + field : "Department of " + field + " " + (round + 1);
+    }
+
+    private SplittableRandom stream(long kind, long index) {
+        return new SplittableRandom(spec.seed() * 0x9E3779B97F4A7C15L ^ (kind << 56) ^ index);
+    }
+
+    private static Degree degree(SplittableRandom rnd) {
+        double u = rnd.nextDouble();
+        Degree[] degrees = Degree.values();
+        for (int k = 0; k < DEGREE_SHARE.length; k++) {
+            if (u < DEGREE_SHARE[k]) return degrees[k];
+        }
+        return degrees[degrees.length - 1];
+    }
+
+    private static double salary(SplittableRandom rnd, Degree degree) {
+        double salary = MEDIAN_SALARY[degree.ordinal()] * Math.exp(SALARY_SIGMA * rnd.nextGaussian());
+        return Math.round(salary / 10) * 10.0;
+    }
+
+    // a professor where one turns up within a few draws, otherwise whoever was drawn last
+    private int head(int department) {
+        SplittableRandom rnd = stream(HEAD_STREAM, department);
+        int candidate = 0;
+        for (int attempt = 0; attempt < HEAD_ATTEMPTS; attempt++) {
+            candidate = rnd.nextInt(spec.lectors());
+            if (degree(stream(LECTOR_STREAM, candidate)) == Degree.PROFESSOR) break;
+        }
+        return candidate;
+    }
+
+    // distinct departments of lector i into chosen[0..n); P(n >= k) ~ k^-alpha
+    private int memberships(int lector, int[] chosen) {
+        SplittableRandom rnd = stream(MEMBERSHIP_STREAM, lector);
+        double u = 1.0 - rnd.nextDouble();
+        int wanted = (int) Math.min(Math.min(Math.floor(Math.pow(u, -1.0 / MEMBERSHIP_ALPHA)), MAX_MEMBERSHIPS),
+                spec.departments());
+        int n = 0;
+        for (int attempt = 0; n < wanted && attempt < 4 * wanted; attempt++) {
+            int d = departmentRank.sample(rnd);
+            if (!contains(chosen, n, d)) chosen[n++] = d;
+        }
+        return n;
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int k = 0; k < length; k++) {
+            if (values[k] == value) return true;
+        }
+        return false;
+    }
+
+    // rank r in [0, n) with probability proportional to 1 / (r + 1)^s
+    private static final class Zipf {
+        private final double[] cumulative;
+
+        Zipf(int n, double s) {
+            cumulative = new double[n];
+            double total = 0;
+            for (int r = 0; r < n; r++) {
+                total += 1.0 / Math.pow(r + 1, s);
+                cumulative[r] = total;
+            }
+        }
+
+        int sample(SplittableRandom rnd) {
+            double target = rnd.nextDouble() * cumulative[cumulative.length - 1];
+            int i = Arrays.binarySearch(cumulative, target);
+            return Math.min(i >= 0 ? i : -i - 1, cumulative.length - 1);
+        }
+    }
+}
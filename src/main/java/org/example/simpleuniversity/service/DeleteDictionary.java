@@ -0,0 +1,113 @@
+package org.example.simpleuniversity.service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * SymSpell-style symmetric-delete dictionary. Each term is stored under itself and every string
+ * obtained by deleting one of its characters; a query looks up its own one- and two-character
+ * deletes. Two strings that share such a key are candidates, and the real edit distance decides.
+ * <p>
+ * With one delete on the term side this finds every term within distance 1 (including adjacent
+ * transpositions) and the common distance-2 typos, in a few dozen hash lookups instead of a scan.
+ */
+final class DeleteDictionary {
+    // key -> String (one term) or String[] (several); most keys belong to a single term
+    private final Map<String, Object> buckets = new HashMap<>();
+
+    void add(String term) {
+        for (String key : termKeys(term)) {
+            buckets.merge(key, term, DeleteDictionary::append);
+        }
+    }
+
+    void remove(String term) {
+        for (String key : termKeys(term)) {
+            Object bucket = buckets.get(key);
+            if (bucket instanceof String s) {
+                if (s.equals(term)) buckets.remove(key);
+            } else if (bucket instanceof String[] terms) {
+                String[] rest = Arrays.stream(terms).filter(t -> !t.equals(term)).toArray(String[]::new);
+                buckets.put(key, rest.length == 1 ? rest[0] : rest);
+            }
+        }
+    }
+
+    /** Reports every stored term within {@code maxDistance} (at most 2) of {@code query}. */
+    void search(String query, int maxDistance, ObjIntConsumer<String> hits) {
+        Set<String> seen = new HashSet<>();
+        visit(query, query, maxDistance, seen, hits);
+        if (maxDistance == 0) return;
+        for (int i = 0; i < query.length(); i++) {
+            String d1 = deleteAt(query, i);
+            visit(d1, query, maxDistance, seen, hits);
+            if (maxDistance >= 2) {
+                for (int j = i; j < d1.length(); j++) {
+                    visit(deleteAt(d1, j), query, maxDistance, seen, hits);
+                }
+            }
+        }
+    }
+
+    private void visit(String key, String query, int maxDistance, Set<String> seen, ObjIntConsumer<String> hits) {
+        Object bucket = buckets.get(key);
+        if (bucket == null) return;
+        if (bucket instanceof String term) {
+            check(term, query, maxDistance, seen, hits);
+        } else {
+            for (String term : (String[]) bucket) check(term, query, maxDistance, seen, hits);
+        }
+    }
+
+    private static void check(String term, String query, int maxDistance, Set<String> seen, ObjIntConsumer<String> hits) {
+        if (Math.abs(term.length() - query.length()) > maxDistance || !seen.add(term)) return;
+        int d = distance(query, term);
+        if (d <= maxDistance) hits.accept(term, d);
+    }
+
+    private static Set<String> termKeys(String term) {
+        Set<String> keys = new HashSet<>(term.length() * 2);
+        keys.add(term);
+        for (int i = 0; i < term.length(); i++) keys.add(deleteAt(term, i));
+        return keys;
+    }
+
+    private static String deleteAt(String s, int i) {
+        return s.substring(0, i).concat(s.substring(i + 1));
+    }
+
+    private static Object append(Object bucket, Object term) {
+        if (bucket instanceof String s) return new String[]{s, (String) term};
+        String[] terms = (String[]) bucket;
+        String[] grown = Arrays.copyOf(terms, terms.length + 1);
+        grown[terms.length] = (String) term;
+        return grown;
+    }
+
+    /** Optimal string alignment distance: Levenshtein plus adjacent transpositions. */
+    static int distance(String a, String b) {
+        int n = a.length(), m = b.length();
+        int[] prev2 = new int[m + 1];
+        int[] prev = new int[m + 1];
+        int[] cur = new int[m + 1];
+        for (int j = 0; j <= m; j++) prev[j] = j;
+        for (int i = 1; i <= n; i++) {
+            cur[0] = i;
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= m; j++) {
+                char cb = b.charAt(j - 1);
+                int v = Math.min(Math.min(cur[j - 1] + 1, prev[j] + 1), prev[j - 1] + (ca == cb ? 0 : 1));
+                if (i > 1 && j > 1 && ca == b.charAt(j - 2) && a.charAt(i - 2) == cb) {
+                    v = Math.min(v, prev2[j - 2] + 1);
+                }
+                cur[j] = v;
+            }
+            int[] t = prev2; prev2 = prev; prev = cur; cur = t;
+        }
+        return prev[m];
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.simpleuniversity.service;
+
+/**
+ * A department row as seen by {@link ChangePoller}; name and head are null for a delete.
+ */
+public record DepartmentChange(String tenantId, Long departmentId, String name, Long headId, boolean deleted) {
+}
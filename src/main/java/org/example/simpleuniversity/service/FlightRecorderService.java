@@ -0,0 +1,90 @@
+package org.example.simpleuniversity.service;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+/**
+ * {@code jfr start} / {@code jfr dump}: Java Flight Recorder control from the CLI. Recordings
+ * started here use the bundled {@value #PROFILE} settings; a dump writes everything recorded so
+ * far by any running recording, including one started with {@code -XX:StartFlightRecording}.
+ */
+@Service
+public class FlightRecorderService {
+
+    public static final String PROFILE = "/jfr/university.jfc";
+    private static final String RECORDING_NAME = "SimpleUniversity";
+
+    public record DumpSummary(Path file, long bytes, int recordings) {
+    }
+
+    public FlightRecorderService() {
+        FlightRecorder.register(CommandEvent.class);
+        FlightRecorder.register(OperationEvent.class);
+    }
+
+    /**
+     * Starts a recording with the bundled profile, unless one started here is already running.
+     *
+     * @return whether a new recording was started
+     */
+    public synchronized boolean start() {
+        requireAvailable();
+        if (running(RECORDING_NAME)) return false;
+        try (InputStream in = FlightRecorderService.class.getResourceAsStream(PROFILE)) {
+            if (in == null) throw new IllegalStateException("Missing JFR profile " + PROFILE);
+            try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                Recording recording = new Recording(Configuration.create(reader));
+                recording.setName(RECORDING_NAME);
+                recording.setToDisk(true);
+                recording.start();
+                return true;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + PROFILE, e);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Invalid JFR profile " + PROFILE, e);
+        }
+    }
+
+    /** Writes the data of all running recordings to {@code file}. */
+    public DumpSummary dump(Path file) {
+        requireAvailable();
+        long running = FlightRecorder.getFlightRecorder().getRecordings().stream()
+                .filter(r -> r.getState() == RecordingState.RUNNING)
+                .count();
+        if (running == 0) {
+            throw new IllegalArgumentException("No flight recording is running; use 'jfr start' "
+                    + "or start the JVM with -XX:StartFlightRecording");
+        }
+        try (Recording snapshot = FlightRecorder.getFlightRecorder().takeSnapshot()) {
+            snapshot.dump(file);
+            return new DumpSummary(file, Files.size(file), (int) running);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not dump the recording to " + file, e);
+        }
+    }
+
+    private static boolean running(String name) {
+        return FlightRecorder.getFlightRecorder().getRecordings().stream()
+                .anyMatch(r -> name.equals(r.getName()) && r.getState() == RecordingState.RUNNING);
+    }
+
+    private static void requireAvailable() {
+        if (!FlightRecorder.isAvailable()) {
+            throw new IllegalArgumentException("Java Flight Recorder is not available in this JVM");
+        }
+    }
+}
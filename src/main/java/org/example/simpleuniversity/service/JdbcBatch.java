@@ -0,0 +1,45 @@
+package org.example.simpleuniversity.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Accumulates rows for one INSERT and sends them as a JDBC batch every {@value #SIZE} rows. The
+ * SQL types are given up front, so null values need no parameter metadata round trip.
+ */
+final class JdbcBatch {
+
+    static final int SIZE = 5000;
+
+    private final JdbcTemplate jdbc;
+    private final String sql;
+    private final int[] types;
+    private final List<Object[]> rows = new ArrayList<>(SIZE);
+    private long total;
+
+    JdbcBatch(JdbcTemplate jdbc, String sql, int[] types) {
+        this.jdbc = jdbc;
+        this.sql = sql;
+        this.types = types;
+    }
+
+    void add(Object... row) {
+        rows.add(row);
+        if (rows.size() == SIZE) send();
+    }
+
+    /** Sends what is left; returns the number of rows added in total. */
+    long finish() {
+        send();
+        return total;
+    }
+
+    private void send() {
+        if (rows.isEmpty()) return;
+        jdbc.batchUpdate(sql, rows, types);
+        total += rows.size();
+        rows.clear();
+    }
+}
@@ -0,0 +1,19 @@
+package org.example.simpleuniversity.service;
+
+import org.example.simpleuniversity.model.Lector;
+
+/**
+ * Published by {@link UniversityService} whenever a lector is created, renamed or deleted.
+ * Listeners that mirror lector data outside the database subscribe with
+ * {@code @TransactionalEventListener}, so they only see committed changes.
+ */
+public record LectorChangedEvent(String tenantId, Long lectorId, String firstName, String lastName, boolean deleted) {
+
+    public static LectorChangedEvent saved(String tenantId, Lector l) {
+        return new LectorChangedEvent(tenantId, l.getId(), l.getFirstName(), l.getLastName(), false);
+    }
+
+    public static LectorChangedEvent deleted(String tenantId, Lector l) {
+        return new LectorChangedEvent(tenantId, l.getId(), l.getFirstName(), l.getLastName(), true);
+    }
+}
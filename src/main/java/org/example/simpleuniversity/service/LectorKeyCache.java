@@ -0,0 +1,38 @@
+package org.example.simpleuniversity.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Small LRU map from a normalized lector key ("ivan petrenko", "einst") to the lector id
+ * it last resolved to. Hits are re-checked against the loaded lector, so a rename made
+ * elsewhere only costs one extra lookup.
+ */
+class LectorKeyCache {
+    private final Map<String, Long> ids;
+
+    LectorKeyCache(int capacity) {
+        this.ids = new LinkedHashMap<>(capacity * 4 / 3 + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    synchronized Long get(String key) {
+        return ids.get(key);
+    }
+
+    synchronized void put(String key, Long id) {
+        ids.put(key, id);
+    }
+
+    synchronized void remove(String key) {
+        ids.remove(key);
+    }
+
+    synchronized void clear() {
+        ids.clear();
+    }
+}
@@ -0,0 +1,267 @@
+package org.example.simpleuniversity.service;
+
+import org.example.simpleuniversity.model.LectorName;
+import org.example.simpleuniversity.model.Names;
+import org.example.simpleuniversity.repository.LectorRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory typo-tolerant index of lector names. Every distinct normalized name token is kept
+ * in a {@link DeleteDictionary} for edit-distance lookups and in a sorted map (token to lector
+ * ids) for prefix lookups. A query is answered from the lectors of its most selective token.
+ * <p>
+ * Each tenant has its own index, loaded from the committed table on that tenant's first lookup
+ * and then following the tenant's {@link LectorChangedEvent}s after each commit, so rolled-back
+ * changes never reach it. Writes made by other processes arrive through {@link ChangePoller}.
+ */
+@Component
+public class LectorNameIndex implements ChangeConsumer {
+
+    /** One ranked hit; lower {@code score} is better (exact 0, prefix 1, each edit 2). */
+    public record Match(LectorName lector, int score) {
+    }
+
+    // a short token such as "a" is a prefix of half the table; stop after this many terms
+    private static final int PREFIX_TERMS_LIMIT = 256;
+
+    private static final Comparator<Match> RANKING = Comparator.comparingInt(Match::score)
+            .thenComparing(m -> m.lector().lastNameNorm())
+            .thenComparing(m -> m.lector().firstNameNorm())
+            .thenComparing(m -> m.lector().id());
+
+    private final LectorRepository lectorRepository;
+    private final TransactionTemplate loadTransaction;
+    private final TenantContext tenants;
+
+    // one index per tenant, loaded on that tenant's first lookup
+    private final Map<String, TenantIndex> indexes = new ConcurrentHashMap<>();
+
+    public LectorNameIndex(LectorRepository lectorRepository, PlatformTransactionManager transactionManager,
+                           TenantContext tenants) {
+        this.lectorRepository = lectorRepository;
+        // own read-only transaction: never see (and cache) a caller's uncommitted rows
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        loadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        loadTransaction.setReadOnly(true);
+        this.tenants = tenants;
+    }
+
+    /**
+     * Lectors of the current tenant whose name tokens are all close to the tokens of
+     * {@code query}, best first.
+     */
+    public List<Match> search(String query, int limit) {
+        List<String> tokens = tokens(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        TenantIndex index = indexes.computeIfAbsent(tenants.current(), t -> new TenantIndex());
+        index.ensureLoaded();
+        return index.search(tokens, limit);
+    }
+
+    /** The closest lector name to {@code key}, for "did you mean" hints. */
+    public Optional<String> suggest(String key) {
+        return search(key, 1).stream().findFirst().map(m -> m.lector().fullName());
+    }
+
+    /** Replaces the current tenant's contents with {@code names}. */
+    public void load(Stream<LectorName> names) {
+        indexes.computeIfAbsent(tenants.current(), t -> new TenantIndex()).load(names);
+    }
+
+    /** Drops one tenant's contents; its next lookup reloads them from the database. */
+    public void invalidate(String tenantId) {
+        indexes.remove(tenantId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLectorChanged(LectorChangedEvent event) {
+        // a tenant without an index loads the committed state on its first lookup anyway
+        TenantIndex index = indexes.get(event.tenantId());
+        if (index != null) index.apply(event);
+    }
+
+    @Override
+    public void onLectorChange(LectorChangedEvent change) {
+        onLectorChanged(change);
+    }
+
+    private final class TenantIndex {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<Long, LectorName> lectors = new HashMap<>();
+        private final TreeMap<String, Set<Long>> postings = new TreeMap<>();
+        private DeleteDictionary terms = new DeleteDictionary();
+        private boolean loaded;
+
+        List<Match> search(List<String> tokens, int limit) {
+            lock.readLock().lock();
+            try {
+                List<Map<String, Integer>> termScores = new ArrayList<>(tokens.size());
+                int selective = 0;
+                long fewest = Long.MAX_VALUE;
+                for (String token : tokens) {
+                    Map<String, Integer> scores = termScores(token);
+                    long lectorCount = scores.keySet().stream().mapToLong(t -> postings.get(t).size()).sum();
+                    if (lectorCount == 0) return List.of();
+                    if (lectorCount < fewest) {
+                        fewest = lectorCount;
+                        selective = termScores.size();
+                    }
+                    termScores.add(scores);
+                }
+
+                // walk the lectors of the most selective token, score the rest against their own tokens
+                PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+                Set<Long> seen = new HashSet<>();
+                for (Map.Entry<String, Integer> term : termScores.get(selective).entrySet()) {
+                    for (Long id : postings.get(term.getKey())) {
+                        if (!seen.add(id)) continue;
+                        LectorName lector = lectors.get(id);
+                        int score = score(lector, termScores);
+                        if (score < 0) continue;
+                        best.add(new Match(lector, score));
+                        if (best.size() > limit) best.poll();
+                    }
+                }
+                List<Match> matches = new ArrayList<>(best);
+                matches.sort(RANKING);
+                return matches;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void load(Stream<LectorName> names) {
+            lock.writeLock().lock();
+            try {
+                lectors.clear();
+                postings.clear();
+                terms = new DeleteDictionary();
+                names.forEach(this::add);
+                loaded = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void apply(LectorChangedEvent event) {
+            lock.writeLock().lock();
+            try {
+                if (!loaded) return;
+                remove(event.lectorId());
+                if (!event.deleted()) {
+                    add(new LectorName(event.lectorId(), event.firstName(), event.lastName(),
+                            Names.normalize(event.firstName()), Names.normalize(event.lastName())));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        // called as the tenant whose index this is, so the load transaction reads its rows
+        void ensureLoaded() {
+            lock.readLock().lock();
+            try {
+                if (loaded) return;
+            } finally {
+                lock.readLock().unlock();
+            }
+            lock.writeLock().lock();
+            try {
+                if (!loaded) {
+                    loadTransaction.executeWithoutResult(status -> {
+                        try (Stream<LectorName> names = lectorRepository.streamAllNames()) {
+                            load(names);
+                        }
+                    });
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        // matching terms of one query token with their scores; caller holds the read lock
+        Map<String, Integer> termScores(String token) {
+            Map<String, Integer> scores = new HashMap<>();
+            terms.search(token, maxDistance(token), (term, d) -> scores.put(term, 2 * d));
+            int scanned = 0;
+            for (String term : postings.tailMap(token, false).keySet()) {
+                if (!term.startsWith(token) || ++scanned > PREFIX_TERMS_LIMIT) break;
+                scores.merge(term, 1, Math::min);
+            }
+            return scores;
+        }
+
+        // caller holds the write lock
+        void add(LectorName name) {
+            lectors.put(name.id(), name);
+            for (String token : tokens(name.firstNameNorm() + " " + name.lastNameNorm())) {
+                postings.computeIfAbsent(token, t -> {
+                    terms.add(t);
+                    return new HashSet<>(2);
+                }).add(name.id());
+            }
+        }
+
+        // caller holds the write lock
+        void remove(Long id) {
+            LectorName old = lectors.remove(id);
+            if (old == null) return;
+            for (String token : tokens(old.firstNameNorm() + " " + old.lastNameNorm())) {
+                Set<Long> ids = postings.get(token);
+                if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                    postings.remove(token);
+                    terms.remove(token);
+                }
+            }
+        }
+    }
+
+    // sum over query tokens of the best-matching lector token, or -1 if some query token matches none
+    private static int score(LectorName lector, List<Map<String, Integer>> termScores) {
+        List<String> own = tokens(lector.firstNameNorm() + " " + lector.lastNameNorm());
+        int total = 0;
+        for (Map<String, Integer> scores : termScores) {
+            int tokenBest = Integer.MAX_VALUE;
+            for (String t : own) {
+                Integer s = scores.get(t);
+                if (s != null && s < tokenBest) tokenBest = s;
+            }
+            if (tokenBest == Integer.MAX_VALUE) return -1;
+            total += tokenBest;
+        }
+        return total;
+    }
+
+    private static int maxDistance(String token) {
+        if (token.length() <= 2) return 0;
+        return token.length() <= 5 ? 1 : 2;
+    }
+
+    private static List<String> tokens(String s) {
+        List<String> tokens = new ArrayList<>(2);
+        for (String t : Names.normalize(s).split("\\s+")) {
+            if (!t.isEmpty()) tokens.add(t);
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,150 @@
+package org.example.simpleuniversity.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Compact, read-only snapshot of every name of one university's lectors: one row per lector holding ids into two
+ * {@link NameDictionary} instances (names as stored, for output, and case-folded, for lookups)
+ * plus a posting list from each folded name to the rows that carry it. Duplicate names such as
+ * a thousand "Ivan"s are stored once.
+ */
+public final class LectorNameTable {
+
+    private static final String SCAN = "SELECT id, first_name, last_name FROM lector WHERE tenant_id = ? ORDER BY id";
+    private static final int FETCH_SIZE = 1000;
+
+    private final NameDictionary display;
+    private final NameDictionary folded;
+    private final long[] lectorIds;
+    private final int[] firstNames;
+    private final int[] lastNames;
+    // rows of folded name f: postingRows[postingStart[f] .. postingStart[f + 1])
+    private final int[] postingStart;
+    private final int[] postingRows;
+
+    private LectorNameTable(NameDictionary display, NameDictionary folded, long[] lectorIds,
+                            int[] firstNames, int[] lastNames, int[] postingStart, int[] postingRows) {
+        this.display = display;
+        this.folded = folded;
+        this.lectorIds = lectorIds;
+        this.firstNames = firstNames;
+        this.lastNames = lastNames;
+        this.postingStart = postingStart;
+        this.postingRows = postingRows;
+    }
+
+    /**
+     * Builds the table from a single forward-only scan of the current university's lectors. Call
+     * it inside a read-only transaction: PostgreSQL only honours the fetch size (and streams
+     * instead of buffering the whole result) when auto-commit is off.
+     */
+    public static LectorNameTable load(JdbcTemplate jdbc, TenantContext tenants, boolean offHeap) {
+        String tenant = tenants.current();
+        Loader loader = new Loader();
+        jdbc.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SCAN, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setString(1, tenant);
+            ps.setFetchSize(FETCH_SIZE);
+            return ps;
+        }, (RowCallbackHandler) rs -> loader.add(rs.getLong(1), rs.getString(2), rs.getString(3)));
+        return loader.build(offHeap);
+    }
+
+    public int size() {
+        return lectorIds.length;
+    }
+
+    public long lectorId(int row) {
+        return lectorIds[row];
+    }
+
+    public String firstName(int row) {
+        return display.get(firstNames[row]);
+    }
+
+    public String lastName(int row) {
+        return display.get(lastNames[row]);
+    }
+
+    /** Rows whose first or last name equals {@code name}, ignoring case, in lector id order. */
+    public IntStream rowsNamed(String name) {
+        int f = folded.idOf(name);
+        return f < 0 ? IntStream.empty() : Arrays.stream(postingRows, postingStart[f], postingStart[f + 1]);
+    }
+
+    /** Rows whose first or last name starts with {@code prefix}, ignoring case, each once. */
+    public IntStream rowsWithPrefix(String prefix) {
+        return folded.idsWithPrefix(prefix)
+                .flatMap(f -> Arrays.stream(postingRows, postingStart[f], postingStart[f + 1]))
+                .distinct();
+    }
+
+    public long footprintBytes() {
+        return display.footprintBytes() + folded.footprintBytes()
+                + 8L * lectorIds.length + 4L * (firstNames.length + lastNames.length)
+                + 4L * (postingStart.length + postingRows.length);
+    }
+
+    /**
+     * Accumulates rows in id order; only distinct names are kept as {@code String}s while loading.
+     */
+    public static final class Loader {
+        private final NameDictionary.Builder display = NameDictionary.builder(false);
+        private final NameDictionary.Builder folded = NameDictionary.builder(true);
+        // per-row provisional dictionary ids
+        private long[] ids = new long[1024];
+        private int[] first = new int[1024];
+        private int[] last = new int[1024];
+        private int[] foldedFirst = new int[1024];
+        private int[] foldedLast = new int[1024];
+        private int size;
+
+        public void add(long lectorId, String firstName, String lastName) {
+            if (size == ids.length) {
+                int cap = size * 2;
+                ids = Arrays.copyOf(ids, cap);
+                first = Arrays.copyOf(first, cap);
+                last = Arrays.copyOf(last, cap);
+                foldedFirst = Arrays.copyOf(foldedFirst, cap);
+                foldedLast = Arrays.copyOf(foldedLast, cap);
+            }
+            ids[size] = lectorId;
+            first[size] = display.add(firstName);
+            last[size] = display.add(lastName);
+            foldedFirst[size] = folded.add(firstName);
+            foldedLast[size] = folded.add(lastName);
+            size++;
+        }
+
+        public LectorNameTable build(boolean offHeap) {
+            NameDictionary displayDict = display.build(offHeap);
+            NameDictionary foldedDict = folded.build(offHeap);
+            int[] firstNames = new int[size];
+            int[] lastNames = new int[size];
+            int[] postingStart = new int[foldedDict.size() + 1];
+            for (int r = 0; r < size; r++) {
+                firstNames[r] = display.finalId(first[r]);
+                lastNames[r] = display.finalId(last[r]);
+                foldedFirst[r] = folded.finalId(foldedFirst[r]);
+                foldedLast[r] = folded.finalId(foldedLast[r]);
+                postingStart[foldedFirst[r] + 1]++;
+                if (foldedLast[r] != foldedFirst[r]) postingStart[foldedLast[r] + 1]++;
+            }
+            for (int f = 0; f < foldedDict.size(); f++) postingStart[f + 1] += postingStart[f];
+            int[] fill = Arrays.copyOf(postingStart, postingStart.length);
+            int[] postingRows = new int[postingStart[foldedDict.size()]];
+            for (int r = 0; r < size; r++) {
+                postingRows[fill[foldedFirst[r]]++] = r;
+                if (foldedLast[r] != foldedFirst[r]) postingRows[fill[foldedLast[r]]++] = r;
+            }
+            return new LectorNameTable(displayDict, foldedDict, Arrays.copyOf(ids, size),
+                    firstNames, lastNames, postingStart, postingRows);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package org.example.simpleuniversity.service;
+
+import org.example.simpleuniversity.model.Names;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable sorted set of strings packed as UTF-8 into a single arena, so a million names cost
+ * their bytes plus one {@code int} offset each instead of a {@code String} object apiece. A
+ * string's id is its rank in unsigned byte order, which makes every prefix a contiguous id range.
+ * <p>
+ * The arena is a direct buffer when built off-heap. With case folding on, entries and probes go
+ * through {@link Names#normalize}, so lookups ignore case and surrounding blanks.
+ */
+public final class NameDictionary {
+
+    private final ByteBuffer arena;
+    // entry i occupies arena[offsets[i], offsets[i + 1])
+    private final int[] offsets;
+    private final boolean caseFold;
+
+    private NameDictionary(ByteBuffer arena, int[] offsets, boolean caseFold) {
+        this.arena = arena;
+        this.offsets = offsets;
+        this.caseFold = caseFold;
+    }
+
+    public static Builder builder(boolean caseFold) {
+        return new Builder(caseFold);
+    }
+
+    public int size() {
+        return offsets.length - 1;
+    }
+
+    /** Id of {@code name}, or -1 if it is not in the dictionary. */
+    public int idOf(String name) {
+        byte[] key = encode(name);
+        int id = lowerBound(key);
+        return id < size() && compare(id, key, false) == 0 ? id : -1;
+    }
+
+    public String get(int id) {
+        byte[] bytes = new byte[offsets[id + 1] - offsets[id]];
+        arena.get(offsets[id], bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** Ids of all entries starting with {@code prefix}, in sorted order. */
+    public IntStream idsWithPrefix(String prefix) {
+        byte[] key = encode(prefix);
+        int from = lowerBound(key);
+        int lo = from, hi = size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (compare(mid, key, true) == 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return IntStream.range(from, lo);
+    }
+
+    public boolean isOffHeap() {
+        return arena.isDirect();
+    }
+
+    /** Bytes held by the arena and the offset table. */
+    public long footprintBytes() {
+        return arena.capacity() + 4L * offsets.length;
+    }
+
+    private byte[] encode(String s) {
+        return (caseFold ? Names.normalize(s) : s == null ? "" : s).getBytes(StandardCharsets.UTF_8);
+    }
+
+    // first id whose entry is >= key
+    private int lowerBound(byte[] key) {
+        int lo = 0, hi = size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (compare(mid, key, false) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // unsigned byte comparison of entry `id` with `key`; prefixOnly compares the first key.length bytes
+    private int compare(int id, byte[] key, boolean prefixOnly) {
+        int start = offsets[id];
+        int len = offsets[id + 1] - start;
+        int n = Math.min(len, key.length);
+        for (int i = 0; i < n; i++) {
+            int c = Integer.compare(arena.get(start + i) & 0xff, key[i] & 0xff);
+            if (c != 0) return c;
+        }
+        if (prefixOnly && len >= key.length) return 0;
+        return Integer.compare(len, key.length);
+    }
+
+    /**
+     * Collects strings, handing out provisional ids so callers can record references while
+     * scanning; after {@link #build} the final (sorted) id of each is {@link #finalId}.
+     */
+    public static final class Builder {
+        private final boolean caseFold;
+        private final Map<String, Integer> provisionalIds = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+        private int[] finalIds;
+
+        private Builder(boolean caseFold) {
+            this.caseFold = caseFold;
+        }
+
+        public int add(String s) {
+            String value = caseFold ? Names.normalize(s) : s == null ? "" : s;
+            Integer id = provisionalIds.get(value);
+            if (id == null) {
+                id = values.size();
+                provisionalIds.put(value, id);
+                values.add(value);
+            }
+            return id;
+        }
+
+        public NameDictionary build(boolean offHeap) {
+            int n = values.size();
+            byte[][] encoded = new byte[n][];
+            Integer[] order = new Integer[n];
+            long total = 0;
+            for (int i = 0; i < n; i++) {
+                encoded[i] = values.get(i).getBytes(StandardCharsets.UTF_8);
+                order[i] = i;
+                total += encoded[i].length;
+            }
+            if (total > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Dictionary exceeds 2 GiB of UTF-8");
+            }
+            Arrays.sort(order, (a, b) -> Arrays.compareUnsigned(encoded[a], encoded[b]));
+
+            ByteBuffer arena = offHeap ? ByteBuffer.allocateDirect((int) total) : ByteBuffer.allocate((int) total);
+            int[] offsets = new int[n + 1];
+            finalIds = new int[n];
+            int pos = 0;
+            for (int rank = 0; rank < n; rank++) {
+                byte[] bytes = encoded[order[rank]];
+                arena.put(pos, bytes);
+                offsets[rank] = pos;
+                pos += bytes.length;
+                finalIds[order[rank]] = rank;
+            }
+            offsets[n] = pos;
+
+            provisionalIds.clear();
+            values.clear();
+            return new NameDictionary(arena, offsets, caseFold);
+        }
+
+        public int finalId(int provisionalId) {
+            return finalIds[provisionalId];
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.simpleuniversity.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one {@link UniversityService} call, committed by
+ * {@code FlightRecorderConfig.OperationEventAspect}. The JFR duration is the call's wall time,
+ * transaction commit included.
+ */
+@Name("university.Operation")
+@Label("University Operation")
+@Description("One UniversityService call")
+@Category({"SimpleUniversity"})
+@StackTrace(false)
+public class OperationEvent extends Event {
+
+    private static final ThreadLocal<OperationEvent> CURRENT = new ThreadLocal<>();
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Key")
+    @Description("Department or lector key the operation was called with, if any")
+    public String key;
+
+    @Label("Rows")
+    @Description("Rows returned by a read, or lectors whose card a write rebuilt or removed")
+    public long rows;
+
+    @Label("Failed")
+    public boolean failed;
+
+    @Label("Coalesced")
+    @Description("Answered by an identical call already in flight, without a query of its own")
+    public boolean coalesced;
+
+    /** Makes {@code event} the target of {@link #touched(long)} on this thread; returns the previous one. */
+    public static OperationEvent enter(OperationEvent event) {
+        OperationEvent previous = CURRENT.get();
+        CURRENT.set(event);
+        return previous;
+    }
+
+    public static void exit(OperationEvent previous) {
+        if (previous == null) CURRENT.remove();
+        else CURRENT.set(previous);
+    }
+
+    /** Marks the operation running on this thread as served by {@link SingleFlight}, if it is being recorded. */
+    public static void coalesced() {
+        OperationEvent event = CURRENT.get();
+        if (event != null) event.coalesced = true;
+    }
+
+    /** Adds to the row count of the operation running on this thread, if it is being recorded. */
+    public static void touched(long rows) {
+        OperationEvent event = CURRENT.get();
+        if (event != null) event.rows += rows;
+    }
+}
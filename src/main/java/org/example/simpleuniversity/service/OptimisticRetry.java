@@ -0,0 +1,31 @@
+package org.example.simpleuniversity.service;
+
+import jakarta.persistence.OptimisticLockException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Re-runs a mutating service method in a fresh transaction when a concurrent
+ * writer bumped the {@code @Version} of an entity it touched.
+ * Attempts and the jittered exponential backoff are tuned via {@code university.retry.*}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Retryable(
+        retryFor = {OptimisticLockingFailureException.class, OptimisticLockException.class},
+        maxAttemptsExpression = "${university.retry.max-attempts:5}",
+        backoff = @Backoff(
+                delayExpression = "${university.retry.initial-delay-ms:10}",
+                maxDelayExpression = "${university.retry.max-delay-ms:200}",
+                multiplierExpression = "${university.retry.multiplier:2}",
+                random = true
+        )
+)
+public @interface OptimisticRetry {
+}
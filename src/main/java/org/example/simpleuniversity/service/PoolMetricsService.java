@@ -0,0 +1,49 @@
+package org.example.simpleuniversity.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads the HikariCP gauges and timers that Spring Boot binds to the meter registry,
+ * so pool saturation (callers waiting for a connection) is visible from the CLI.
+ */
+@Service
+@AllArgsConstructor
+public class PoolMetricsService {
+    private final MeterRegistry registry;
+
+    public record PoolStats(String pool, int active, int idle, int pending, int max,
+                            long acquireCount, double acquireMeanMs, double acquireMaxMs, long timeouts) {
+    }
+
+    public PoolStats getPoolStats() {
+        Gauge active = registry.find("hikaricp.connections.active").gauge();
+        Timer acquire = registry.find("hikaricp.connections.acquire").timer();
+        if (active == null || acquire == null) {
+            throw new IllegalStateException("Connection pool metrics are not registered");
+        }
+        Counter timeouts = registry.find("hikaricp.connections.timeout").counter();
+        return new PoolStats(
+                active.getId().getTag("pool"),
+                (int) active.value(),
+                gauge("hikaricp.connections.idle"),
+                gauge("hikaricp.connections.pending"),
+                gauge("hikaricp.connections.max"),
+                acquire.count(),
+                acquire.mean(TimeUnit.MILLISECONDS),
+                acquire.max(TimeUnit.MILLISECONDS),
+                timeouts != null ? (long) timeouts.count() : 0L
+        );
+    }
+
+    private int gauge(String name) {
+        Gauge g = registry.find(name).gauge();
+        return g != null ? (int) g.value() : 0;
+    }
+}
@@ -0,0 +1,101 @@
+package org.example.simpleuniversity.service;
+
+import lombok.AllArgsConstructor;
+import org.example.simpleuniversity.config.ReactiveDatabaseConfig.ReactiveDatabase;
+import org.example.simpleuniversity.model.Degree;
+import org.example.simpleuniversity.model.Names;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Non-blocking counterpart of the report queries in {@link UniversityService}. Each call
+ * is one or two aggregate SQL statements over R2DBC, so thousands of concurrent report
+ * requests are multiplexed over a few event-loop threads and a small connection pool
+ * instead of occupying a thread and a JDBC connection each.
+ * <p>
+ * R2DBC bypasses Hibernate's tenant filter, so every statement binds the caller's
+ * {@link TenantContext} tenant, captured when the call is made rather than on whichever
+ * thread later runs the query.
+ */
+@Service
+@AllArgsConstructor
+public class ReactiveUniversityService {
+    private final ReactiveDatabase db;
+    private final TenantContext tenants;
+
+    public Mono<String> getHeadOf(String deptName) {
+        return db.client().sql("""
+                        SELECT l.first_name, l.last_name
+                        FROM department d
+                        JOIN lector l ON l.id = d.head_id
+                        WHERE d.tenant_id = :tenant AND d.name_norm = :name""")
+                .bind("tenant", tenants.current())
+                .bind("name", Names.normalize(deptName))
+                .map((row, meta) -> row.get(0, String.class) + " " + row.get(1, String.class))
+                .first()
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("No such department")));
+    }
+
+    public Mono<Map<Degree, Long>> getStatistics(String deptName) {
+        return departmentId(deptName).flatMap(id -> db.client().sql("""
+                                SELECT l.degree, COUNT(*)
+                                FROM department_lector dl
+                                JOIN lector l ON l.id = dl.lector_id
+                                WHERE dl.department_id = :id AND l.degree IS NOT NULL
+                                GROUP BY l.degree""")
+                        .bind("id", id)
+                        .map((row, meta) -> Map.entry(Degree.valueOf(row.get(0, String.class)), row.get(1, Number.class).longValue()))
+                        .all()
+                        .collectMap(Map.Entry::getKey, Map.Entry::getValue, () -> new EnumMap<>(Degree.class)));
+    }
+
+    public Mono<Double> getAverageSalary(String deptName) {
+        return departmentId(deptName).flatMap(id -> db.client().sql("""
+                                SELECT COALESCE(AVG(l.salary), 0)
+                                FROM department_lector dl
+                                JOIN lector l ON l.id = dl.lector_id
+                                WHERE dl.department_id = :id""")
+                        .bind("id", id)
+                        .map((row, meta) -> row.get(0, Number.class).doubleValue())
+                        .first());
+    }
+
+    public Mono<Long> getEmployeeCount(String deptName) {
+        return departmentId(deptName).flatMap(id -> db.client().sql(
+                                "SELECT COUNT(*) FROM department_lector WHERE department_id = :id")
+                        .bind("id", id)
+                        .map((row, meta) -> row.get(0, Number.class).longValue())
+                        .first());
+    }
+
+    /**
+     * Streams matching full names as rows arrive; the subscriber's demand bounds how much is buffered.
+     * Matches the same names as {@link UniversityService#searchLectors}, in the same order, by
+     * walking the tenant's {@code ix_lector_name_norm} index.
+     */
+    public Flux<String> globalSearch(String template) {
+        return db.client().sql("""
+                        SELECT first_name, last_name
+                        FROM lector
+                        WHERE tenant_id = :tenant
+                          AND (first_name_norm LIKE :pattern ESCAPE '\\' OR last_name_norm LIKE :pattern ESCAPE '\\')
+                        ORDER BY last_name_norm, first_name_norm, id""")
+                .bind("tenant", tenants.current())
+                .bind("pattern", Names.containsPattern(template))
+                .map((row, meta) -> row.get(0, String.class) + " " + row.get(1, String.class))
+                .all();
+    }
+
+    private Mono<Long> departmentId(String deptName) {
+        return db.client().sql("SELECT id FROM department WHERE tenant_id = :tenant AND name_norm = :name")
+                .bind("tenant", tenants.current())
+                .bind("name", Names.normalize(deptName))
+                .map((row, meta) -> row.get(0, Long.class))
+                .first()
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("No such department")));
+    }
+}
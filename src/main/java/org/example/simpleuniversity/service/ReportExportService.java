@@ -0,0 +1,217 @@
+package org.example.simpleuniversity.service;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.arrow.compression.CommonsCompressionFactory;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.compression.CompressionUtil;
+import org.apache.arrow.vector.ipc.ArrowFileWriter;
+import org.apache.arrow.vector.ipc.message.IpcOption;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Full extract of lectors and their department memberships for downstream reporting. Rows are
+ * streamed from one forward-only cursor ordered by department, so exactly one partition
+ * ({@code department=<id>/part-0.arrow}, or {@code department=none} for lectors without a
+ * department) is open at a time and memory stays at one record batch. Each partition is an Arrow
+ * IPC file with ZSTD-compressed record batches, whose schema metadata carries the tenant,
+ * department and export time. The extract
+ * covers the current tenant's university only.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReportExportService {
+
+    public static final String FILE_NAME = "part-0.arrow";
+
+    static final List<Field> FIELDS = List.of(
+            Field.notNullable("lector_id", new ArrowType.Int(64, true)),
+            Field.notNullable("first_name", ArrowType.Utf8.INSTANCE),
+            Field.notNullable("last_name", ArrowType.Utf8.INSTANCE),
+            Field.nullable("degree", ArrowType.Utf8.INSTANCE),
+            Field.notNullable("salary", new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE)),
+            Field.notNullable("is_head", ArrowType.Bool.INSTANCE));
+
+    private static final String SCAN = """
+            SELECT d.id, d.name, d.head_id, l.id, l.first_name, l.last_name, l.degree, l.salary
+            FROM lector l
+            LEFT JOIN department_lector dl ON dl.lector_id = l.id
+            LEFT JOIN department d ON d.id = dl.department_id
+            WHERE l.tenant_id = ?
+            ORDER BY d.id NULLS FIRST, l.id""";
+    private static final int FETCH_SIZE = 1000;
+    private static final int BATCH_SIZE = 64 * 1024;
+
+    private final JdbcTemplate jdbc;
+    private final TenantContext tenants;
+
+    public record ExportSummary(Path directory, long rows, int partitions, long bytes, Duration elapsed) {
+        public double rowsPerSecond() {
+            return rows / Math.max(elapsed.toNanos() / 1e9, 1e-9);
+        }
+    }
+
+    /**
+     * Writes the extract below {@code directory}, which must not exist yet or be empty, so a
+     * partition of a since-deleted department can never be mistaken for current data. Runs in a
+     * read-only transaction: PostgreSQL only streams the cursor when auto-commit is off.
+     */
+    @Transactional(readOnly = true)
+    public ExportSummary exportLectors(Path directory) {
+        Instant started = Instant.now();
+        try {
+            prepare(directory);
+            String tenant = tenants.current();
+            try (BufferAllocator allocator = new RootAllocator()) {
+                PartitionWriter partitions = new PartitionWriter(allocator, directory, tenant, started);
+                try (partitions) {
+                    jdbc.query(con -> {
+                        PreparedStatement ps = con.prepareStatement(SCAN, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                        ps.setString(1, tenant);
+                        ps.setFetchSize(FETCH_SIZE);
+                        return ps;
+                    }, (RowCallbackHandler) partitions::write);
+                }
+                return new ExportSummary(directory, partitions.rows, partitions.count, partitions.bytes,
+                        Duration.between(started, Instant.now()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Export to " + directory + " failed", e);
+        }
+    }
+
+    private static void prepare(Path directory) throws IOException {
+        if (Files.isDirectory(directory)) {
+            try (Stream<Path> entries = Files.list(directory)) {
+                if (entries.findAny().isPresent()) {
+                    throw new IllegalArgumentException("Export directory is not empty: " + directory);
+                }
+            }
+        }
+        Files.createDirectories(directory);
+    }
+
+    // rows arrive grouped by department; a new department id closes the previous partition
+    private static final class PartitionWriter implements AutoCloseable {
+        private final BufferAllocator allocator;
+        private final Path directory;
+        private final String tenant;
+        private final String exportedAt;
+        private VectorSchemaRoot root;
+        private ArrowFileWriter writer;
+        private Path file;
+        private Long department;
+        private int batchRows;
+        private long rows;
+        private int count;
+        private long bytes;
+
+        PartitionWriter(BufferAllocator allocator, Path directory, String tenant, Instant exportedAt) {
+            this.allocator = allocator;
+            this.directory = directory;
+            this.tenant = tenant;
+            this.exportedAt = exportedAt.toString();
+        }
+
+        void write(ResultSet rs) throws SQLException {
+            long id = rs.getLong(1);
+            Long departmentId = rs.wasNull() ? null : id;
+            try {
+                if (writer == null || !Objects.equals(departmentId, department)) {
+                    open(departmentId, rs.getString(2));
+                }
+                long headId = rs.getLong(3);
+                boolean isHead = !rs.wasNull() && headId == rs.getLong(4);
+                ((BigIntVector) root.getVector(0)).setSafe(batchRows, rs.getLong(4));
+                setString(1, rs.getString(5));
+                setString(2, rs.getString(6));
+                setString(3, rs.getString(7));
+                ((Float8Vector) root.getVector(4)).setSafe(batchRows, rs.getDouble(8));
+                ((BitVector) root.getVector(5)).setSafe(batchRows, isHead ? 1 : 0);
+                rows++;
+                if (++batchRows == BATCH_SIZE) {
+                    writeBatch();
+                    root.allocateNew();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void setString(int column, String value) {
+            VarCharVector vector = (VarCharVector) root.getVector(column);
+            if (value == null) {
+                vector.setNull(batchRows);
+            } else {
+                vector.setSafe(batchRows, value.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        private void writeBatch() throws IOException {
+            root.setRowCount(batchRows);
+            writer.writeBatch();
+            batchRows = 0;
+        }
+
+        private void open(Long departmentId, String departmentName) throws IOException {
+            close();
+            Path partition = directory.resolve("department=" + (departmentId != null ? departmentId : "none"));
+            Files.createDirectories(partition);
+            Map<String, String> metadata = new LinkedHashMap<>();
+            metadata.put("tenant_id", tenant);
+            metadata.put("department_id", departmentId != null ? departmentId.toString() : "");
+            metadata.put("department_name", departmentName != null ? departmentName : "");
+            metadata.put("exported_at", exportedAt);
+            file = partition.resolve(FILE_NAME);
+            root = VectorSchemaRoot.create(new Schema(FIELDS, metadata), allocator);
+            root.allocateNew();
+            writer = new ArrowFileWriter(root, null, Channels.newChannel(Files.newOutputStream(file)), null,
+                    IpcOption.DEFAULT, CommonsCompressionFactory.INSTANCE, CompressionUtil.CodecType.ZSTD);
+            writer.start();
+            department = departmentId;
+            count++;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (writer == null) return;
+            try (VectorSchemaRoot batch = root; ArrowFileWriter out = writer) {
+                if (batchRows > 0) writeBatch();
+                out.end();
+            } finally {
+                writer = null;
+                root = null;
+            }
+            bytes += Files.size(file);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package org.example.simpleuniversity.service;
+
+import java.io.PrintStream;
+import java.nio.CharBuffer;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+/**
+ * Line-oriented text output for large listings, producing exactly what {@code printf} with
+ * {@code %s}, {@code %d}, {@code %.2f} and {@code %n} would, without parsing a format string or
+ * boxing arguments per row. Rows are copied into one reusable char buffer and handed to the
+ * stream in large chunks, so the stream's own encoder turns them into the same bytes as before.
+ * <p>
+ * Numbers honour the default format locale's zero digit and decimal separator, as
+ * {@link java.util.Formatter} does. Not thread-safe; call {@link #flush()} before writing to the
+ * stream directly.
+ */
+public final class RowPrinter {
+
+    public static final int DEFAULT_CAPACITY = 32 * 1024;
+
+    // below this, a double equal to cents / 100.0 prints as exactly those cents under %.2f
+    private static final double EXACT_CENTS_LIMIT = 1e13;
+
+    private final PrintStream out;
+    private final Locale locale;
+    private final char zero;
+    private final char decimalSeparator;
+    private final String lineSeparator = System.lineSeparator();
+    private final char[] buffer;
+    private final char[] digits = new char[20];
+    private int length;
+
+    public RowPrinter(PrintStream out) {
+        this(out, DEFAULT_CAPACITY, Locale.getDefault(Locale.Category.FORMAT));
+    }
+
+    public RowPrinter(PrintStream out, int capacity, Locale locale) {
+        if (capacity < digits.length + 1) {
+            throw new IllegalArgumentException("Buffer capacity must be at least " + (digits.length + 1));
+        }
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+        this.out = out;
+        this.locale = locale;
+        this.zero = symbols.getZeroDigit();
+        this.decimalSeparator = symbols.getDecimalSeparator();
+        this.buffer = new char[capacity];
+    }
+
+    /** {@code %s} of a string; {@code null} prints as "null". */
+    public RowPrinter text(String s) {
+        if (s == null) s = "null";
+        int n = s.length();
+        if (n > buffer.length - length) {
+            flush();
+            if (n > buffer.length) {
+                out.print(s);
+                return this;
+            }
+        }
+        s.getChars(0, n, buffer, length);
+        length += n;
+        return this;
+    }
+
+    /** {@code %s} of any value, e.g. an enum constant. */
+    public RowPrinter text(Object value) {
+        return text(String.valueOf(value));
+    }
+
+    public RowPrinter text(char c) {
+        if (length == buffer.length) flush();
+        buffer[length++] = c;
+        return this;
+    }
+
+    /** {@code %d}. */
+    public RowPrinter number(long v) {
+        // digits of a non-positive value, so Long.MIN_VALUE needs no special case
+        long n = v < 0 ? v : -v;
+        int start = digits.length;
+        do {
+            long q = n / 10;
+            digits[--start] = (char) (zero + (int) (q * 10 - n));
+            n = q;
+        } while (n != 0);
+        if (buffer.length - length < digits.length + 1) flush();
+        if (v < 0) buffer[length++] = '-';
+        System.arraycopy(digits, start, buffer, length, digits.length - start);
+        length += digits.length - start;
+        return this;
+    }
+
+    /**
+     * {@code %.2f}. Values with at most two decimals (every salary the application stores) are
+     * written from their cents; anything else goes through {@link String#format} so rounding
+     * stays identical.
+     */
+    public RowPrinter fixed2(double v) {
+        double cents = Math.rint(v * 100);
+        if (!(Math.abs(v) < EXACT_CENTS_LIMIT) || cents / 100 != v) {
+            return text(String.format(locale, "%.2f", v));
+        }
+        long c = Math.abs((long) cents);
+        if (Double.doubleToRawLongBits(v) < 0) text('-');
+        number(c / 100);
+        if (buffer.length - length < 3) flush();
+        int fraction = (int) (c % 100);
+        buffer[length++] = decimalSeparator;
+        buffer[length++] = (char) (zero + fraction / 10);
+        buffer[length++] = (char) (zero + fraction % 10);
+        return this;
+    }
+
+    /** {@code %n}. */
+    public RowPrinter newline() {
+        return text(lineSeparator);
+    }
+
+    /** Hands the buffered text to the stream and flushes it. */
+    public void flush() {
+        if (length > 0) {
+            out.append(CharBuffer.wrap(buffer, 0, length));
+            length = 0;
+        }
+        out.flush();
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.simpleuniversity.service;
+
+import org.example.simpleuniversity.model.LectorName;
+
+import java.util.List;
+
+/**
+ * One page of search hits ordered by (last name, first name, id). {@code next} is the keyset to
+ * continue from, or {@code null} when this is the last page.
+ */
+public record SearchPage(List<LectorName> hits, Cursor next) {
+
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    /**
+     * Position in the (last_name_norm, first_name_norm, id) order; the next page starts strictly after it.
+     */
+    public record Cursor(String lastNameNorm, String firstNameNorm, long id) {
+
+        // ids start at 1, so ("", "", 0) sorts before every row
+        public static final Cursor START = new Cursor("", "", 0);
+
+        public static Cursor after(LectorName hit) {
+            return new Cursor(hit.lastNameNorm(), hit.firstNameNorm(), hit.id());
+        }
+    }
+}
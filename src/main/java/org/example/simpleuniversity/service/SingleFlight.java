@@ -0,0 +1,126 @@
+package org.example.simpleuniversity.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Deduplicates identical reads that are in flight at the same time: the first caller for a key
+ * runs the read, callers arriving before it finishes block on its result (or its exception)
+ * instead of running their own. Nothing is cached; once the read returns, the next caller runs
+ * it again, so a waiter sees data at most as old as the read it joined.
+ * <p>
+ * A caller inside a transaction of its own always runs the read itself: the shared result could
+ * miss its uncommitted writes.
+ * <p>
+ * Every call is counted in {@value #REQUESTS}, tagged with the operation and
+ * {@code result=executed} or {@code result=coalesced}.
+ */
+@Component
+public class SingleFlight {
+
+    public static final String REQUESTS = "university.coalescing.requests";
+
+    private final MeterRegistry registry;
+    private final boolean enabled;
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    /** One read that can throw whatever the wrapped method throws. */
+    @FunctionalInterface
+    public interface Read {
+        Object run() throws Throwable;
+    }
+
+    public record OperationStats(String operation, long executed, long coalesced) {
+    }
+
+    private record Key(String operation, String tenant, String argument) {
+    }
+
+    public SingleFlight(MeterRegistry registry, @Value("${university.coalescing.enabled:true}") boolean enabled) {
+        this.registry = registry;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Runs {@code read}, or waits for the identical one already running for the same
+     * {@code operation}, {@code tenant} and {@code argument}, and returns its result.
+     */
+    public Object execute(String operation, String tenant, String argument, Read read) throws Throwable {
+        if (!enabled || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return read.run();
+        }
+        Key key = new Key(operation, tenant, argument);
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            counter(operation, "coalesced").increment();
+            OperationEvent.coalesced();
+            return await(running);
+        }
+        counter(operation, "executed").increment();
+        try {
+            Object result = read.run();
+            inFlight.remove(key, mine);
+            mine.complete(result);
+            return result;
+        } catch (Throwable t) {
+            inFlight.remove(key, mine);
+            mine.completeExceptionally(t);
+            throw t;
+        }
+    }
+
+    /** Executed and coalesced calls per operation since startup, by operation name. */
+    public List<OperationStats> stats() {
+        Map<String, long[]> counts = new TreeMap<>();
+        for (Counter c : registry.find(REQUESTS).counters()) {
+            long[] pair = counts.computeIfAbsent(c.getId().getTag("operation"), o -> new long[2]);
+            pair["coalesced".equals(c.getId().getTag("result")) ? 1 : 0] += (long) c.count();
+        }
+        List<OperationStats> stats = new ArrayList<>(counts.size());
+        counts.forEach((operation, pair) -> stats.add(new OperationStats(operation, pair[0], pair[1])));
+        return stats;
+    }
+
+    /** Reads currently running on behalf of one or more callers. */
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    private Counter counter(String operation, String result) {
+        return Counter.builder(REQUESTS)
+                .description("Coalescible reads, by whether they ran a query or joined one in flight")
+                .tag("operation", operation)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static Object await(CompletableFuture<Object> running) throws Throwable {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return running.get();
+                } catch (InterruptedException e) {
+                    // the read runs anyway; keep waiting for it and restore the flag afterwards
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    throw e.getCause();
+                }
+            }
+        } finally {
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package org.example.simpleuniversity.service;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Binary dump of the whole dataset, written and read through a {@link FileChannel} with one
+ * reusable direct buffer.
+ * <pre>
+ * "USNP" version:u8
+ * lectors:     (1:u8 id:i64 firstName:str lastName:str degree:i8 salary:f64 version:i64)* 0:u8
+ * departments: (1:u8 id:i64 name:str headId:i64 parentId:i64 version:i64)* 0:u8
+ * memberships: (1:u8 departmentId:i64 lectorId:i64)* 0:u8
+ * </pre>
+ * {@code str} is an i32 UTF-8 byte length followed by the bytes, -1 for null. A missing degree is
+ * -1 (otherwise the {@code Degree} ordinal), a missing head id, parent id or version is -1.
+ * Integers are big-endian. Version 1 files, written before departments had parents, are still
+ * read; their departments have no parent.
+ */
+public final class SnapshotFile {
+
+    private static final byte[] MAGIC = {'U', 'S', 'N', 'P'};
+    private static final int VERSION = 2;
+    private static final int WITHOUT_PARENTS = 1;
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private SnapshotFile() {
+    }
+
+    public static Writer create(Path file) throws IOException {
+        return new Writer(FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING));
+    }
+
+    public static Reader open(Path file) throws IOException {
+        return new Reader(FileChannel.open(file, StandardOpenOption.READ), file);
+    }
+
+    /**
+     * Appends records section by section: lectors, then departments, then memberships; call
+     * {@link #endSection()} after each.
+     */
+    public static final class Writer implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        private Writer(FileChannel channel) throws IOException {
+            this.channel = channel;
+            buffer.put(MAGIC).put((byte) VERSION);
+        }
+
+        public void lector(long id, String firstName, String lastName, int degree, double salary, long version)
+                throws IOException {
+            ensure(1 + 8);
+            buffer.put((byte) 1).putLong(id);
+            putString(firstName);
+            putString(lastName);
+            ensure(1 + 8 + 8);
+            buffer.put((byte) degree).putDouble(salary).putLong(version);
+        }
+
+        public void department(long id, String name, long headId, long parentId, long version) throws IOException {
+            ensure(1 + 8);
+            buffer.put((byte) 1).putLong(id);
+            putString(name);
+            ensure(8 + 8 + 8);
+            buffer.putLong(headId).putLong(parentId).putLong(version);
+        }
+
+        public void membership(long departmentId, long lectorId) throws IOException {
+            ensure(1 + 8 + 8);
+            buffer.put((byte) 1).putLong(departmentId).putLong(lectorId);
+        }
+
+        public void endSection() throws IOException {
+            ensure(1);
+            buffer.put((byte) 0);
+        }
+
+        /** Bytes handed to the channel so far. */
+        public long position() throws IOException {
+            return channel.position() + buffer.position();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+                channel.force(false);
+            } finally {
+                channel.close();
+            }
+        }
+
+        private void putString(String s) throws IOException {
+            if (s == null) {
+                ensure(4);
+                buffer.putInt(-1);
+                return;
+            }
+            byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+            ensure(4 + utf8.length);
+            buffer.putInt(utf8.length).put(utf8);
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (bytes > BUFFER_SIZE) throw new IOException("Value too large for snapshot: " + bytes + " bytes");
+            if (buffer.remaining() < bytes) flush();
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) channel.write(buffer);
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Reads the sections back in the order they were written: call {@link #nextLector()} until it
+     * returns false, then {@link #nextDepartment()}, then {@link #nextMembership()}. The current
+     * record is exposed as public fields that each call overwrites, so no object is allocated per row.
+     */
+    public static final class Reader implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private final int fileVersion;
+
+        public long id;
+        public String firstName;
+        public String lastName;
+        public int degree;
+        public double salary;
+        public long version;
+        public String name;
+        public long headId;
+        public long parentId;
+        public long departmentId;
+        public long lectorId;
+
+        private Reader(FileChannel channel, Path file) throws IOException {
+            this.channel = channel;
+            buffer.limit(0);
+            byte[] magic = new byte[MAGIC.length];
+            try {
+                ensure(MAGIC.length + 1);
+                buffer.get(magic);
+                fileVersion = buffer.get();
+                if (!Arrays.equals(magic, MAGIC) || fileVersion < WITHOUT_PARENTS || fileVersion > VERSION) {
+                    throw new IOException("Not a university snapshot: " + file);
+                }
+            } catch (IOException e) {
+                channel.close();
+                throw e instanceof EOFException ? new IOException("Not a university snapshot: " + file, e) : e;
+            }
+        }
+
+        public boolean nextLector() throws IOException {
+            if (!hasRecord()) return false;
+            ensure(8);
+            id = buffer.getLong();
+            firstName = getString();
+            lastName = getString();
+            ensure(1 + 8 + 8);
+            degree = buffer.get();
+            salary = buffer.getDouble();
+            version = buffer.getLong();
+            return true;
+        }
+
+        public boolean nextDepartment() throws IOException {
+            if (!hasRecord()) return false;
+            ensure(8);
+            id = buffer.getLong();
+            name = getString();
+            ensure(8 + 8 + 8);
+            headId = buffer.getLong();
+            parentId = fileVersion > WITHOUT_PARENTS ? buffer.getLong() : -1;
+            version = buffer.getLong();
+            return true;
+        }
+
+        public boolean nextMembership() throws IOException {
+            if (!hasRecord()) return false;
+            ensure(8 + 8);
+            departmentId = buffer.getLong();
+            lectorId = buffer.getLong();
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+
+        private boolean hasRecord() throws IOException {
+            ensure(1);
+            return buffer.get() != 0;
+        }
+
+        private String getString() throws IOException {
+            ensure(4);
+            int length = buffer.getInt();
+            if (length < 0) return null;
+            ensure(length);
+            byte[] utf8 = new byte[length];
+            buffer.get(utf8);
+            return new String(utf8, StandardCharsets.UTF_8);
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() >= bytes) return;
+            if (bytes > BUFFER_SIZE) throw new IOException("Corrupt snapshot: record of " + bytes + " bytes");
+            buffer.compact();
+            while (buffer.position() < bytes) {
+                if (channel.read(buffer) < 0) throw new EOFException("Truncated snapshot");
+            }
+            buffer.flip();
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package org.example.simpleuniversity.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.simpleuniversity.model.Degree;
+import org.example.simpleuniversity.model.Names;
+import org.example.simpleuniversity.repository.DepartmentRepository;
+import org.example.simpleuniversity.repository.LectorCardRepository;
+import org.example.simpleuniversity.repository.LectorRepository;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code snapshot save} / {@code snapshot load}: the current tenant's lectors, departments and
+ * memberships dumped to a {@link SnapshotFile} and restored in place of that tenant's data; other
+ * universities are not touched. Saving streams each table through a forward-only cursor; loading
+ * replays the file through JDBC batches ({@link JdbcBatch}), so neither side holds more than a
+ * batch in memory.
+ */
+@Service
+@RequiredArgsConstructor
+public class SnapshotService {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private static final String INSERT_LECTOR = """
+            INSERT INTO lector (id, tenant_id, first_name, last_name, first_name_norm, last_name_norm, degree, salary, version)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)""";
+    private static final int[] LECTOR_TYPES = {Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.VARCHAR, Types.VARCHAR, Types.DOUBLE, Types.BIGINT};
+    private static final String INSERT_DEPARTMENT = """
+            INSERT INTO department (id, tenant_id, name, name_norm, head_id, version) VALUES (?, ?, ?, ?, ?, ?)""";
+    private static final int[] DEPARTMENT_TYPES = {Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.BIGINT, Types.BIGINT};
+    private static final String INSERT_MEMBERSHIP = "INSERT INTO department_lector (department_id, lector_id) VALUES (?, ?)";
+    private static final int[] MEMBERSHIP_TYPES = {Types.BIGINT, Types.BIGINT};
+
+    private final JdbcTemplate jdbc;
+    private final LectorCardRepository cardRepository;
+    private final DepartmentRepository departmentRepository;
+    private final LectorRepository lectorRepository;
+    private final LectorNameIndex nameIndex;
+    private final TenantContext tenants;
+
+    public record SnapshotSummary(Path file, long lectors, long departments, long memberships,
+                                  long bytes, Duration elapsed) {
+    }
+
+    /**
+     * Writes the current tenant's dataset as of one consistent read, overwriting {@code file}.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public SnapshotSummary save(Path file) {
+        Instant started = Instant.now();
+        String tenant = tenants.current();
+        long[] counts = new long[3];
+        try (SnapshotFile.Writer out = SnapshotFile.create(file)) {
+            scan("""
+                    SELECT id, first_name, last_name, degree, salary, version FROM lector
+                    WHERE tenant_id = ? ORDER BY id""", tenant, rs -> {
+                String degree = rs.getString(4);
+                out.lector(rs.getLong(1), rs.getString(2), rs.getString(3),
+                        degree == null ? -1 : Degree.valueOf(degree).ordinal(),
+                        rs.getDouble(5), nullable(rs, 6));
+                counts[0]++;
+            });
+            out.endSection();
+            scan("""
+                    SELECT id, name, head_id, parent_id, version FROM department
+                    WHERE tenant_id = ? ORDER BY id""", tenant, rs -> {
+                out.department(rs.getLong(1), rs.getString(2), nullable(rs, 3), nullable(rs, 4), nullable(rs, 5));
+                counts[1]++;
+            });
+            out.endSection();
+            scan("""
+                    SELECT dl.department_id, dl.lector_id FROM department_lector dl
+                    JOIN department d ON d.id = dl.department_id
+                    WHERE d.tenant_id = ? ORDER BY dl.department_id, dl.lector_id""", tenant, rs -> {
+                out.membership(rs.getLong(1), rs.getLong(2));
+                counts[2]++;
+            });
+            out.endSection();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Snapshot to " + file + " failed", e);
+        }
+        return summary(file, counts, started);
+    }
+
+    /**
+     * Replaces the current tenant's lectors, departments and memberships with the contents of
+     * {@code file} in one transaction, keeping the snapshot's ids. Afterwards the identity columns
+     * continue above the restored ids, lector ids also above archived lectors and salary history
+     * so a dropped lector's id is never handed out again, the tenant's lector cards and department
+     * closure are rebuilt, restored salaries are recorded in the salary history, and lectors or
+     * departments that the snapshot dropped get tombstones so other instances'
+     * {@link ChangePoller}s forget them. Loading into a tenant other than the one saved fails if
+     * another university holds any of the snapshot's ids.
+     */
+    @Transactional
+    public SnapshotSummary load(Path file) {
+        if (!Files.isRegularFile(file)) {
+            throw new IllegalArgumentException("No such snapshot file: " + file);
+        }
+        Instant started = Instant.now();
+        String tenant = tenants.current();
+        long[] counts = new long[3];
+        try (SnapshotFile.Reader in = SnapshotFile.open(file)) {
+            long tombstoneMark = jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) FROM tombstone", Long.class);
+            jdbc.update("INSERT INTO tombstone (entity_type, entity_id, tenant_id) "
+                    + "SELECT 'lector', id, tenant_id FROM lector WHERE tenant_id = ?", tenant);
+            jdbc.update("INSERT INTO tombstone (entity_type, entity_id, tenant_id) "
+                    + "SELECT 'department', id, tenant_id FROM department WHERE tenant_id = ?", tenant);
+            jdbc.update("DELETE FROM lector_card WHERE tenant_id = ?", tenant);
+            jdbc.update("DELETE FROM department_lector "
+                    + "WHERE department_id IN (SELECT id FROM department WHERE tenant_id = ?)", tenant);
+            jdbc.update("DELETE FROM department_closure "
+                    + "WHERE descendant_id IN (SELECT id FROM department WHERE tenant_id = ?)", tenant);
+            jdbc.update("UPDATE department SET parent_id = NULL WHERE tenant_id = ? AND parent_id IS NOT NULL", tenant);
+            jdbc.update("DELETE FROM department WHERE tenant_id = ?", tenant);
+            jdbc.update("DELETE FROM lector WHERE tenant_id = ?", tenant);
+
+            Degree[] degrees = Degree.values();
+            JdbcBatch lectors = new JdbcBatch(jdbc, INSERT_LECTOR, LECTOR_TYPES);
+            while (in.nextLector()) {
+                lectors.add(in.id, tenant, in.firstName, in.lastName,
+                        Names.normalize(in.firstName), Names.normalize(in.lastName),
+                        in.degree < 0 ? null : degrees[in.degree].name(), in.salary, orNull(in.version));
+            }
+            counts[0] = lectors.finish();
+
+            // parents are linked once every department exists: a child may precede its parent
+            JdbcBatch departments = new JdbcBatch(jdbc, INSERT_DEPARTMENT, DEPARTMENT_TYPES);
+            List<Object[]> parents = new ArrayList<>();
+            while (in.nextDepartment()) {
+                departments.add(in.id, tenant, in.name, in.name == null ? null : Names.normalize(in.name),
+                        orNull(in.headId), orNull(in.version));
+                if (in.parentId >= 0) parents.add(new Object[]{in.parentId, in.id});
+            }
+            counts[1] = departments.finish();
+            if (!parents.isEmpty()) {
+                jdbc.batchUpdate("UPDATE department SET parent_id = ? WHERE id = ?", parents,
+                        new int[]{Types.BIGINT, Types.BIGINT});
+                rebuildClosure(tenant);
+            }
+
+            JdbcBatch memberships = new JdbcBatch(jdbc, INSERT_MEMBERSHIP, MEMBERSHIP_TYPES);
+            while (in.nextMembership()) {
+                memberships.add(in.departmentId, in.lectorId);
+            }
+            counts[2] = memberships.finish();
+
+            // a restored row is not deleted; drop the tombstones written above for its id
+            jdbc.update("DELETE FROM tombstone WHERE id > ? AND entity_type = 'lector' "
+                    + "AND entity_id IN (SELECT id FROM lector WHERE tenant_id = ?)", tombstoneMark, tenant);
+            jdbc.update("DELETE FROM tombstone WHERE id > ? AND entity_type = 'department' "
+                    + "AND entity_id IN (SELECT id FROM department WHERE tenant_id = ?)", tombstoneMark, tenant);
+            cardRepository.insertTenantCards(tenant);
+            // salaries that differ from the history, and lectors the snapshot dropped, get new rows;
+            // so do memberships the snapshot added or dropped
+            lectorRepository.recordSalaryHistory();
+            departmentRepository.recordMembershipHistory();
+            // last: H2 commits on DDL, PostgreSQL keeps it in the transaction
+            restartIdentity("lector", lectorRepository.firstUnusedId());
+            restartIdentity("department", departmentRepository.firstUnusedId());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Snapshot load from " + file + " failed", e);
+        } catch (DuplicateKeyException e) {
+            throw new IllegalArgumentException("Snapshot " + file + " uses ids that belong to another university", e);
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                nameIndex.invalidate(tenant);
+            }
+        });
+        return summary(file, counts, started);
+    }
+
+    // department_closure from parent_id, one level per statement: the links of depth n + 1 are
+    // the parent of each depth-n ancestor. Parents that form a cycle show up as a department
+    // linked to itself, one level before the walk would repeat a link.
+    private void rebuildClosure(String tenant) {
+        int inserted = jdbc.update("""
+                INSERT INTO department_closure (ancestor_id, descendant_id, depth)
+                SELECT parent_id, id, 1 FROM department WHERE tenant_id = ? AND parent_id IS NOT NULL""", tenant);
+        for (int depth = 1; inserted > 0; depth++) {
+            Integer cycles = jdbc.queryForObject("""
+                    SELECT COUNT(*) FROM department_closure c JOIN department d ON d.id = c.descendant_id
+                    WHERE c.ancestor_id = c.descendant_id AND d.tenant_id = ?""", Integer.class, tenant);
+            if (cycles != null && cycles > 0) {
+                throw new IllegalArgumentException("Snapshot department parents form a cycle");
+            }
+            inserted = jdbc.update("""
+                    INSERT INTO department_closure (ancestor_id, descendant_id, depth)
+                    SELECT d.parent_id, c.descendant_id, c.depth + 1 FROM department_closure c
+                    JOIN department d ON d.id = c.ancestor_id
+                    WHERE c.depth = ? AND d.parent_id IS NOT NULL AND d.tenant_id = ?""", depth, tenant);
+        }
+    }
+
+    private void restartIdentity(String table, long next) {
+        jdbc.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+    }
+
+    private interface RowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+    }
+
+    // forward-only streaming scan; honoured by PostgreSQL because the transaction is not auto-commit
+    private void scan(String sql, String tenant, RowWriter writer) {
+        jdbc.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setString(1, tenant);
+            ps.setFetchSize(FETCH_SIZE);
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            try {
+                writer.write(rs);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static long nullable(ResultSet rs, int column) throws SQLException {
+        long v = rs.getLong(column);
+        return rs.wasNull() ? -1 : v;
+    }
+
+    private static Long orNull(long v) {
+        return v < 0 ? null : v;
+    }
+
+    private static SnapshotSummary summary(Path file, long[] counts, Instant started) {
+        long bytes;
+        try {
+            bytes = Files.size(file);
+        } catch (IOException e) {
+            bytes = -1;
+        }
+        return new SnapshotSummary(file, counts[0], counts[1], counts[2], bytes, Duration.between(started, Instant.now()));
+    }
+}
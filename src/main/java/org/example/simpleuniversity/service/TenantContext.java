@@ -0,0 +1,76 @@
+package org.example.simpleuniversity.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * The university (tenant) the calling thread works on. Hibernate opens every session for it
+ * ({@code TenantConfig}), so entity loads and JPQL are filtered on {@code tenant_id} and inserts
+ * are stamped with it; the JDBC and R2DBC paths bind {@link #current()} themselves. Switch
+ * tenants between transactions, never inside one: a session keeps the tenant it was opened for.
+ * <p>
+ * Tenant ids are short lower-case codes. Rows written before multi-tenancy belong to
+ * {@code default}, which is also what a thread that never chose a tenant works on.
+ */
+@Component
+public class TenantContext {
+
+    private static final Pattern ID = Pattern.compile("[a-z0-9][a-z0-9_-]{0,63}");
+
+    private final String defaultTenant;
+    private final ThreadLocal<String> current = new ThreadLocal<>();
+
+    public TenantContext(@Value("${university.tenant.default:default}") String defaultTenant) {
+        this.defaultTenant = normalize(defaultTenant);
+    }
+
+    public String current() {
+        String tenant = current.get();
+        return tenant != null ? tenant : defaultTenant;
+    }
+
+    public String defaultTenant() {
+        return defaultTenant;
+    }
+
+    /**
+     * Makes {@code tenant} the calling thread's tenant until the next call; returns the
+     * normalized id.
+     */
+    public String use(String tenant) {
+        String id = normalize(tenant);
+        current.set(id);
+        return id;
+    }
+
+    /**
+     * Runs the calling thread as {@code tenant} until the returned scope is closed, then
+     * restores the previous tenant.
+     */
+    public Scope as(String tenant) {
+        String previous = current.get();
+        current.set(normalize(tenant));
+        return () -> {
+            if (previous == null) current.remove();
+            else current.set(previous);
+        };
+    }
+
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /** Lower-cases and checks a tenant id: letters, digits, '-' and '_', at most 64 characters. */
+    public static String normalize(String tenant) {
+        String id = tenant == null ? "" : tenant.trim().toLowerCase(Locale.ROOT);
+        if (!ID.matcher(id).matches()) {
+            throw new IllegalArgumentException("Invalid university id: \"" + tenant
+                    + "\" (letters, digits, '-' and '_', at most 64 characters)");
+        }
+        return id;
+    }
+}
@@ -0,0 +1,295 @@
+package org.example.simpleuniversity.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * In-process span tracing of CLI commands. {@link #command(String)} opens the root span of a
+ * trace on the calling thread; {@link #span(String, String)} opens a child of the current span,
+ * and is a no-op outside a command, so background work (pollers, tests, benchmarks) records
+ * nothing. Finished traces are kept in memory, optionally appended to a JSON-lines file, and
+ * logged as a span tree when a command takes longer than {@code university.tracing.slow-command-ms}.
+ * <p>
+ * Ids and fields follow OpenTelemetry's span model (trace id, span id, parent span id, kind,
+ * start, duration, attributes), so the file can be converted for any trace viewer.
+ */
+@Component
+public class Tracer {
+
+    private static final Logger log = LoggerFactory.getLogger(Tracer.class);
+
+    public static final String COMMAND = "command";
+    public static final String DISPATCH = "dispatch";
+    public static final String SERVICE = "service";
+    public static final String REPOSITORY = "repository";
+    public static final String FLUSH = "flush";
+    public static final String JDBC = "jdbc";
+
+    private static final int MAX_ATTRIBUTE_LENGTH = 500;
+
+    private final boolean enabled;
+    private final long slowCommandNanos;
+    private final Path file;
+    private final int retained;
+
+    private final ThreadLocal<Span> current = new ThreadLocal<>();
+    private final Deque<Span> finished = new ArrayDeque<>();
+
+    public Tracer(@Value("${university.tracing.enabled:true}") boolean enabled,
+                  @Value("${university.tracing.slow-command-ms:500}") long slowCommandMs,
+                  @Value("${university.tracing.file:}") String file,
+                  @Value("${university.tracing.retained:50}") int retained) {
+        this.enabled = enabled;
+        this.slowCommandNanos = slowCommandMs * 1_000_000;
+        this.file = file.isBlank() ? null : Path.of(file);
+        this.retained = Math.max(retained, 1);
+    }
+
+    /**
+     * Opens the root span of a new trace for one command line; closing it finishes the trace.
+     */
+    public Span command(String line) {
+        if (!enabled || current.get() != null) return Span.NOOP;
+        Span root = new Span(this, null, COMMAND, line, newId(16));
+        current.set(root);
+        return root;
+    }
+
+    /**
+     * Opens a child of the current span, or returns {@link Span#NOOP} when no command is traced.
+     * The first child of a command is preceded by a {@value #DISPATCH} span covering the time
+     * the command spent before reaching it (parsing and dispatch in the CLI).
+     */
+    public Span span(String kind, String name) {
+        Span parent = current.get();
+        if (parent == null) return Span.NOOP;
+        if (parent.parent == null && parent.children.isEmpty()) {
+            Span dispatch = new Span(this, parent, DISPATCH, "parse and dispatch", parent.traceId);
+            dispatch.startNanos = parent.startNanos;
+            dispatch.durationNanos = System.nanoTime() - parent.startNanos;
+        }
+        Span span = new Span(this, parent, kind, name, parent.traceId);
+        current.set(span);
+        return span;
+    }
+
+    /** Whether the calling thread is inside a traced command. */
+    public boolean isTracing() {
+        return current.get() != null;
+    }
+
+    /** The most recently finished command, if any. */
+    public synchronized Optional<Span> last() {
+        return Optional.ofNullable(finished.peekLast());
+    }
+
+    /** Finished commands, oldest first; at most {@code university.tracing.retained} of them. */
+    public synchronized List<Span> recent() {
+        return List.copyOf(finished);
+    }
+
+    private void end(Span span) {
+        span.durationNanos = System.nanoTime() - span.startNanos;
+        current.set(span.parent);
+        if (span.parent == null) {
+            finish(span);
+        }
+    }
+
+    private void finish(Span root) {
+        synchronized (this) {
+            finished.addLast(root);
+            while (finished.size() > retained) finished.removeFirst();
+        }
+        if (root.durationNanos >= slowCommandNanos) {
+            log.warn("Slow command ({} ms):\n{}", root.durationNanos / 1_000_000, root.tree());
+        }
+        if (file != null) {
+            try {
+                Files.writeString(file, root.toJsonLines(), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                log.warn("Could not append trace to {}: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    private static String newId(int bytes) {
+        StringBuilder id = new StringBuilder(bytes * 2);
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        for (int i = 0; i < bytes; i++) {
+            id.append(Character.forDigit(rnd.nextInt(16), 16)).append(Character.forDigit(rnd.nextInt(16), 16));
+        }
+        return id.toString();
+    }
+
+    /**
+     * One timed operation. Not thread-safe: a span belongs to the thread that opened it.
+     */
+    public static final class Span implements AutoCloseable {
+
+        /** Returned when nothing is traced; closing it does nothing. */
+        public static final Span NOOP = new Span(null, null, "", "", "");
+
+        private final Tracer tracer;
+        private final Span parent;
+        private final String kind;
+        private final String name;
+        private final String traceId;
+        private final String spanId;
+        private final long startEpochMicros;
+        private final Map<String, String> attributes = new LinkedHashMap<>();
+        private final List<Span> children = new ArrayList<>();
+        private long startNanos;
+        private long durationNanos = -1;
+
+        private Span(Tracer tracer, Span parent, String kind, String name, String traceId) {
+            this.tracer = tracer;
+            this.parent = parent;
+            this.kind = kind;
+            this.name = name;
+            this.traceId = traceId;
+            this.spanId = tracer == null ? "" : newId(8);
+            this.startEpochMicros = tracer != null && parent == null ? currentEpochMicros() : 0;
+            this.startNanos = System.nanoTime();
+            if (parent != null) parent.children.add(this);
+        }
+
+        public Span attribute(String key, Object value) {
+            if (tracer != null && value != null) {
+                String s = value.toString();
+                attributes.put(key, s.length() > MAX_ATTRIBUTE_LENGTH ? s.substring(0, MAX_ATTRIBUTE_LENGTH) + "…" : s);
+            }
+            return this;
+        }
+
+        public Span error(Throwable t) {
+            return attribute("error", t.getClass().getSimpleName() + ": " + t.getMessage());
+        }
+
+        public String kind() {
+            return kind;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public String traceId() {
+            return traceId;
+        }
+
+        public Map<String, String> attributes() {
+            return attributes;
+        }
+
+        public List<Span> children() {
+            return children;
+        }
+
+        public long durationNanos() {
+            return durationNanos;
+        }
+
+        /** Duration minus the children's durations. */
+        public long selfNanos() {
+            long self = durationNanos;
+            for (Span child : children) self -= child.durationNanos;
+            return self;
+        }
+
+        @Override
+        public void close() {
+            if (tracer != null && durationNanos < 0) tracer.end(this);
+        }
+
+        /**
+         * The span and its descendants, one per line: duration, self time, kind, name and
+         * attributes, indented by depth. Repeated JDBC statements show up as repeated lines,
+         * which is what an N+1 looks like.
+         */
+        public String tree() {
+            StringBuilder out = new StringBuilder();
+            appendTree(out, 0);
+            return out.toString();
+        }
+
+        private void appendTree(StringBuilder out, int depth) {
+            out.append(String.format("%9.3f ms %9.3f self  ", durationNanos / 1e6, selfNanos() / 1e6));
+            out.append("  ".repeat(depth)).append(kind).append(' ').append(name);
+            attributes.forEach((k, v) -> out.append(" [").append(k).append('=').append(v).append(']'));
+            out.append('\n');
+            for (Span child : children) child.appendTree(out, depth + 1);
+        }
+
+        private String toJsonLines() {
+            StringBuilder out = new StringBuilder();
+            appendJson(out, startEpochMicros * 1000 - startNanos);
+            return out.toString();
+        }
+
+        // epochOffset converts this trace's nanoTime readings to epoch nanoseconds
+        private void appendJson(StringBuilder out, long epochOffset) {
+            out.append("{\"traceId\":\"").append(traceId)
+                    .append("\",\"spanId\":\"").append(spanId)
+                    .append("\",\"parentSpanId\":\"").append(parent != null ? parent.spanId : "")
+                    .append("\",\"kind\":\"").append(kind)
+                    .append("\",\"name\":");
+            json(out, name);
+            out.append(",\"startTimeUnixNano\":").append(epochOffset + startNanos)
+                    .append(",\"durationNano\":").append(durationNanos)
+                    .append(",\"attributes\":{");
+            boolean first = true;
+            for (Map.Entry<String, String> a : attributes.entrySet()) {
+                if (!first) out.append(',');
+                json(out, a.getKey());
+                out.append(':');
+                json(out, a.getValue());
+                first = false;
+            }
+            out.append("}}\n");
+            for (Span child : children) child.appendJson(out, epochOffset);
+        }
+
+        private static void json(StringBuilder out, String s) {
+            out.append('"');
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                switch (c) {
+                    case '"' -> out.append("\\\"");
+                    case '\\' -> out.append("\\\\");
+                    case '\n' -> out.append("\\n");
+                    case '\r' -> out.append("\\r");
+                    case '\t' -> out.append("\\t");
+                    default -> {
+                        if (c < 0x20) out.append(String.format("\\u%04x", (int) c));
+                        else out.append(c);
+                    }
+                }
+            }
+            out.append('"');
+        }
+
+        private static long currentEpochMicros() {
+            Instant now = Instant.now();
+            return now.getEpochSecond() * 1_000_000 + now.getNano() / 1000;
+        }
+    }
+}
@@ -4,15 +4,39 @@ import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
 import org.example.simpleuniversity.model.Degree;
 import org.example.simpleuniversity.model.Department;
+import org.example.simpleuniversity.model.DepartmentSummary;
 import org.example.simpleuniversity.model.Lector;
+import org.example.simpleuniversity.model.LectorCard;
+import org.example.simpleuniversity.model.LectorName;
+import org.example.simpleuniversity.model.LectorSummary;
+import org.example.simpleuniversity.model.Names;
+import org.example.simpleuniversity.model.Tombstone;
 import org.example.simpleuniversity.repository.DepartmentRepository;
+import org.example.simpleuniversity.repository.LectorCardRepository;
 import org.example.simpleuniversity.repository.LectorRepository;
+import org.example.simpleuniversity.repository.TombstoneRepository;
+import org.hibernate.Hibernate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,20 +45,37 @@ import java.util.stream.Collectors;
 public class UniversityService {
     private final DepartmentRepository departmentRepository;
     private final LectorRepository lectorRepository;
+    private final LectorCardRepository lectorCardRepository;
+    private final TombstoneRepository tombstoneRepository;
+    private final LectorNameIndex nameIndex;
+    private final ApplicationEventPublisher events;
+    private final TenantContext tenants;
+    private final ArchiveService archive;
 
+    private static final int LECTOR_KEY_CACHE_SIZE = 1024;
+    // one cache per tenant: the same key names different lectors in different universities
+    private final Map<String, LectorKeyCache> lectorKeys = new ConcurrentHashMap<>();
+
+    public static final int MAX_SEARCH_PAGE_SIZE = 500;
+    public static final int MAX_FUZZY_RESULTS = 100;
+
+    @Coalesced
     public String getHeadOf(String deptName) {
         Department d = departmentRepository.findByNameIgnoreCase(deptName)
                 .orElseThrow(() -> new IllegalArgumentException("No such department"));
         return d.getHead().getFirstName() + " " + d.getHead().getLastName();
     }
 
+    // read-only: a coalesced result is handed to every waiting caller
+    @Coalesced
     public Map<Degree, Long> getStatistics(String deptName) {
-        return departmentRepository.findByNameIgnoreCase(deptName)
+        return Collections.unmodifiableMap(departmentRepository.findByNameIgnoreCase(deptName)
                 .orElseThrow(() -> new IllegalArgumentException("No such department"))
                 .getLectors().stream()
-                .collect(Collectors.groupingBy(Lector::getDegree, Collectors.counting()));
+                .collect(Collectors.groupingBy(Lector::getDegree, Collectors.counting())));
     }
 
+    @Coalesced
     public double getAverageSalary(String deptName) {
         return departmentRepository.findByNameIgnoreCase(deptName)
                 .orElseThrow(() -> new IllegalArgumentException("No such department"))
@@ -43,12 +84,85 @@ public class UniversityService {
                 .average().orElse(0.0);
     }
 
+    @Coalesced
     public long getEmployeeCount(String deptName) {
         return departmentRepository.findByNameIgnoreCase(deptName)
                 .orElseThrow(() -> new IllegalArgumentException("No such department"))
                 .getLectors().size();
     }
 
+    /**
+     * Lectors per degree in {@code deptName} at the end of {@code date}: the members recorded in
+     * {@code department_lector_history} for that day, each with the degree {@code salary_history}
+     * holds for it. Dates are in the system time zone.
+     */
+    @Coalesced
+    public Map<Degree, Long> getStatisticsAsOf(String deptName, LocalDate date) {
+        Map<Degree, Long> stats = new EnumMap<>(Degree.class);
+        for (Object[] row : totalsAsOf(deptName, date)) {
+            if (row[0] != null) {
+                stats.put(Degree.valueOf((String) row[0]), ((Number) row[1]).longValue());
+            }
+        }
+        return Collections.unmodifiableMap(stats);
+    }
+
+    /**
+     * Average salary at the end of {@code date} over the same members as
+     * {@link #getStatisticsAsOf}.
+     */
+    @Coalesced
+    public double getAverageSalaryAsOf(String deptName, LocalDate date) {
+        long count = 0;
+        double total = 0;
+        for (Object[] row : totalsAsOf(deptName, date)) {
+            count += ((Number) row[1]).longValue();
+            total += ((Number) row[2]).doubleValue();
+        }
+        return count == 0 ? 0.0 : total / count;
+    }
+
+    private List<Object[]> totalsAsOf(String deptName, LocalDate date) {
+        Department d = departmentRepository.findByNameIgnoreCase(deptName)
+                .orElseThrow(() -> new IllegalArgumentException("No such department"));
+        return departmentRepository.totalsBefore(d.getId(),
+                date.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    /**
+     * Lectors per degree in {@code deptKey} and every department below it; a lector who belongs to
+     * several of them is counted once. One aggregate query over {@code department_closure}.
+     */
+    @Coalesced
+    public Map<Degree, Long> getSubtreeStatistics(String deptKey) {
+        Map<Degree, Long> stats = new EnumMap<>(Degree.class);
+        for (Object[] row : departmentRepository.subtreeTotals(findDepartment(deptKey).getId())) {
+            if (row[0] != null) {
+                stats.put(Degree.valueOf((String) row[0]), ((Number) row[1]).longValue());
+            }
+        }
+        return Collections.unmodifiableMap(stats);
+    }
+
+    @Coalesced
+    public double getSubtreeAverageSalary(String deptKey) {
+        long count = 0;
+        double total = 0;
+        for (Object[] row : departmentRepository.subtreeTotals(findDepartment(deptKey).getId())) {
+            count += ((Number) row[1]).longValue();
+            total += ((Number) row[2]).doubleValue();
+        }
+        return count == 0 ? 0.0 : total / count;
+    }
+
+    @Coalesced
+    public long getSubtreeEmployeeCount(String deptKey) {
+        return departmentRepository.subtreeTotals(findDepartment(deptKey).getId()).stream()
+                .mapToLong(row -> ((Number) row[1]).longValue())
+                .sum();
+    }
+
+    // Unbounded and unordered; interactive callers should page through searchLectors instead.
     public String globalSearch(String template) {
         return lectorRepository.findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(template, template)
                 .stream()
@@ -56,6 +170,32 @@ public class UniversityService {
                 .collect(Collectors.joining(", "));
     }
 
+    /**
+     * Lectors whose first or last name contains {@code template}, one page at a time. Start with
+     * {@link SearchPage.Cursor#START} and pass {@link SearchPage#next()} to get the following page;
+     * the page size is capped at {@link #MAX_SEARCH_PAGE_SIZE}.
+     */
+    public SearchPage searchLectors(String template, SearchPage.Cursor after, int pageSize) {
+        int size = Math.max(1, Math.min(pageSize, MAX_SEARCH_PAGE_SIZE));
+        // one extra row tells whether another page exists without a count query
+        List<LectorName> rows = lectorRepository.searchNamesAfter(
+                Names.containsPattern(template),
+                after.lastNameNorm(), after.firstNameNorm(), after.id(), Limit.of(size + 1));
+        if (rows.size() <= size) {
+            return new SearchPage(rows, null);
+        }
+        List<LectorName> hits = List.copyOf(rows.subList(0, size));
+        return new SearchPage(hits, SearchPage.Cursor.after(hits.get(size - 1)));
+    }
+
+    /**
+     * Lectors ranked by how closely their names match {@code query}, tolerating typos;
+     * answered from the in-memory {@link LectorNameIndex}.
+     */
+    public List<LectorNameIndex.Match> fuzzySearch(String query, int limit) {
+        return nameIndex.search(query, Math.min(limit, MAX_FUZZY_RESULTS));
+    }
+
     private Department findDepartment(String key) {
         if (key.matches("\\d+")) {
             return departmentRepository.findById(Long.parseLong(key))
@@ -65,29 +205,91 @@ public class UniversityService {
                 .orElseThrow(() -> new IllegalArgumentException("No such department name=" + key));
     }
 
+    /**
+     * Resolves a lector key: an id, "first last", or a single name token. Name keys are
+     * answered from the normalized-name indexes with LIMIT 1 queries ordered by id, so the
+     * same key always yields the same lector; recent resolutions are cached.
+     */
     private Lector findLector(String key) {
-        if (key.trim().contains(" ")) {
-            String[] parts = key.trim().split("\\s+", 2);
+        String trimmed = key.trim();
+        if (isNumeric(trimmed)) {
+            return lectorRepository.findById(Long.parseLong(trimmed))
+                    .orElseThrow(() -> new IllegalArgumentException("No such lector id=" + key));
+        }
+
+        String cacheKey = Names.normalize(trimmed);
+        LectorKeyCache keys = lectorKeys();
+        Long cachedId = keys.get(cacheKey);
+        if (cachedId != null) {
+            Optional<Lector> cached = lectorRepository.findById(cachedId)
+                    .filter(l -> matchesKey(l, cacheKey));
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+            keys.remove(cacheKey);
+        }
+
+        Lector resolved = resolveLector(trimmed, key);
+        keys.put(cacheKey, resolved.getId());
+        return resolved;
+    }
+
+    private LectorKeyCache lectorKeys() {
+        return lectorKeys.computeIfAbsent(tenants.current(), t -> new LectorKeyCache(LECTOR_KEY_CACHE_SIZE));
+    }
+
+    private Lector resolveLector(String trimmed, String key) {
+        int space = trimmed.indexOf(' ');
+        if (space >= 0) {
             return lectorRepository
-                    .findByFirstNameIgnoreCaseAndLastNameIgnoreCase(parts[0], parts[1])
-                    .orElseThrow(() -> new IllegalArgumentException(
-                            String.format("No lector with name \"%s\"", key)));
+                    .findFirstByFirstNameNormAndLastNameNormOrderByIdAsc(
+                            Names.normalize(trimmed.substring(0, space)),
+                            Names.normalize(trimmed.substring(space + 1)))
+                    .orElseThrow(() -> noSuchLector(String.format("No lector with name \"%s\"", key), trimmed));
         }
 
-        if (key.matches("\\d+")) {
-            return lectorRepository.findById(Long.parseLong(key))
-                    .orElseThrow(() -> new IllegalArgumentException("No such lector id=" + key));
+        String token = Names.normalize(trimmed);
+        Optional<Lector> byFirst = lectorRepository.findFirstByFirstNameNormOrderByIdAsc(token);
+        Optional<Lector> byLast = lectorRepository.findFirstByLastNameNormOrderByIdAsc(token);
+        if (byFirst.isPresent() || byLast.isPresent()) {
+            return byFirst.filter(f -> byLast.isEmpty() || f.getId() <= byLast.get().getId())
+                    .orElseGet(byLast::get);
         }
+        return lectorRepository
+                .findFirstByFirstNameNormContainingOrLastNameNormContainingOrderByIdAsc(token, token)
+                .orElseThrow(() -> noSuchLector("No such lector name contains=" + key, trimmed));
+    }
 
-        List<Lector> list = lectorRepository
-                .findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(key, key);
-        if (list.isEmpty()) {
-            throw new IllegalArgumentException("No such lector name contains=" + key);
+    private IllegalArgumentException noSuchLector(String message, String key) {
+        return new IllegalArgumentException(nameIndex.suggest(key)
+                .map(name -> String.format("%s; did you mean \"%s\"?", message, name))
+                .orElse(message));
+    }
+
+    private static boolean matchesKey(Lector l, String normalizedKey) {
+        String first = Names.normalize(l.getFirstName());
+        String last = Names.normalize(l.getLastName());
+        int space = normalizedKey.indexOf(' ');
+        if (space >= 0) {
+            return first.equals(normalizedKey.substring(0, space))
+                    && last.equals(normalizedKey.substring(space + 1).trim());
         }
-        return list.get(0);
+        return first.contains(normalizedKey) || last.contains(normalizedKey);
     }
 
+    private static boolean isNumeric(String key) {
+        if (key.isEmpty()) return false;
+        for (int i = 0; i < key.length(); i++) {
+            if (!Character.isDigit(key.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    @OptimisticRetry
     public Department createDepartment(String name, String headKey) {
+        if (departmentRepository.findByNameIgnoreCase(name).isPresent()) {
+            throw new IllegalArgumentException("Department already exists: " + name);
+        }
         Lector head = findLector(headKey);
 
         Department d = new Department();
@@ -96,32 +298,74 @@ public class UniversityService {
 
         d.getLectors().add(head);
 
-        return departmentRepository.save(d);
+        Department saved = departmentRepository.save(d);
+        departmentRepository.openMembership(saved.getId(), head.getId());
+        refreshCards(Arrays.asList(head.getId()));
+        return saved;
     }
 
 
+    @OptimisticRetry
     public void updateDepartmentHead(String deptKey, String headKey) {
         Department d = findDepartment(deptKey);
 
         Lector old = d.getHead();
         if (old != null) {
-            d.getLectors().remove(old);
+            removeMembership(d, old);
         }
 
         Lector newHead = findLector(headKey);
         d.setHead(newHead);
 
-        d.getLectors().add(newHead);
+        addMembership(d, newHead);
 
         departmentRepository.save(d);
+        refreshCards(Arrays.asList(old != null ? old.getId() : null, newHead.getId()));
     }
 
 
+    /**
+     * Puts {@code deptKey}, with everything below it, under {@code parentKey}, or at the top level
+     * when {@code parentKey} is null. Only the moved department's row and the closure links between
+     * the subtree and its old and new ancestors change; departments below it are not rewritten.
+     * Moves lock both departments and their ancestors first, so the cycle check cannot pass in
+     * two transactions that together would close a cycle.
+     */
+    @OptimisticRetry
+    public void moveDepartment(String deptKey, String parentKey) {
+        Department d = findDepartment(deptKey);
+        Department parent = parentKey == null ? null : findDepartment(parentKey);
+        departmentRepository.lockAncestors(d.getId(), parent == null ? d.getId() : parent.getId());
+        if (parent != null && (parent.getId().equals(d.getId())
+                || departmentRepository.countAncestorLinks(d.getId(), parent.getId()) > 0)) {
+            throw new IllegalArgumentException("Cannot move department " + d.getName() + " into its own subtree");
+        }
+        departmentRepository.detachSubtree(d.getId());
+        if (parent != null) {
+            departmentRepository.attachSubtree(d.getId(), parent.getId());
+        }
+        d.setParent(parent);
+        departmentRepository.save(d);
+    }
+
+    @OptimisticRetry
     public void deleteDepartment(String deptKey) {
         Department d = findDepartment(deptKey);
+        if (departmentRepository.existsByParentId(d.getId())) {
+            throw new IllegalArgumentException("Department " + d.getName() + " has sub-departments; move or delete them first");
+        }
+        List<Long> affected = new ArrayList<>(Hibernate.isInitialized(d.getLectors())
+                ? d.getLectors().stream().map(Lector::getId).toList()
+                : departmentRepository.findMemberIds(d.getId()));
+        if (d.getHead() != null) affected.add(d.getHead().getId());
+        departmentRepository.deleteClosure(d.getId());
+        departmentRepository.closeMemberships(d.getId());
         departmentRepository.delete(d);
+        tombstoneRepository.save(Tombstone.of(tenants.current(), Tombstone.DEPARTMENT, d.getId()));
+        refreshCards(affected);
     }
 
+    @OptimisticRetry
     public Lector createLector(String firstName, String lastName, Degree degree, double salary, List<String> deptKeys) {
         Lector l = new Lector();
         l.setFirstName(firstName);
@@ -134,15 +378,17 @@ public class UniversityService {
                 .collect(Collectors.toSet());
         l.setDepartments(deps);
         Lector saved = lectorRepository.save(l);
+        lectorRepository.recordSalaryHistory(List.of(saved.getId()));
+        lectorKeys().clear();
+        events.publishEvent(LectorChangedEvent.saved(tenants.current(), saved));
 
-        deps.forEach(d -> {
-            d.getLectors().add(saved);
-            departmentRepository.save(d);
-        });
+        deps.forEach(d -> addMembership(d, saved));
+        refreshCards(Arrays.asList(saved.getId()));
 
         return saved;
     }
 
+    @OptimisticRetry
     public void updateLector(String lectorKey, String field, String newValue) {
         Lector l = findLector(lectorKey);
         switch (field.toLowerCase()) {
@@ -161,23 +407,107 @@ public class UniversityService {
                 throw new IllegalArgumentException("Unknown field: " + field);
         }
         lectorRepository.save(l);
+        if (field.equalsIgnoreCase("salary") || field.equalsIgnoreCase("degree")) {
+            lectorRepository.recordSalaryHistory(List.of(l.getId()));
+        }
+        lectorKeys().clear();
+        events.publishEvent(LectorChangedEvent.saved(tenants.current(), l));
+        refreshCards(Arrays.asList(l.getId()));
     }
 
+    @OptimisticRetry
     public void deleteLector(String lectorKey) {
         Lector l = findLector(lectorKey);
-        l.getDepartments().forEach(d -> {
+        if (departmentRepository.existsByHeadId(l.getId())) {
+            throw new IllegalArgumentException("Lector " + l.getFirstName() + " " + l.getLastName()
+                    + " heads a department; change its head first");
+        }
+        Instant archivedAt = archive.archive(l.getId());
+        departmentRepository.endMemberships(l.getId(), archivedAt);
+        l.getDepartments().forEach(d -> removeMembership(d, l));
+        // the card goes with the lector row (ON DELETE CASCADE), after its version check
+        lectorRepository.delete(l);
+        OperationEvent.touched(1);
+        lectorRepository.endSalaryHistory(l.getId(), archivedAt);
+        tombstoneRepository.save(Tombstone.of(tenants.current(), Tombstone.LECTOR, l.getId()));
+        lectorKeys().clear();
+        events.publishEvent(LectorChangedEvent.deleted(tenants.current(), l));
+    }
+
+    /**
+     * The lector's card from the {@code lector_card} read model: one indexed lookup by id,
+     * "first last" or a single name token.
+     */
+    public LectorCard getLectorCard(String key) {
+        String trimmed = key.trim();
+        if (isNumeric(trimmed)) {
+            return lectorCardRepository.findById(Long.parseLong(trimmed))
+                    .orElseThrow(() -> new IllegalArgumentException("No such lector id=" + key));
+        }
+        int space = trimmed.indexOf(' ');
+        Optional<LectorCard> card = space >= 0
+                ? lectorCardRepository.findFirstByFirstNameNormAndLastNameNormOrderByLectorIdAsc(
+                        Names.normalize(trimmed.substring(0, space)), Names.normalize(trimmed.substring(space + 1)))
+                : lectorCardRepository.findFirstByNameToken(Names.normalize(trimmed));
+        return card.orElseThrow(() -> noSuchLector(String.format("No lector with name \"%s\"", key), trimmed));
+    }
+
+    // Membership changes go straight to department_lector unless the department's lector set is
+    // already in memory, so adding or removing one lector never loads a whole department. Either
+    // way the change is dated in department_lector_history.
+    private void addMembership(Department d, Lector l) {
+        if (Hibernate.isInitialized(d.getLectors())) {
+            d.getLectors().add(l);
+            departmentRepository.save(d);
+        } else {
+            departmentRepository.addMember(d.getId(), l.getId());
+        }
+        departmentRepository.openMembership(d.getId(), l.getId());
+    }
+
+    private void removeMembership(Department d, Lector l) {
+        if (Hibernate.isInitialized(d.getLectors())) {
             d.getLectors().remove(l);
             departmentRepository.save(d);
-        });
-        lectorRepository.delete(l);
+        } else {
+            departmentRepository.removeMember(d.getId(), l.getId());
+        }
+        departmentRepository.closeMembership(d.getId(), l.getId());
+    }
+
+    // Recomputes the read-model rows of the given lectors from this transaction's state, without
+    // locking the lectors: their own writes are ordered by @Version already. Another transaction
+    // refreshing one of these cards at the same time shows up as a card that moved past the
+    // version read here, or as a duplicate new card; this transaction then rolls back and is
+    // retried, recomputing the card from the other one's committed rows.
+    private void refreshCards(Collection<Long> lectorIds) {
+        List<Long> ids = lectorIds.stream().filter(Objects::nonNull).distinct().sorted().toList();
+        if (ids.isEmpty()) return;
+        List<Object[]> versions = lectorCardRepository.findVersions(ids);
+        if (!versions.isEmpty()) {
+            List<String> keys = versions.stream().map(row -> row[0] + ":" + row[1]).toList();
+            if (lectorCardRepository.updateCards(ids, keys) != keys.size()) {
+                throw new OptimisticLockingFailureException("Lector cards " + ids + " were refreshed concurrently");
+            }
+        }
+        if (versions.size() < ids.size()) {
+            Set<Long> missing = new TreeSet<>(ids);
+            versions.forEach(row -> missing.remove(((Number) row[0]).longValue()));
+            try {
+                lectorCardRepository.insertCards(missing);
+            } catch (DataIntegrityViolationException e) {
+                throw new OptimisticLockingFailureException("Lector cards " + missing + " were created concurrently", e);
+            }
+        }
+        OperationEvent.touched(ids.size());
     }
 
-    public List<Department> listDepartments() {
-        return departmentRepository.findAll();
+    public List<DepartmentSummary> listDepartments() {
+        return departmentRepository.findAllSummaries();
     }
 
-    public List<Lector> listLectors() {
-        return lectorRepository.findAll();
+    public List<LectorSummary> listLectors() {
+        return lectorRepository.findAllSummaries();
     }
 }
 
@@ -0,0 +1,4 @@
+-- Card refreshes are optimistic: each one bumps the version and only updates cards still at the
+-- version it read, so a refresh that lost to a concurrent one fails and is retried (see
+-- UniversityService and LectorCardRepository)
+ALTER TABLE lector_card ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,31 @@
+-- Every period a lector belonged to a department, valid from valid_from up to, not including,
+-- valid_to; a current membership has valid_to NULL. "As of" statistics find a department's
+-- members at a moment with the same range condition as salary_history. No foreign keys: like
+-- the salary history, it outlives deleted lectors and departments.
+CREATE TABLE department_lector_history
+(
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    department_id BIGINT                      NOT NULL,
+    lector_id     BIGINT                      NOT NULL,
+    valid_from    TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    valid_to      TIMESTAMP(6) WITH TIME ZONE
+);
+
+-- members of a department at a moment
+CREATE INDEX ix_department_lector_history_department ON department_lector_history (department_id, valid_from, lector_id);
+-- a lector's memberships: closing them on leave or delete, purging them with the archive
+CREATE INDEX ix_department_lector_history_lector ON department_lector_history (lector_id, valid_to);
+
+-- Memberships from before this table are taken to date back as far as the lector's salary
+-- history; those of deleted lectors end when they were archived
+INSERT INTO department_lector_history (department_id, lector_id, valid_from)
+SELECT dl.department_id, dl.lector_id,
+       COALESCE((SELECT MIN(h.valid_from) FROM salary_history h WHERE h.lector_id = dl.lector_id), CURRENT_TIMESTAMP)
+FROM department_lector dl;
+
+INSERT INTO department_lector_history (department_id, lector_id, valid_from, valid_to)
+SELECT a.department_id, a.lector_id,
+       COALESCE((SELECT MIN(h.valid_from) FROM salary_history h
+                 WHERE h.lector_id = a.lector_id AND h.valid_from <= a.archived_at), a.archived_at),
+       a.archived_at
+FROM department_lector_archive a;
@@ -0,0 +1,31 @@
+-- Baseline schema, equivalent to what ddl-auto used to generate for Lector/Department.
+-- Written in the SQL subset shared by PostgreSQL and H2 (tests).
+
+CREATE TABLE lector
+(
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    first_name VARCHAR(255),
+    last_name  VARCHAR(255),
+    salary     DOUBLE PRECISION NOT NULL,
+    degree     VARCHAR(32),
+    version    BIGINT,
+    CONSTRAINT ck_lector_degree CHECK (degree IN ('ASSISTANT', 'ASSOCIATE_PROFESSOR', 'PROFESSOR'))
+);
+
+CREATE TABLE department
+(
+    id      BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name    VARCHAR(255),
+    head_id BIGINT,
+    version BIGINT,
+    CONSTRAINT fk_department_head FOREIGN KEY (head_id) REFERENCES lector (id)
+);
+
+CREATE TABLE department_lector
+(
+    department_id BIGINT NOT NULL,
+    lector_id     BIGINT NOT NULL,
+    PRIMARY KEY (department_id, lector_id),
+    CONSTRAINT fk_department_lector_department FOREIGN KEY (department_id) REFERENCES department (id),
+    CONSTRAINT fk_department_lector_lector FOREIGN KEY (lector_id) REFERENCES lector (id)
+);
@@ -0,0 +1,14 @@
+-- Case-folded copies of the lector names (maintained by Lector#normalizeNames) so that key
+-- lookups are plain equality predicates on an index, on PostgreSQL and H2 alike.
+
+ALTER TABLE lector ADD COLUMN first_name_norm VARCHAR(255) DEFAULT '' NOT NULL;
+ALTER TABLE lector ADD COLUMN last_name_norm VARCHAR(255) DEFAULT '' NOT NULL;
+
+UPDATE lector
+SET first_name_norm = LOWER(TRIM(COALESCE(first_name, ''))),
+    last_name_norm  = LOWER(TRIM(COALESCE(last_name, '')));
+
+-- "first last" keys and single-token last-name keys; trailing id makes "first match" deterministic
+CREATE INDEX ix_lector_name_norm ON lector (last_name_norm, first_name_norm, id);
+-- single-token first-name keys
+CREATE INDEX ix_lector_first_name_norm ON lector (first_name_norm, id);
@@ -0,0 +1,17 @@
+-- Indexes for the access paths the service actually uses. The join table's primary key
+-- (department_id, lector_id) only serves department -> lectors; every lector -> departments
+-- navigation and the membership cleanup in deleteLector need the reverse order.
+CREATE INDEX ix_department_lector_lector ON department_lector (lector_id, department_id);
+
+-- "Is this lector head of anything" checks and head joins; PostgreSQL does not index FKs itself.
+CREATE INDEX ix_department_head ON department (head_id);
+
+-- Case-folded department name (maintained by Department#normalizeName). Unique, so department
+-- keys resolve to at most one row; NULL names stay allowed and never collide.
+ALTER TABLE department ADD COLUMN name_norm VARCHAR(255);
+
+UPDATE department
+SET name_norm = LOWER(TRIM(name))
+WHERE name IS NOT NULL;
+
+CREATE UNIQUE INDEX ux_department_name_norm ON department (name_norm);
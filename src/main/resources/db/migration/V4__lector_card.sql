@@ -0,0 +1,29 @@
+-- Denormalized read model: one row per lector with everything "show lector" prints, kept in
+-- step by UniversityService inside the same transaction as the change (see LectorCardRepository).
+CREATE TABLE lector_card (
+    lector_id             BIGINT           NOT NULL PRIMARY KEY,
+    first_name            VARCHAR(255),
+    last_name             VARCHAR(255),
+    first_name_norm       VARCHAR(255)     NOT NULL,
+    last_name_norm        VARCHAR(255)     NOT NULL,
+    degree                VARCHAR(32),
+    salary                DOUBLE PRECISION NOT NULL,
+    -- member departments ordered by name; ids and names are parallel arrays
+    department_ids        BIGINT ARRAY,
+    department_names      VARCHAR(255) ARRAY,
+    headed_department_ids BIGINT ARRAY,
+    CONSTRAINT fk_lector_card_lector FOREIGN KEY (lector_id) REFERENCES lector (id) ON DELETE CASCADE
+);
+
+CREATE INDEX ix_lector_card_name_norm ON lector_card (last_name_norm, first_name_norm, lector_id);
+CREATE INDEX ix_lector_card_first_name_norm ON lector_card (first_name_norm, lector_id);
+
+INSERT INTO lector_card (lector_id, first_name, last_name, first_name_norm, last_name_norm, degree, salary,
+                         department_ids, department_names, headed_department_ids)
+SELECT l.id, l.first_name, l.last_name, l.first_name_norm, l.last_name_norm, l.degree, l.salary,
+       ARRAY(SELECT d.id FROM department_lector dl JOIN department d ON d.id = dl.department_id
+             WHERE dl.lector_id = l.id ORDER BY d.name, d.id),
+       ARRAY(SELECT d.name FROM department_lector dl JOIN department d ON d.id = dl.department_id
+             WHERE dl.lector_id = l.id ORDER BY d.name, d.id),
+       ARRAY(SELECT h.id FROM department h WHERE h.head_id = l.id ORDER BY h.id)
+FROM lector l;
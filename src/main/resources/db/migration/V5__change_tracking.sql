@@ -0,0 +1,18 @@
+-- Change tracking for pollers (ChangePoller): rows carry the time of their last write, deletes
+-- leave a tombstone. Bulk SQL that bypasses the entities must set updated_at itself; inserts
+-- get it from the default.
+ALTER TABLE lector ADD COLUMN updated_at TIMESTAMP(6) WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL;
+ALTER TABLE department ADD COLUMN updated_at TIMESTAMP(6) WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL;
+
+CREATE INDEX ix_lector_updated_at ON lector (updated_at);
+CREATE INDEX ix_department_updated_at ON department (updated_at);
+
+CREATE TABLE tombstone
+(
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    entity_type VARCHAR(16)                 NOT NULL,
+    entity_id   BIGINT                      NOT NULL,
+    deleted_at  TIMESTAMP(6) WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+CREATE INDEX ix_tombstone_deleted_at ON tombstone (deleted_at);
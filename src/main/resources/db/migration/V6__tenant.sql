@@ -0,0 +1,27 @@
+-- Several universities (tenants) in one database. Lectors, departments, their cards and tombstones
+-- carry the tenant id; rows that existed before belong to 'default'. Memberships need no column of
+-- their own: both ends belong to the same tenant and they are only ever reached by id.
+ALTER TABLE lector ADD COLUMN tenant_id VARCHAR(64) DEFAULT 'default' NOT NULL;
+ALTER TABLE department ADD COLUMN tenant_id VARCHAR(64) DEFAULT 'default' NOT NULL;
+ALTER TABLE lector_card ADD COLUMN tenant_id VARCHAR(64) DEFAULT 'default' NOT NULL;
+ALTER TABLE tombstone ADD COLUMN tenant_id VARCHAR(64) DEFAULT 'default' NOT NULL;
+
+-- Every tenant-scoped access path leads with tenant_id, so a lookup in one university never
+-- walks the entries of another. The name indexes keep their names.
+DROP INDEX ix_lector_name_norm;
+CREATE INDEX ix_lector_name_norm ON lector (tenant_id, last_name_norm, first_name_norm, id);
+DROP INDEX ix_lector_first_name_norm;
+CREATE INDEX ix_lector_first_name_norm ON lector (tenant_id, first_name_norm, id);
+
+DROP INDEX ix_lector_card_name_norm;
+CREATE INDEX ix_lector_card_name_norm ON lector_card (tenant_id, last_name_norm, first_name_norm, lector_id);
+DROP INDEX ix_lector_card_first_name_norm;
+CREATE INDEX ix_lector_card_first_name_norm ON lector_card (tenant_id, first_name_norm, lector_id);
+
+-- Department names are unique within a university, not across all of them
+DROP INDEX ux_department_name_norm;
+CREATE UNIQUE INDEX ux_department_name_norm ON department (tenant_id, name_norm);
+
+-- "list lectors" / "list departments", the fuzzy index load, per-tenant snapshots and exports
+CREATE INDEX ix_lector_tenant ON lector (tenant_id, id);
+CREATE INDEX ix_department_tenant ON department (tenant_id, id);
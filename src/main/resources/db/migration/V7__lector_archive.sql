@@ -0,0 +1,26 @@
+-- Deleted lectors and their memberships move here in the deleting transaction, so the hot tables
+-- hold active rows only and need no "deleted" flag in every query. No foreign keys: the archive
+-- outlives the departments it mentions. A snapshot load can bring back a deleted id, so the same
+-- lector may be archived more than once; archived_at is part of the key.
+CREATE TABLE lector_archive
+(
+    id          BIGINT                      NOT NULL,
+    tenant_id   VARCHAR(64)                 NOT NULL,
+    first_name  VARCHAR(255),
+    last_name   VARCHAR(255),
+    salary      DOUBLE PRECISION            NOT NULL,
+    degree      VARCHAR(32),
+    archived_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (id, archived_at)
+);
+
+CREATE TABLE department_lector_archive
+(
+    lector_id     BIGINT                      NOT NULL,
+    department_id BIGINT                      NOT NULL,
+    archived_at   TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (lector_id, archived_at, department_id)
+);
+
+-- "archive purge": oldest rows of one university first
+CREATE INDEX ix_lector_archive_tenant_archived_at ON lector_archive (tenant_id, archived_at, id);
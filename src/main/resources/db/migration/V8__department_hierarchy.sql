@@ -0,0 +1,21 @@
+-- Faculties, departments and groups: each department may sit under a parent. parent_id is the
+-- source of truth; department_closure lists every (ancestor, proper descendant) pair with the
+-- distance between them, so a subtree is one index range on the primary key. A department is
+-- not its own ancestor here: top-level departments without children need no rows at all.
+ALTER TABLE department ADD COLUMN parent_id BIGINT;
+ALTER TABLE department ADD CONSTRAINT fk_department_parent FOREIGN KEY (parent_id) REFERENCES department (id);
+CREATE INDEX ix_department_parent ON department (parent_id);
+
+CREATE TABLE department_closure
+(
+    ancestor_id   BIGINT NOT NULL,
+    descendant_id BIGINT NOT NULL,
+    depth         INT    NOT NULL,
+    PRIMARY KEY (ancestor_id, descendant_id),
+    CONSTRAINT fk_department_closure_ancestor FOREIGN KEY (ancestor_id) REFERENCES department (id),
+    CONSTRAINT fk_department_closure_descendant FOREIGN KEY (descendant_id) REFERENCES department (id),
+    CONSTRAINT ck_department_closure_depth CHECK (depth > 0)
+);
+
+-- ancestors of a department: moves and cycle checks
+CREATE INDEX ix_department_closure_descendant ON department_closure (descendant_id, ancestor_id);
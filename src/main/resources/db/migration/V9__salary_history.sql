@@ -0,0 +1,21 @@
+-- Every salary and degree a lector has had, each valid from valid_from up to, not including,
+-- valid_to; the current row has valid_to NULL. "As of" reads find the row in effect at a moment
+-- through one range on (lector_id, valid_from). No foreign key: like the archive, a lector's
+-- history outlives the lector, whose last row is closed when it is deleted.
+CREATE TABLE salary_history
+(
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    lector_id  BIGINT                      NOT NULL,
+    salary     DOUBLE PRECISION            NOT NULL,
+    degree     VARCHAR(32),
+    valid_from TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    valid_to   TIMESTAMP(6) WITH TIME ZONE
+);
+
+CREATE INDEX ix_salary_history_lector_valid_from ON salary_history (lector_id, valid_from);
+-- open rows, for reconciling after bulk loads
+CREATE INDEX ix_salary_history_valid_to ON salary_history (valid_to, lector_id);
+
+-- the current salary has held at least since the lector row last changed
+INSERT INTO salary_history (lector_id, salary, degree, valid_from)
+SELECT id, salary, degree, updated_at FROM lector;
@@ -0,0 +1,139 @@
+package org.example.simpleuniversity;
+
+import org.example.simpleuniversity.model.Degree;
+import org.example.simpleuniversity.model.Department;
+import org.example.simpleuniversity.model.Lector;
+import org.example.simpleuniversity.service.ChangeConsumer;
+import org.example.simpleuniversity.service.ChangePoller;
+import org.example.simpleuniversity.service.DepartmentChange;
+import org.example.simpleuniversity.service.LectorChangedEvent;
+import org.example.simpleuniversity.service.UniversityService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Changes must be committed before the poller can see them, so the fixture runs without a test
+ * transaction and filters the deliveries down to the rows each test created.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class ChangePollerIT {
+
+    @Autowired
+    private UniversityService service;
+
+    @Autowired
+    private ChangePoller poller;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private TransactionTemplate tx;
+
+    @Value("${university.sync.overlap-ms}")
+    private long overlapMs;
+
+    private final List<LectorChangedEvent> lectorChanges = new ArrayList<>();
+    private final List<DepartmentChange> departmentChanges = new ArrayList<>();
+
+    @BeforeEach
+    void register() {
+        poller.poll(); // sets the watermark; earlier tests' changes may still be delivered once
+        poller.register(new ChangeConsumer() {
+            @Override
+            public void onLectorChange(LectorChangedEvent change) {
+                lectorChanges.add(change);
+            }
+
+            @Override
+            public void onDepartmentChange(DepartmentChange change) {
+                departmentChanges.add(change);
+            }
+        });
+    }
+
+    private List<LectorChangedEvent> lector(Long id) {
+        return lectorChanges.stream().filter(c -> c.lectorId().equals(id)).toList();
+    }
+
+    @Test
+    void deliversServiceWritesOnceAndTombstonesForDeletes() {
+        Lector l = service.createLector("Poll", "Lector", Degree.ASSISTANT, 1000, List.of());
+        poller.poll();
+        assertThat(lector(l.getId())).containsExactly(new LectorChangedEvent("default", l.getId(), "Poll", "Lector", false));
+
+        // rows inside the overlap window are re-read but not delivered again
+        poller.poll();
+        assertThat(lector(l.getId())).hasSize(1);
+
+        service.deleteLector(l.getId().toString());
+        poller.poll();
+        assertThat(lector(l.getId())).last().isEqualTo(new LectorChangedEvent("default", l.getId(), null, null, true));
+    }
+
+    @Test
+    void picksUpBulkSqlThatStampsUpdatedAt() {
+        Lector head = service.createLector("Poll", "Head", Degree.PROFESSOR, 3000, List.of());
+        Department d = service.createDepartment("Poll Department", head.getId().toString());
+        poller.poll();
+
+        // another process renaming the department behind the entities' back
+        jdbc.update("UPDATE department SET name = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?",
+                "Poll Department Renamed", d.getId());
+        poller.poll();
+
+        assertThat(departmentChanges)
+                .filteredOn(c -> c.departmentId().equals(d.getId()))
+                .last()
+                .isEqualTo(new DepartmentChange("default", d.getId(), "Poll Department Renamed", head.getId(), false));
+    }
+
+    @Test
+    void deliversAWriteThatCommitsAfterALaterStampWithinTheOverlap() throws Exception {
+        Lector slow = service.createLector("Poll", "Slow", Degree.ASSISTANT, 1000, List.of());
+        Lector fast = service.createLector("Poll", "Fast", Degree.ASSISTANT, 1000, List.of());
+        poller.poll();
+        // a write transaction well within what the overlap is sized for
+        long held = overlapMs / 2;
+
+        tx.executeWithoutResult(status -> {
+            // stamped with the transaction's start; the salary history query flushes it right away
+            service.updateLector(slow.getId().toString(), "salary", "1100");
+            try {
+                Thread.sleep(held);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            // meanwhile another writer commits a later stamp and a poll moves the watermark to it
+            CompletableFuture.runAsync(() -> {
+                service.updateLector(fast.getId().toString(), "salary", "1100");
+                poller.poll();
+            }).join();
+        });
+        assertThat(stamp(slow)).isBefore(stamp(fast).minusNanos(held * 1_000_000 / 2));
+        assertThat(lector(slow.getId())).hasSize(1);
+
+        poller.poll();
+
+        assertThat(lector(slow.getId())).hasSize(2);
+        assertThat(lector(fast.getId())).hasSize(2);
+    }
+
+    private OffsetDateTime stamp(Lector l) {
+        return jdbc.queryForObject("SELECT updated_at FROM lector WHERE id = ?", OffsetDateTime.class, l.getId());
+    }
+}
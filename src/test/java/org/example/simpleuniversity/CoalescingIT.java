@@ -0,0 +1,117 @@
+package org.example.simpleuniversity;
+
+import org.example.simpleuniversity.model.Degree;
+import org.example.simpleuniversity.model.Lector;
+import org.example.simpleuniversity.service.SingleFlight;
+import org.example.simpleuniversity.service.UniversityService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The {@code @Coalesced} reads go through {@link SingleFlight} in the running application: each
+ * call is counted once as executed or coalesced, concurrent callers all get the right answer, and
+ * a caller inside its own transaction bypasses coalescing. {@code SingleFlightTest} pins the
+ * sharing itself deterministically.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class CoalescingIT {
+
+    private static final int CALLERS = 16;
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private UniversityService service;
+
+    @Autowired
+    private SingleFlight singleFlight;
+
+    @Autowired
+    private TransactionTemplate tx;
+
+    private String department;
+    private Lector head;
+    private Lector member;
+
+    @BeforeEach
+    void createDepartment() {
+        department = "Coalesce " + UUID.randomUUID().toString().substring(0, 8);
+        head = service.createLector("Coalesce", "Head", Degree.PROFESSOR, 3000, List.of());
+        service.createDepartment(department, head.getId().toString());
+        member = service.createLector("Coalesce", "Member", Degree.ASSISTANT, 1000, List.of(department));
+    }
+
+    @AfterEach
+    void deleteDepartment() {
+        service.deleteDepartment(department);
+        service.deleteLector(member.getId().toString());
+        service.deleteLector(head.getId().toString());
+    }
+
+    private long calls(String operation) {
+        return singleFlight.stats().stream()
+                .filter(s -> s.operation().equals(operation))
+                .mapToLong(s -> s.executed() + s.coalesced())
+                .sum();
+    }
+
+    @Test
+    void testConcurrentIdenticalReadsAllGetTheAnswer() throws Exception {
+        long before = calls("getAverageSalary");
+        ExecutorService pool = Executors.newFixedThreadPool(CALLERS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                CyclicBarrier start = new CyclicBarrier(CALLERS);
+                List<Future<Double>> results = new ArrayList<>();
+                for (int i = 0; i < CALLERS; i++) {
+                    // differently spelled names are the same department and share a read
+                    String name = i % 2 == 0 ? department : " " + department.toUpperCase() + " ";
+                    results.add(pool.submit(() -> {
+                        start.await();
+                        return service.getAverageSalary(name);
+                    }));
+                }
+                for (Future<Double> result : results) {
+                    assertThat(result.get(30, TimeUnit.SECONDS)).isEqualTo(2000.0);
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(calls("getAverageSalary") - before).isEqualTo((long) CALLERS * ROUNDS);
+        assertThat(singleFlight.inFlight()).isZero();
+    }
+
+    @Test
+    void testCallerInsideTransactionReadsItself() {
+        long before = calls("getEmployeeCount");
+
+        long count = tx.execute(status -> {
+            service.createLector("Coalesce", "Uncommitted", Degree.ASSISTANT, 900, List.of(department));
+            long inside = service.getEmployeeCount(department);
+            status.setRollbackOnly();
+            return inside;
+        });
+
+        assertThat(count).isEqualTo(3);
+        assertThat(calls("getEmployeeCount")).isEqualTo(before);
+        assertThat(service.getEmployeeCount(department)).isEqualTo(2);
+        assertThat(calls("getEmployeeCount")).isEqualTo(before + 1);
+    }
+}
@@ -0,0 +1,94 @@
+package org.example.simpleuniversity;
+
+import org.example.simpleuniversity.model.Degree;
+import org.example.simpleuniversity.model.LectorCard;
+import org.example.simpleuniversity.repository.LectorRepository;
+import org.example.simpleuniversity.service.DataGeneratorService;
+import org.example.simpleuniversity.service.DatasetGenerator;
+import org.example.simpleuniversity.service.SnapshotFile;
+import org.example.simpleuniversity.service.SnapshotService;
+import org.example.simpleuniversity.service.UniversityService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Generating into the database commits, so that test snapshots the data first and restores it
+ * afterwards.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class DataGeneratorIT {
+
+    @Autowired
+    private DataGeneratorService generator;
+
+    @Autowired
+    private SnapshotService snapshots;
+
+    @Autowired
+    private UniversityService service;
+
+    @Autowired
+    private LectorRepository lectorRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testAppendsAboveExistingIdsWithCards() {
+        Path before = dir.resolve("before.snapshot");
+        snapshots.save(before);
+        try {
+            long firstLector = lectorRepository.firstUnusedId();
+            long firstDepartment = jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM department", Long.class);
+
+            DataGeneratorService.GenerateSummary g = generator.generateToDatabase(new DatasetGenerator.Spec(3, 200, 11));
+
+            assertThat(g.counts().lectors()).isEqualTo(200);
+            assertThat(g.counts().memberships()).isGreaterThanOrEqualTo(200);
+            assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM lector_card WHERE lector_id >= ?", Long.class, firstLector))
+                    .isEqualTo(200);
+
+            String name = DatasetGenerator.departmentName(firstDepartment);
+            assertThat(service.getEmployeeCount(name)).isPositive();
+            long headId = jdbc.queryForObject("SELECT head_id FROM department WHERE id = ?", Long.class, firstDepartment);
+            LectorCard head = service.getLectorCard(Long.toString(headId));
+            assertThat(Arrays.asList(head.getHeadedDepartmentIds())).contains(firstDepartment);
+
+            // the identity column continues after the generated rows
+            long created = service.createLector("After", "Generation", Degree.ASSISTANT, 1000, List.of()).getId();
+            assertThat(created).isEqualTo(firstLector + 200);
+        } finally {
+            snapshots.load(before);
+        }
+    }
+
+    @Test
+    void testWritesSnapshotFile() throws Exception {
+        Path file = dir.resolve("generated.snapshot");
+
+        DataGeneratorService.GenerateSummary g = generator.generateToFile(new DatasetGenerator.Spec(5, 1_000, 5), file);
+
+        long lectors = 0;
+        long departments = 0;
+        try (SnapshotFile.Reader in = SnapshotFile.open(file)) {
+            while (in.nextLector()) lectors++;
+            while (in.nextDepartment()) departments++;
+        }
+        assertThat(lectors).isEqualTo(1_000);
+        assertThat(departments).isEqualTo(g.counts().departments());
+    }
+}
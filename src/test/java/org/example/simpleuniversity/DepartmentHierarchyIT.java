@@ -0,0 +1,199 @@
+package org.example.simpleuniversity;
+
+import org.example.simpleuniversity.model.Degree;
+import org.example.simpleuniversity.model.Department;
+import org.example.simpleuniversity.model.Lector;
+import org.example.simpleuniversity.service.UniversityService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * A faculty with a department with a group: subtree aggregates cover every level and count a
+ * lector who sits in two of them once, and moves keep {@code department_closure} in step.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class DepartmentHierarchyIT {
+
+    @Autowired
+    private UniversityService service;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private Department faculty;
+    private Department department;
+    private Department group;
+    private List<Lector> lectors;
+
+    @BeforeEach
+    void createHierarchy() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        Lector dean = service.createLector("Tree", "Dean", Degree.PROFESSOR, 3000, List.of());
+        Lector chair = service.createLector("Tree", "Chair", Degree.ASSOCIATE_PROFESSOR, 2000, List.of());
+        Lector lead = service.createLector("Tree", "Lead", Degree.ASSISTANT, 1000, List.of());
+        faculty = service.createDepartment("Faculty " + suffix, dean.getId().toString());
+        department = service.createDepartment("Department " + suffix, chair.getId().toString());
+        group = service.createDepartment("Group " + suffix, lead.getId().toString());
+        Lector shared = service.createLector("Tree", "Shared", Degree.ASSISTANT, 1000,
+                List.of(key(department), key(group)));
+        lectors = List.of(dean, chair, lead, shared);
+
+        service.moveDepartment(key(department), key(faculty));
+        service.moveDepartment(key(group), key(department));
+    }
+
+    @AfterEach
+    void deleteHierarchy() {
+        service.deleteDepartment(key(group));
+        service.deleteDepartment(key(department));
+        service.deleteDepartment(key(faculty));
+        lectors.forEach(l -> service.deleteLector(l.getId().toString()));
+    }
+
+    private static String key(Department d) {
+        return d.getId().toString();
+    }
+
+    private Integer depth(Department ancestor, Department descendant) {
+        return jdbc.query("SELECT depth FROM department_closure WHERE ancestor_id = ? AND descendant_id = ?",
+                (rs, i) -> rs.getInt(1), ancestor.getId(), descendant.getId()).stream().findFirst().orElse(null);
+    }
+
+    private long version(Department d) {
+        return jdbc.queryForObject("SELECT version FROM department WHERE id = ?", Long.class, d.getId());
+    }
+
+    @Test
+    void testSubtreeAggregatesCountSharedLectorOnce() {
+        assertThat(service.getSubtreeEmployeeCount(key(faculty))).isEqualTo(4);
+        assertThat(service.getSubtreeAverageSalary(key(faculty))).isEqualTo(1750.0);
+        assertThat(service.getSubtreeStatistics(key(faculty))).isEqualTo(Map.of(
+                Degree.PROFESSOR, 1L, Degree.ASSOCIATE_PROFESSOR, 1L, Degree.ASSISTANT, 2L));
+        assertThat(service.getSubtreeEmployeeCount(key(department))).isEqualTo(3);
+        assertThat(service.getSubtreeEmployeeCount(key(group))).isEqualTo(2);
+        // the flat aggregates still cover the department alone
+        assertThat(service.getEmployeeCount(faculty.getName())).isEqualTo(1);
+    }
+
+    @Test
+    void testClosureListsEveryAncestor() {
+        assertThat(depth(faculty, department)).isEqualTo(1);
+        assertThat(depth(department, group)).isEqualTo(1);
+        assertThat(depth(faculty, group)).isEqualTo(2);
+        assertThat(depth(group, faculty)).isNull();
+    }
+
+    @Test
+    void testMoveCarriesSubtreeWithoutRewritingIt() {
+        long groupVersion = version(group);
+
+        service.moveDepartment(key(department), null);
+
+        assertThat(depth(faculty, department)).isNull();
+        assertThat(depth(faculty, group)).isNull();
+        assertThat(depth(department, group)).isEqualTo(1);
+        assertThat(version(group)).isEqualTo(groupVersion);
+        assertThat(service.getSubtreeEmployeeCount(key(faculty))).isEqualTo(1);
+        assertThat(service.getSubtreeEmployeeCount(key(department))).isEqualTo(3);
+
+        service.moveDepartment(key(group), key(faculty));
+
+        assertThat(depth(faculty, group)).isEqualTo(1);
+        assertThat(depth(department, group)).isNull();
+        assertThat(service.getSubtreeEmployeeCount(key(faculty))).isEqualTo(3);
+        assertThat(service.getSubtreeEmployeeCount(key(department))).isEqualTo(2);
+
+        service.moveDepartment(key(department), key(group));
+        assertThat(depth(faculty, department)).isEqualTo(2);
+        assertThat(depth(group, department)).isEqualTo(1);
+        // put the tree back the way @AfterEach deletes it
+        service.moveDepartment(key(department), key(faculty));
+        service.moveDepartment(key(group), key(department));
+    }
+
+    @Test
+    void testMoveIntoOwnSubtreeIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> service.moveDepartment(key(faculty), key(group)));
+        assertThrows(IllegalArgumentException.class, () -> service.moveDepartment(key(department), key(department)));
+
+        assertThat(depth(faculty, group)).isEqualTo(2);
+        assertThat(jdbc.queryForObject("SELECT parent_id FROM department WHERE id = ?", Long.class, faculty.getId()))
+                .isNull();
+    }
+
+    @Test
+    void testConcurrentOppositeMovesNeverCloseACycle() throws Exception {
+        Lector head = service.createLector("Tree", "Other", Degree.PROFESSOR, 3000, List.of());
+        Department other = service.createDepartment("Other " + UUID.randomUUID().toString().substring(0, 8),
+                head.getId().toString());
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < 10; round++) {
+                CountDownLatch start = new CountDownLatch(1);
+                Future<?> facultyUnderOther = pool.submit(() -> {
+                    start.await();
+                    service.moveDepartment(key(faculty), key(other));
+                    return null;
+                });
+                Future<?> otherUnderFaculty = pool.submit(() -> {
+                    start.await();
+                    service.moveDepartment(key(other), key(faculty));
+                    return null;
+                });
+                start.countDown();
+
+                // exactly one wins; the other sees the first one's links once it gets the locks
+                assertThat(rejected(facultyUnderOther) + rejected(otherUnderFaculty)).isEqualTo(1);
+                assertThat(jdbc.queryForObject("""
+                        SELECT COUNT(*) FROM department_closure
+                        WHERE ancestor_id IN (?, ?) AND descendant_id IN (?, ?)""", Long.class,
+                        faculty.getId(), other.getId(), faculty.getId(), other.getId())).isEqualTo(1);
+                assertThat(depth(faculty, group)).isEqualTo(2);
+
+                service.moveDepartment(key(faculty), null);
+                service.moveDepartment(key(other), null);
+            }
+        } finally {
+            pool.shutdownNow();
+            service.moveDepartment(key(faculty), null);
+            service.deleteDepartment(key(other));
+            service.deleteLector(head.getId().toString());
+        }
+    }
+
+    private static int rejected(Future<?> move) throws InterruptedException {
+        try {
+            move.get();
+            return 0;
+        } catch (ExecutionException e) {
+            assertThat(e.getCause()).isInstanceOf(IllegalArgumentException.class);
+            return 1;
+        }
+    }
+
+    @Test
+    void testDeleteWithSubDepartmentsIsRefused() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> service.deleteDepartment(key(faculty)));
+        assertThat(e.getMessage()).contains("sub-departments");
+        assertThat(depth(faculty, group)).isEqualTo(2);
+    }
+}
@@ -0,0 +1,107 @@
+package org.example.simpleuniversity;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.simpleuniversity.model.Degree;
+import org.example.simpleuniversity.model.Department;
+import org.example.simpleuniversity.model.DepartmentSummary;
+import org.example.simpleuniversity.model.Lector;
+import org.example.simpleuniversity.model.LectorSummary;
+import org.example.simpleuniversity.repository.DepartmentRepository;
+import org.example.simpleuniversity.repository.LectorRepository;
+import org.example.simpleuniversity.service.UniversityService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts what Hibernate materializes per listing: the listings are projections, so they must
+ * not load a single entity or collection, whatever the size of the graph behind them.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+@Transactional
+class EntityLoadingIT {
+
+    @Autowired
+    private UniversityService service;
+
+    @Autowired
+    private LectorRepository lectorRepo;
+
+    @Autowired
+    private DepartmentRepository deptRepo;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    private Statistics stats;
+
+    @BeforeEach
+    void buildGraph() {
+        List<Lector> lectors = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            Lector l = new Lector();
+            l.setFirstName("Graph" + i);
+            l.setLastName("Node" + i);
+            l.setDegree(Degree.values()[i % Degree.values().length]);
+            l.setSalary(1000 + i);
+            lectors.add(lectorRepo.save(l));
+        }
+        for (int d = 0; d < 5; d++) {
+            Department dept = new Department();
+            dept.setName("Graph Dept " + d);
+            dept.setHead(lectors.get(d));
+            dept.setLectors(new HashSet<>(lectors));
+            deptRepo.save(dept);
+        }
+        em.flush();
+        em.clear();
+
+        stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+    }
+
+    @Test
+    void listLectorsLoadsNoEntities() {
+        List<LectorSummary> listed = service.listLectors();
+
+        assertThat(listed).hasSize((int) lectorRepo.count());
+        assertThat(stats.getEntityLoadCount()).isZero();
+        assertThat(stats.getCollectionLoadCount()).isZero();
+    }
+
+    @Test
+    void listDepartmentsLoadsNoEntities() {
+        List<DepartmentSummary> listed = service.listDepartments();
+
+        assertThat(listed).extracting(DepartmentSummary::headName).contains("Graph0 Node0", "Graph4 Node4");
+        assertThat(stats.getEntityLoadCount()).isZero();
+        assertThat(stats.getCollectionLoadCount()).isZero();
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void departmentHeadAndLectorsAreLazy() {
+        Department dept = deptRepo.findByNameIgnoreCase("Graph Dept 0").orElseThrow();
+
+        assertThat(stats.getEntityLoadCount()).isEqualTo(1);
+        assertThat(dept.toString()).doesNotContain("Graph0");
+        assertThat(stats.getEntityLoadCount()).isEqualTo(1);
+        assertThat(stats.getCollectionLoadCount()).isZero();
+    }
+}
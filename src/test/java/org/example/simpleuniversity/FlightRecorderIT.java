@@ -0,0 +1,85 @@
+package org.example.simpleuniversity;
+
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.example.simpleuniversity.model.Degree;
+import org.example.simpleuniversity.model.Lector;
+import org.example.simpleuniversity.service.CommandEvent;
+import org.example.simpleuniversity.service.FlightRecorderService;
+import org.example.simpleuniversity.service.UniversityService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+@Transactional
+class FlightRecorderIT {
+
+    @Autowired
+    private FlightRecorderService flightRecorder;
+
+    @Autowired
+    private UniversityService service;
+
+    @TempDir
+    Path dir;
+
+    @AfterEach
+    void stopRecordings() {
+        FlightRecorder.getFlightRecorder().getRecordings().forEach(Recording::close);
+    }
+
+    private static List<RecordedEvent> events(Path file, String name) throws Exception {
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getEventType().getName().equals(name))
+                .toList();
+    }
+
+    @Test
+    void testOperationsAndCommandsAreRecorded() throws Exception {
+        assertThat(flightRecorder.start()).isTrue();
+        assertThat(flightRecorder.start()).isFalse();
+
+        Lector lector;
+        try (CommandEvent command = CommandEvent.start("add lector Jfr Probe")) {
+            lector = service.createLector("Jfr", "Probe", Degree.ASSISTANT, 1000, List.of());
+        }
+        service.createDepartment("Jfr Department", lector.getId().toString());
+        service.listLectors();
+
+        Path file = dir.resolve("university.jfr");
+        FlightRecorderService.DumpSummary dump = flightRecorder.dump(file);
+        assertThat(dump.bytes()).isPositive();
+
+        assertThat(events(file, "university.Command"))
+                .extracting(e -> e.getString("command"))
+                .contains("add lector Jfr Probe");
+        List<RecordedEvent> operations = events(file, "university.Operation");
+        assertThat(operations).extracting(e -> e.getString("operation"))
+                .contains("createLector", "createDepartment", "listLectors");
+        RecordedEvent create = operations.stream()
+                .filter(e -> e.getString("operation").equals("createDepartment")).findFirst().orElseThrow();
+        assertThat(create.getString("key")).isEqualTo("Jfr Department");
+        assertThat(create.getLong("rows")).isEqualTo(1);
+        assertThat(create.getBoolean("failed")).isFalse();
+    }
+
+    @Test
+    void testDumpWithoutRecordingFails() {
+        assertThrows(IllegalArgumentException.class,
+                () -> flightRecorder.dump(dir.resolve("none.jfr")));
+    }
+}
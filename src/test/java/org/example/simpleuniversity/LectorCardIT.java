@@ -0,0 +1,92 @@
+package org.example.simpleuniversity;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.simpleuniversity.model.Degree;
+import org.example.simpleuniversity.model.Department;
+import org.example.simpleuniversity.model.Lector;
+import org.example.simpleuniversity.model.LectorCard;
+import org.example.simpleuniversity.repository.LectorCardRepository;
+import org.example.simpleuniversity.service.UniversityService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+@Transactional
+class LectorCardIT {
+
+    @Autowired
+    private UniversityService service;
+
+    @Autowired
+    private LectorCardRepository cardRepo;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    // cards are written with native SQL; drop any instance read earlier in the test
+    private LectorCard card(Long lectorId) {
+        em.clear();
+        return cardRepo.findById(lectorId).orElseThrow();
+    }
+
+    @Test
+    void testCardFollowsServiceMutations() {
+        Lector head = service.createLector("Card", "Head", Degree.PROFESSOR, 3000, List.of());
+        Department optics = service.createDepartment("Card Optics", head.getId().toString());
+        Department acoustics = service.createDepartment("Card Acoustics", head.getId().toString());
+        Lector member = service.createLector("Card", "Member", Degree.ASSISTANT, 1000,
+                List.of("Card Optics", "Card Acoustics"));
+
+        LectorCard headCard = card(head.getId());
+        assertThat(headCard.getDepartmentNames()).containsExactly("Card Acoustics", "Card Optics");
+        assertThat(headCard.getHeadedDepartmentIds()).containsExactly(optics.getId(), acoustics.getId());
+        assertThat(card(member.getId()).getDepartmentIds()).containsExactly(acoustics.getId(), optics.getId());
+
+        service.updateLector(member.getId().toString(), "salary", "1500");
+        assertThat(card(member.getId()).getSalary()).isEqualTo(1500);
+
+        service.updateDepartmentHead("Card Optics", member.getId().toString());
+        assertThat(card(head.getId()).getHeadedDepartmentIds()).containsExactly(acoustics.getId());
+        assertThat(card(head.getId()).getDepartmentNames()).containsExactly("Card Acoustics");
+        assertThat(card(member.getId()).getHeadedDepartmentIds()).containsExactly(optics.getId());
+
+        service.deleteDepartment("Card Acoustics");
+        assertThat(card(member.getId()).getDepartmentNames()).containsExactly("Card Optics");
+        assertThat(card(head.getId()).getHeadedDepartmentIds()).isEmpty();
+
+        service.updateDepartmentHead("Card Optics", head.getId().toString());
+        service.deleteLector(member.getId().toString());
+        em.clear();
+        assertThat(cardRepo.findById(member.getId())).isEmpty();
+    }
+
+    @Test
+    void testShowLectorIsOneQuery() {
+        Lector l = service.createLector("Solo", "Cardholder", Degree.ASSOCIATE_PROFESSOR, 2000, List.of());
+        em.flush();
+        em.clear();
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+
+        assertThat(service.getLectorCard("solo cardholder").getLectorId()).isEqualTo(l.getId());
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(service.getLectorCard("CARDHOLDER").getLectorId()).isEqualTo(l.getId());
+        assertThat(service.getLectorCard(l.getId().toString()).getDegree()).isEqualTo(Degree.ASSOCIATE_PROFESSOR);
+        assertThrows(IllegalArgumentException.class, () -> service.getLectorCard("Nobody Cardholder"));
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.simpleuniversity;
+
+import org.example.simpleuniversity.model.Degree;
+import org.example.simpleuniversity.model.Lector;
+import org.example.simpleuniversity.service.LectorNameIndex;
+import org.example.simpleuniversity.service.UniversityService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The name index follows committed changes only, so the fixture goes through the service without
+ * a test transaction and uses surnames unique to each test.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class LectorNameIndexIT {
+
+    @Autowired
+    private UniversityService service;
+
+    private String surname;
+
+    @BeforeEach
+    void uniqueSurname() {
+        StringBuilder sb = new StringBuilder("Fuzz");
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        for (int i = 0; i < 6; i++) sb.append((char) ('a' + rnd.nextInt(26)));
+        surname = sb.toString();
+    }
+
+    private List<String> fuzzy(String query) {
+        return service.fuzzySearch(query, 10).stream()
+                .map(LectorNameIndex.Match::lector)
+                .map(l -> l.firstName() + " " + l.lastName())
+                .toList();
+    }
+
+    @Test
+    void rankedByEditDistanceThenPrefix() {
+        service.createLector("Oksana", surname, Degree.ASSISTANT, 1000, List.of());
+        service.createLector("Oksanka", surname, Degree.ASSISTANT, 1000, List.of());
+        service.createLector("Oles", surname, Degree.ASSISTANT, 1000, List.of());
+
+        // one substitution in the surname; the exact first name outranks the one-insertion "oksanka"
+        String typo = surname.substring(0, 5) + (surname.charAt(5) == 'x' ? 'y' : 'x') + surname.substring(6);
+        assertThat(fuzzy("oksana " + typo)).containsExactly("Oksana " + surname, "Oksanka " + surname);
+        assertThat(fuzzy("oles " + surname)).containsExactly("Oles " + surname);
+    }
+
+    @Test
+    void followsRenamesAndDeletes() {
+        Lector l = service.createLector("Taras", surname, Degree.PROFESSOR, 2000, List.of());
+        assertThat(fuzzy("tars " + surname)).containsExactly("Taras " + surname);
+
+        service.updateLector(l.getId().toString(), "firstname", "Bohdan");
+        assertThat(fuzzy("taras " + surname)).isEmpty();
+        assertThat(fuzzy("bohdn " + surname)).containsExactly("Bohdan " + surname);
+
+        service.deleteLector(l.getId().toString());
+        assertThat(fuzzy(surname)).isEmpty();
+    }
+
+    @Test
+    void unknownKeySuggestsClosestLector() {
+        service.createLector("Mykola", surname, Degree.ASSISTANT, 1000, List.of());
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> service.deleteLector("Mykloa " + surname));
+        assertThat(e.getMessage()).endsWith("did you mean \"Mykola " + surname + "\"?");
+    }
+}
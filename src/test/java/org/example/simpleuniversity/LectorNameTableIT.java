@@ -0,0 +1,51 @@
+package org.example.simpleuniversity;
+
+import org.example.simpleuniversity.model.Lector;
+import org.example.simpleuniversity.repository.LectorRepository;
+import org.example.simpleuniversity.service.LectorNameTable;
+import org.example.simpleuniversity.service.TenantContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+@Transactional
+class LectorNameTableIT {
+
+    @Autowired
+    private LectorRepository lectorRepo;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private TenantContext tenants;
+
+    @Test
+    void testLoadFromOneScan() {
+        Lector a = new Lector(); a.setFirstName("Dictoksana"); a.setLastName("Dictkoval");
+        Lector b = new Lector(); b.setFirstName("DICTOKSANA"); b.setLastName("Dictmelnyk");
+        Lector c = new Lector(); c.setFirstName("Dicttaras"); c.setLastName("Dictkoval");
+        lectorRepo.saveAll(List.of(a, b, c));
+        lectorRepo.flush();
+
+        LectorNameTable table = LectorNameTable.load(jdbc, tenants, true);
+
+        assertThat(table.size()).isEqualTo((int) lectorRepo.count());
+        assertThat(table.rowsNamed("dictoksana").mapToLong(table::lectorId).boxed().toList())
+                .containsExactly(a.getId(), b.getId());
+        assertThat(table.rowsWithPrefix("DICTK").mapToObj(table::firstName).toList())
+                .containsExactly("Dictoksana", "Dicttaras");
+        int row = table.rowsNamed("dictmelnyk").findFirst().orElseThrow();
+        assertThat(table.firstName(row) + " " + table.lastName(row)).isEqualTo("DICTOKSANA Dictmelnyk");
+        assertThat(table.footprintBytes()).isPositive();
+    }
+}
@@ -0,0 +1,148 @@
+package org.example.simpleuniversity;
+
+import org.example.simpleuniversity.model.Degree;
+import org.example.simpleuniversity.model.Lector;
+import org.example.simpleuniversity.model.LectorSummary;
+import org.example.simpleuniversity.service.LectorNameIndex;
+import org.example.simpleuniversity.service.SnapshotService;
+import org.example.simpleuniversity.service.TenantContext;
+import org.example.simpleuniversity.service.UniversityService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Two universities sharing the database must not see each other's rows through any read or
+ * write path. A session keeps the tenant it was opened with, so the tests are not transactional:
+ * each service call opens its own, and the rows of the extra universities are deleted afterwards.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class MultiTenantIT {
+
+    private static final List<String> TENANTS = List.of("north", "south");
+
+    @Autowired
+    private UniversityService service;
+
+    @Autowired
+    private TenantContext tenants;
+
+    @Autowired
+    private SnapshotService snapshots;
+
+    @Autowired
+    private LectorNameIndex nameIndex;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @TempDir
+    Path dir;
+
+    @AfterEach
+    void dropTenants() {
+        for (String tenant : TENANTS) {
+            jdbc.update("DELETE FROM lector_card WHERE tenant_id = ?", tenant);
+            jdbc.update("DELETE FROM department_lector WHERE department_id IN "
+                    + "(SELECT id FROM department WHERE tenant_id = ?)", tenant);
+            jdbc.update("DELETE FROM department WHERE tenant_id = ?", tenant);
+            jdbc.update("DELETE FROM lector WHERE tenant_id = ?", tenant);
+            jdbc.update("DELETE FROM tombstone WHERE tenant_id = ?", tenant);
+            nameIndex.invalidate(tenant);
+        }
+    }
+
+    private Lector head(String tenant, String lastName, String department) {
+        try (TenantContext.Scope ignored = tenants.as(tenant)) {
+            Lector head = service.createLector("Tenant", lastName, Degree.PROFESSOR, 3000, List.of());
+            service.createDepartment(department, head.getId().toString());
+            return head;
+        }
+    }
+
+    @Test
+    void testSameDepartmentNameInTwoUniversities() {
+        head("north", "Northman", "Tenant Physics");
+        head("south", "Southman", "Tenant Physics");
+
+        try (TenantContext.Scope ignored = tenants.as("north")) {
+            assertThat(service.getHeadOf("Tenant Physics")).isEqualTo("Tenant Northman");
+            assertThat(service.getEmployeeCount("Tenant Physics")).isEqualTo(1);
+        }
+        try (TenantContext.Scope ignored = tenants.as("south")) {
+            assertThat(service.getHeadOf("Tenant Physics")).isEqualTo("Tenant Southman");
+        }
+        assertThrows(IllegalArgumentException.class, () -> service.getHeadOf("Tenant Physics"));
+    }
+
+    @Test
+    void testListingsAndSearchesStayInTheirUniversity() {
+        Lector north = head("north", "Northman", "Tenant Optics");
+        Lector south = head("south", "Southman", "Tenant Optics");
+
+        try (TenantContext.Scope ignored = tenants.as("north")) {
+            assertThat(service.listLectors()).extracting(LectorSummary::lastName).containsExactly("Northman");
+            assertThat(service.listDepartments()).hasSize(1);
+            assertThat(service.globalSearch("man")).isEqualTo("Tenant Northman");
+            assertThat(service.fuzzySearch("Northmen", 10))
+                    .extracting(m -> m.lector().id())
+                    .contains(north.getId())
+                    .doesNotContain(south.getId());
+            assertThat(service.getLectorCard("Northman").getDepartmentNames()).containsExactly("Tenant Optics");
+        }
+        assertThat(service.globalSearch("Northman")).isEmpty();
+    }
+
+    @Test
+    void testIdsOfAnotherUniversityAreNotFound() {
+        Lector north = head("north", "Northman", "Tenant Acoustics");
+        String northId = north.getId().toString();
+
+        try (TenantContext.Scope ignored = tenants.as("south")) {
+            assertThrows(IllegalArgumentException.class, () -> service.getLectorCard(northId));
+            assertThrows(IllegalArgumentException.class, () -> service.deleteLector(northId));
+            assertThrows(IllegalArgumentException.class,
+                    () -> service.createLector("Tenant", "Intruder", Degree.ASSISTANT, 900, List.of("Tenant Acoustics")));
+        }
+        try (TenantContext.Scope ignored = tenants.as("north")) {
+            assertThat(service.getLectorCard(northId).getLastName()).isEqualTo("Northman");
+        }
+    }
+
+    @Test
+    void testSnapshotCoversOneUniversity() {
+        head("north", "Northman", "Tenant Geology");
+        head("south", "Southman", "Tenant Geology");
+
+        Path file = dir.resolve("north.snapshot");
+        try (TenantContext.Scope ignored = tenants.as("north")) {
+            SnapshotService.SnapshotSummary saved = snapshots.save(file);
+            assertThat(saved.lectors()).isEqualTo(1);
+            assertThat(saved.departments()).isEqualTo(1);
+
+            service.createLector("Tenant", "Later", Degree.ASSISTANT, 900, List.of("Tenant Geology"));
+            snapshots.load(file);
+            assertThat(service.getEmployeeCount("Tenant Geology")).isEqualTo(1);
+        }
+        try (TenantContext.Scope ignored = tenants.as("south")) {
+            assertThat(service.getHeadOf("Tenant Geology")).isEqualTo("Tenant Southman");
+        }
+    }
+
+    @Test
+    void testRejectsMalformedUniversityId() {
+        assertThrows(IllegalArgumentException.class, () -> tenants.use("no spaces"));
+        assertThat(TenantContext.normalize(" North ")).isEqualTo("north");
+    }
+}
@@ -0,0 +1,240 @@
+package org.example.simpleuniversity;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.simpleuniversity.model.Degree;
+import org.example.simpleuniversity.service.DataGeneratorService;
+import org.example.simpleuniversity.service.DatasetGenerator;
+import org.example.simpleuniversity.service.SearchPage;
+import org.example.simpleuniversity.service.SnapshotService;
+import org.example.simpleuniversity.service.UniversityService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statement and entity-load budgets per {@link UniversityService} operation, read from Hibernate
+ * statistics. Each operation runs, in its own transaction, against the smallest and the largest
+ * department of a generated dataset (about a hundred vs. well over a thousand members): where the
+ * work does not depend on the department, both runs must cost exactly the same and stay within
+ * the budget, so an N+1 or a collection rewrite fails here instead of in production. The
+ * generated rows are committed, so the class snapshots the database first and restores it at the
+ * end.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryBudgetIT {
+
+    @Autowired
+    private UniversityService service;
+
+    @Autowired
+    private DataGeneratorService generator;
+
+    @Autowired
+    private SnapshotService snapshots;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    @TempDir
+    static Path dir;
+
+    private Path before;
+    private Statistics stats;
+
+    private record Generated(long id, String name, long members) {
+        String key() {
+            return Long.toString(id);
+        }
+    }
+
+    private record Cost(long statements, long entities, long collections) {
+    }
+
+    // generated departments by membership, smallest first
+    private List<Generated> departments;
+
+    @BeforeAll
+    void generate() {
+        before = dir.resolve("before.snapshot");
+        snapshots.save(before);
+
+        long firstDepartment = jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM department", Long.class);
+        generator.generateToDatabase(new DatasetGenerator.Spec(20, 4_000, 42));
+        departments = jdbc.query("""
+                        SELECT d.id, d.name, COUNT(*) FROM department d
+                        JOIN department_lector dl ON dl.department_id = d.id
+                        WHERE d.id >= ? GROUP BY d.id, d.name ORDER BY COUNT(*), d.id""",
+                (rs, i) -> new Generated(rs.getLong(1), rs.getString(2), rs.getLong(3)), firstDepartment);
+        assertThat(largest().members()).isGreaterThan(5 * smallest().members());
+
+        stats = emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterAll
+    void restore() {
+        snapshots.load(before);
+    }
+
+    private Generated smallest() {
+        return departments.get(0);
+    }
+
+    private Generated largest() {
+        return departments.get(departments.size() - 1);
+    }
+
+    private long members(Generated d) {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM department_lector WHERE department_id = ?", Long.class, d.id());
+    }
+
+    private Cost cost(Runnable operation) {
+        stats.clear();
+        operation.run();
+        return new Cost(stats.getPrepareStatementCount(), stats.getEntityLoadCount(), stats.getCollectionLoadCount());
+    }
+
+    private static void assertFlat(String operation, Cost small, Cost large, long statements, long entities) {
+        assertThat(large).as("%s: largest vs. smallest department", operation).isEqualTo(small);
+        assertThat(small.statements()).as("%s: statements", operation).isLessThanOrEqualTo(statements);
+        assertThat(small.entities()).as("%s: entities loaded", operation).isLessThanOrEqualTo(entities);
+        assertThat(small.collections()).as("%s: collections loaded", operation).isLessThanOrEqualTo(1);
+    }
+
+    private long newLector(Generated d) {
+        return service.createLector("Budget", "Probe", Degree.ASSISTANT, 1000, List.of(d.key())).getId();
+    }
+
+    @Test
+    void headOfIsTwoLookups() {
+        // department by name, then its head
+        assertFlat("getHeadOf",
+                cost(() -> service.getHeadOf(smallest().name())),
+                cost(() -> service.getHeadOf(largest().name())), 2, 2);
+    }
+
+    @Test
+    void aggregatesLoadTheMembersInOneStatement() {
+        for (Generated d : List.of(smallest(), largest())) {
+            long members = members(d);
+            for (Runnable aggregate : List.<Runnable>of(
+                    () -> service.getEmployeeCount(d.name()),
+                    () -> service.getStatistics(d.name()),
+                    () -> service.getAverageSalary(d.name()))) {
+                Cost c = cost(aggregate);
+                assertThat(c.statements()).isEqualTo(2);
+                assertThat(c.collections()).isEqualTo(1);
+                assertThat(c.entities()).isEqualTo(1 + members);
+            }
+        }
+    }
+
+    @Test
+    void lectorCardIsOneLookup() {
+        long inSmall = newLector(smallest());
+        long inLarge = newLector(largest());
+
+        assertFlat("getLectorCard",
+                cost(() -> service.getLectorCard(Long.toString(inSmall))),
+                cost(() -> service.getLectorCard(Long.toString(inLarge))), 1, 1);
+    }
+
+    @Test
+    void searchPageIsOneProjection() {
+        Cost page = cost(() -> service.searchLectors("enko", SearchPage.Cursor.START, 50));
+
+        assertThat(page).isEqualTo(new Cost(1, 0, 0));
+    }
+
+    @Test
+    void createLectorDoesNotLoadTheDepartment() {
+        // department, lector insert, salary history close/open, membership insert and history open,
+        // card versions/insert
+        assertFlat("createLector",
+                cost(() -> newLector(smallest())),
+                cost(() -> newLector(largest())), 8, 1);
+    }
+
+    @Test
+    void updateLectorTouchesOnlyTheLector() {
+        long inSmall = newLector(smallest());
+        long inLarge = newLector(largest());
+
+        // lector, lector update, salary history close/open, card versions/update
+        assertFlat("updateLector",
+                cost(() -> service.updateLector(Long.toString(inSmall), "salary", "1500")),
+                cost(() -> service.updateLector(Long.toString(inLarge), "salary", "1500")), 7, 1);
+    }
+
+    @Test
+    void deleteLectorDoesNotLoadDepartmentMembers() {
+        long inSmall = newLector(smallest());
+        long inLarge = newLector(largest());
+        long smallMembers = members(smallest());
+        long largeMembers = members(largest());
+
+        // lector, head check, archive stamp, membership and lector archive copies, membership
+        // history end, its departments, membership delete, lector delete (the card cascades),
+        // salary history close, tombstone
+        assertFlat("deleteLector",
+                cost(() -> service.deleteLector(Long.toString(inSmall))),
+                cost(() -> service.deleteLector(Long.toString(inLarge))), 12, 2);
+        assertThat(members(smallest())).isEqualTo(smallMembers - 1);
+        assertThat(members(largest())).isEqualTo(largeMembers - 1);
+    }
+
+    @Test
+    void createDepartmentIsConstant() {
+        long inSmall = newLector(smallest());
+        long inLarge = newLector(largest());
+
+        // name check, head, department and membership inserts, membership history open,
+        // card versions/update
+        assertFlat("createDepartment",
+                cost(() -> service.createDepartment("Budget Small", Long.toString(inSmall))),
+                cost(() -> service.createDepartment("Budget Large", Long.toString(inLarge))), 7, 1);
+    }
+
+    @Test
+    void updateDepartmentHeadDoesNotLoadTheMembers() {
+        long inSmall = newLector(smallest());
+        long inLarge = newLector(largest());
+
+        // department, old head membership delete and history close, new head, department update,
+        // membership insert and history open, card versions/update
+        assertFlat("updateDepartmentHead",
+                cost(() -> service.updateDepartmentHead(smallest().key(), Long.toString(inSmall))),
+                cost(() -> service.updateDepartmentHead(largest().key(), Long.toString(inLarge))), 9, 2);
+        assertThat(service.getHeadOf(largest().name())).isEqualTo("Budget Probe");
+    }
+
+    @Test
+    void deleteDepartmentDoesNotLoadTheMembers() {
+        Generated small = departments.get(1);
+        Generated large = departments.get(departments.size() - 2);
+
+        // department, sub-department check, member ids, tombstone, closure delete, membership
+        // history close, membership and department deletes, card versions/update
+        assertFlat("deleteDepartment",
+                cost(() -> service.deleteDepartment(small.key())),
+                cost(() -> service.deleteDepartment(large.key())), 10, 1);
+        assertThat(members(large)).isZero();
+    }
+}
@@ -0,0 +1,126 @@
+package org.example.simpleuniversity;
+
+import org.example.simpleuniversity.model.Degree;
+import org.example.simpleuniversity.model.Department;
+import org.example.simpleuniversity.model.Lector;
+import org.example.simpleuniversity.repository.DepartmentRepository;
+import org.example.simpleuniversity.repository.LectorRepository;
+import org.example.simpleuniversity.service.ReactiveUniversityService;
+import org.example.simpleuniversity.service.SearchPage;
+import org.example.simpleuniversity.service.UniversityService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Flux;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The reactive read side talks to the database through its own R2DBC connections, so the
+ * fixture is committed (no test transaction) and uses names unique to each test.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class ReactiveUniversityServiceIT {
+
+    @Autowired
+    private ReactiveUniversityService reactive;
+
+    @Autowired
+    private UniversityService service;
+
+    @Autowired
+    private DepartmentRepository deptRepo;
+
+    @Autowired
+    private LectorRepository lectorRepo;
+
+    private String run;
+    private String deptName;
+
+    @BeforeEach
+    void createDepartment() {
+        run = UUID.randomUUID().toString().substring(0, 8);
+        Lector a = lector("Rx" + run, "Head", Degree.PROFESSOR, 7000);
+        Lector b = lector("Rx" + run, "Assist", Degree.ASSISTANT, 3000);
+        Lector c = lector("Other" + run, "Assist", Degree.ASSISTANT, 4000);
+        lectorRepo.saveAll(List.of(a, b, c));
+
+        Department d = new Department();
+        d.setName("Reactive" + run);
+        d.setHead(a);
+        d.getLectors().addAll(List.of(a, b, c));
+        deptRepo.save(d);
+        deptName = d.getName();
+    }
+
+    @Test
+    void reportsMatchBlockingService() {
+        assertThat(reactive.getHeadOf(deptName.toUpperCase()).block()).isEqualTo(service.getHeadOf(deptName));
+        assertThat(reactive.getStatistics(deptName).block()).isEqualTo(service.getStatistics(deptName));
+        assertThat(reactive.getAverageSalary(deptName).block()).isEqualTo(service.getAverageSalary(deptName));
+        assertThat(reactive.getEmployeeCount(deptName).block()).isEqualTo(service.getEmployeeCount(deptName));
+    }
+
+    @Test
+    void unknownDepartmentFails() {
+        assertThrows(IllegalArgumentException.class, () -> reactive.getHeadOf("Nope" + run).block());
+        assertThrows(IllegalArgumentException.class, () -> reactive.getStatistics("Nope" + run).block());
+        assertThrows(IllegalArgumentException.class, () -> reactive.getEmployeeCount("Nope" + run).block());
+    }
+
+    @Test
+    void emptyDepartmentHasZeroAverage() {
+        Department empty = new Department();
+        empty.setName("Empty" + run);
+        deptRepo.save(empty);
+
+        assertThat(reactive.getAverageSalary(empty.getName()).block()).isZero();
+        assertThat(reactive.getStatistics(empty.getName()).block()).isEmpty();
+    }
+
+    @Test
+    void globalSearchStreamsSameNames() {
+        List<String> streamed = reactive.globalSearch("rx" + run).collectList().block();
+        assertThat(streamed).containsExactlyInAnyOrderElementsOf(
+                Arrays.asList(service.globalSearch("rx" + run).split(", ")));
+        assertThat(reactive.globalSearch("%" + run).collectList().block()).isEmpty();
+    }
+
+    @Test
+    void globalSearchMatchesThePagedSearch() {
+        // blanks and case are normalized like the *_norm columns
+        String template = "  RX" + run.toUpperCase() + " ";
+        List<String> paged = service.searchLectors(template, SearchPage.Cursor.START, 50).hits().stream()
+                .map(n -> n.firstName() + " " + n.lastName())
+                .toList();
+
+        assertThat(paged).hasSize(2);
+        assertThat(reactive.globalSearch(template).collectList().block()).containsExactlyElementsOf(paged);
+    }
+
+    @Test
+    void manyConcurrentQueriesShareSmallPool() {
+        List<Long> counts = Flux.range(0, 500)
+                .flatMap(i -> reactive.getEmployeeCount(deptName), 256)
+                .collectList()
+                .block();
+        assertThat(counts).hasSize(500).containsOnly(3L);
+    }
+
+    private static Lector lector(String first, String last, Degree degree, double salary) {
+        Lector l = new Lector();
+        l.setFirstName(first);
+        l.setLastName(last);
+        l.setDegree(degree);
+        l.setSalary(salary);
+        return l;
+    }
+}
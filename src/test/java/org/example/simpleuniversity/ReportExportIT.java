@@ -0,0 +1,131 @@
+package org.example.simpleuniversity;
+
+import org.apache.arrow.compression.CommonsCompressionFactory;
+import org.apache.arrow.flatbuf.CompressionType;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowFileReader;
+import org.apache.arrow.vector.ipc.SeekableReadChannel;
+import org.apache.arrow.vector.ipc.message.ArrowBlock;
+import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.apache.arrow.vector.ipc.message.MessageSerializer;
+import org.example.simpleuniversity.model.Degree;
+import org.example.simpleuniversity.model.Department;
+import org.example.simpleuniversity.model.Lector;
+import org.example.simpleuniversity.service.ReportExportService;
+import org.example.simpleuniversity.service.UniversityService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The export reads committed rows over plain JDBC, so the fixture goes through the service without
+ * a test transaction and the assertions only look at the partitions of departments created here.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class ReportExportIT {
+
+    @Autowired
+    private UniversityService service;
+
+    @Autowired
+    private ReportExportService export;
+
+    @TempDir
+    Path dir;
+
+    private static List<String> rows(Path file) throws IOException {
+        List<String> rows = new ArrayList<>();
+        try (BufferAllocator allocator = new RootAllocator();
+             ArrowFileReader r = reader(file, allocator)) {
+            VectorSchemaRoot root = r.getVectorSchemaRoot();
+            while (r.loadNextBatch()) {
+                for (int i = 0; i < root.getRowCount(); i++) {
+                    rows.add(root.getVector("first_name").getObject(i) + " " + root.getVector("last_name").getObject(i)
+                            + " " + root.getVector("degree").getObject(i) + " " + root.getVector("salary").getObject(i)
+                            + (Boolean.TRUE.equals(root.getVector("is_head").getObject(i)) ? " head" : ""));
+                }
+            }
+        }
+        return rows;
+    }
+
+    private static Map<String, String> metadata(Path file) throws IOException {
+        try (BufferAllocator allocator = new RootAllocator();
+             ArrowFileReader r = reader(file, allocator)) {
+            return r.getVectorSchemaRoot().getSchema().getCustomMetadata();
+        }
+    }
+
+    private static ArrowFileReader reader(Path file, BufferAllocator allocator) throws IOException {
+        return new ArrowFileReader(Files.newByteChannel(file), allocator, CommonsCompressionFactory.INSTANCE);
+    }
+
+    // the body compression codec of every record batch, read from the raw messages in the footer
+    private static List<Byte> codecs(Path file) throws IOException {
+        List<Byte> codecs = new ArrayList<>();
+        try (BufferAllocator allocator = new RootAllocator();
+             ArrowFileReader r = reader(file, allocator);
+             SeekableByteChannel channel = Files.newByteChannel(file)) {
+            SeekableReadChannel in = new SeekableReadChannel(channel);
+            for (ArrowBlock block : r.getRecordBlocks()) {
+                in.setPosition(block.getOffset());
+                try (ArrowRecordBatch batch = MessageSerializer.deserializeRecordBatch(in, block, allocator)) {
+                    codecs.add(batch.getBodyCompression().getCodec());
+                }
+            }
+        }
+        return codecs;
+    }
+
+    @Test
+    void testPartitionsByDepartmentWithHeadFlag() throws IOException {
+        String suffix = Long.toString(System.nanoTime(), 36);
+        Lector head = service.createLector("Export", "Head" + suffix, Degree.PROFESSOR, 3000, List.of());
+        Department d = service.createDepartment("Export" + suffix, head.getId().toString());
+        service.createLector("Export", "Member" + suffix, Degree.ASSISTANT, 1000, List.of("Export" + suffix));
+
+        ReportExportService.ExportSummary summary = export.exportLectors(dir.resolve("out"));
+
+        Path partition = dir.resolve("out").resolve("department=" + d.getId()).resolve(ReportExportService.FILE_NAME);
+        assertThat(rows(partition)).containsExactly(
+                "Export Head" + suffix + " PROFESSOR 3000.0 head",
+                "Export Member" + suffix + " ASSISTANT 1000.0");
+        assertThat(metadata(partition)).containsEntry("department_name", "Export" + suffix);
+        assertThat(codecs(partition)).isNotEmpty().containsOnly(CompressionType.ZSTD);
+        assertThat(summary.rows()).isGreaterThanOrEqualTo(2);
+        assertThat(summary.bytes()).isPositive();
+    }
+
+    @Test
+    void testLectorsWithoutDepartmentGoToNonePartition() throws IOException {
+        String surname = "Loner" + Long.toString(System.nanoTime(), 36);
+        service.createLector("Export", surname, Degree.ASSISTANT, 900, List.of());
+
+        export.exportLectors(dir.resolve("out"));
+
+        assertThat(rows(dir.resolve("out").resolve("department=none").resolve(ReportExportService.FILE_NAME)))
+                .contains("Export " + surname + " ASSISTANT 900.0");
+    }
+
+    @Test
+    void testRefusesNonEmptyDirectory() throws IOException {
+        Files.writeString(dir.resolve("stale.txt"), "old");
+        assertThrows(IllegalArgumentException.class, () -> export.exportLectors(dir));
+    }
+}
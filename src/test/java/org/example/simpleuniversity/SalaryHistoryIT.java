@@ -0,0 +1,168 @@
+package org.example.simpleuniversity;
+
+import org.example.simpleuniversity.model.Degree;
+import org.example.simpleuniversity.model.Lector;
+import org.example.simpleuniversity.service.UniversityService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Salary and degree changes land in {@code salary_history}, memberships in
+ * {@code department_lector_history}, and the as-of reads pick the rows in effect at the end of the
+ * given day. The history is written with real timestamps, so the tests move the rows to fixed
+ * dates before reading the past.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class SalaryHistoryIT {
+
+    @Autowired
+    private UniversityService service;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private String department;
+    private Lector head;
+    private Lector member;
+    private Lector newHead;
+
+    @BeforeEach
+    void createDepartment() {
+        department = "History " + UUID.randomUUID().toString().substring(0, 8);
+        head = service.createLector("History", "Head", Degree.PROFESSOR, 3000, List.of());
+        service.createDepartment(department, head.getId().toString());
+        member = service.createLector("History", "Member", Degree.ASSISTANT, 1000, List.of(department));
+    }
+
+    @AfterEach
+    void deleteDepartment() {
+        service.deleteDepartment(department);
+        if (newHead != null) service.deleteLector(newHead.getId().toString());
+        service.deleteLector(member.getId().toString());
+        service.deleteLector(head.getId().toString());
+    }
+
+    private List<Long> rows(Lector l) {
+        return jdbc.queryForList("SELECT id FROM salary_history WHERE lector_id = ? ORDER BY id", Long.class, l.getId());
+    }
+
+    private long openRows(Lector l) {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM salary_history WHERE lector_id = ? AND valid_to IS NULL",
+                Long.class, l.getId());
+    }
+
+    private static OffsetDateTime midnight(String date) {
+        return date == null ? null : LocalDate.parse(date).atStartOfDay(ZoneId.systemDefault()).toOffsetDateTime();
+    }
+
+    private void backdate(long rowId, String from, String to) {
+        jdbc.update("UPDATE salary_history SET valid_from = ?, valid_to = ? WHERE id = ?",
+                midnight(from), midnight(to), rowId);
+    }
+
+    // the lector's only membership of this test's department
+    private void backdateMembership(Lector l, String from, String to) {
+        jdbc.update("UPDATE department_lector_history SET valid_from = ?, valid_to = ? WHERE lector_id = ? "
+                        + "AND department_id = (SELECT id FROM department WHERE name = ?)",
+                midnight(from), midnight(to), l.getId(), department);
+    }
+
+    @Test
+    void testEveryChangeClosesTheOpenRow() {
+        service.updateLector(member.getId().toString(), "salary", "2000");
+        service.updateLector(member.getId().toString(), "firstname", "Renamed");
+        service.updateLector(member.getId().toString(), "degree", "associate_professor");
+
+        assertThat(rows(member)).hasSize(3);
+        assertThat(openRows(member)).isEqualTo(1);
+        assertThat(jdbc.queryForMap("SELECT salary, degree FROM salary_history WHERE lector_id = ? AND valid_to IS NULL",
+                member.getId())).containsEntry("SALARY", 2000.0).containsEntry("DEGREE", "ASSOCIATE_PROFESSOR");
+        assertThat(service.getAverageSalaryAsOf(department, LocalDate.now())).isEqualTo(2500.0);
+    }
+
+    @Test
+    void testAsOfReadsTheRowInEffectThatDay() {
+        service.updateLector(member.getId().toString(), "salary", "2000");
+        service.updateLector(member.getId().toString(), "degree", "ASSOCIATE_PROFESSOR");
+        List<Long> history = rows(member);
+        backdate(rows(head).get(0), "2024-01-01", null);
+        backdate(history.get(0), "2024-01-01", "2024-03-01");
+        backdate(history.get(1), "2024-03-01", "2024-06-01");
+        backdate(history.get(2), "2024-06-01", null);
+        backdateMembership(head, "2024-01-01", null);
+        backdateMembership(member, "2024-01-01", null);
+
+        assertThat(service.getAverageSalaryAsOf(department, LocalDate.parse("2023-12-31"))).isZero();
+        assertThat(service.getStatisticsAsOf(department, LocalDate.parse("2023-12-31"))).isEmpty();
+
+        assertThat(service.getAverageSalaryAsOf(department, LocalDate.parse("2024-02-29"))).isEqualTo(2000.0);
+        assertThat(service.getAverageSalaryAsOf(department, LocalDate.parse("2024-03-01"))).isEqualTo(2500.0);
+        assertThat(service.getStatisticsAsOf(department, LocalDate.parse("2024-05-31")))
+                .isEqualTo(Map.of(Degree.PROFESSOR, 1L, Degree.ASSISTANT, 1L));
+        assertThat(service.getStatisticsAsOf(department, LocalDate.parse("2024-06-01")))
+                .isEqualTo(Map.of(Degree.PROFESSOR, 1L, Degree.ASSOCIATE_PROFESSOR, 1L));
+    }
+
+    @Test
+    void testAsOfCountsMembersDeletedSinceThen() {
+        Lector leaving = service.createLector("History", "Leaving", Degree.ASSISTANT, 500, List.of(department));
+        service.deleteLector(leaving.getId().toString());
+        backdate(rows(head).get(0), "2024-01-01", null);
+        backdate(rows(member).get(0), "2024-01-01", null);
+        backdate(rows(leaving).get(0), "2024-01-01", "2024-06-01");
+        backdateMembership(head, "2024-01-01", null);
+        backdateMembership(member, "2024-01-01", null);
+        backdateMembership(leaving, "2024-01-01", "2024-06-01");
+
+        assertThat(service.getAverageSalaryAsOf(department, LocalDate.parse("2024-05-31"))).isEqualTo(1500.0);
+        assertThat(service.getStatisticsAsOf(department, LocalDate.parse("2024-05-31")))
+                .isEqualTo(Map.of(Degree.PROFESSOR, 1L, Degree.ASSISTANT, 2L));
+        assertThat(service.getStatisticsAsOf(department, LocalDate.parse("2024-06-01")))
+                .isEqualTo(Map.of(Degree.PROFESSOR, 1L, Degree.ASSISTANT, 1L));
+    }
+
+    @Test
+    void testAsOfCountsTheMembersOfThatDay() {
+        newHead = service.createLector("History", "NewHead", Degree.PROFESSOR, 5000, List.of());
+        service.updateDepartmentHead(department, newHead.getId().toString());
+        backdate(rows(head).get(0), "2024-01-01", null);
+        backdate(rows(member).get(0), "2024-01-01", null);
+        backdate(rows(newHead).get(0), "2024-01-01", null);
+        backdateMembership(head, "2024-01-01", "2024-06-01");
+        backdateMembership(member, "2024-01-01", null);
+        backdateMembership(newHead, "2024-06-01", null);
+
+        // the old head left without being deleted, the new one joined later
+        assertThat(service.getAverageSalaryAsOf(department, LocalDate.parse("2024-05-31"))).isEqualTo(2000.0);
+        assertThat(service.getAverageSalaryAsOf(department, LocalDate.parse("2024-06-01"))).isEqualTo(3000.0);
+        assertThat(service.getStatisticsAsOf(department, LocalDate.parse("2024-06-01")))
+                .isEqualTo(Map.of(Degree.PROFESSOR, 1L, Degree.ASSISTANT, 1L));
+    }
+
+    @Test
+    void testDeleteClosesTheHistory() {
+        Lector leaving = service.createLector("History", "Leaving", Degree.ASSISTANT, 700, List.of(department));
+
+        service.deleteLector(leaving.getId().toString());
+
+        assertThat(rows(leaving)).hasSize(1);
+        assertThat(openRows(leaving)).isZero();
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM department_lector_history "
+                + "WHERE lector_id = ? AND valid_to IS NULL", Long.class, leaving.getId())).isZero();
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.simpleuniversity;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Pins the access paths of the hot queries to the indexes created by the migrations, so a
+ * dropped or reordered index shows up as a failing plan instead of a slow CLI.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class SchemaIndexIT {
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private String plan(String sql) {
+        return jdbc.queryForObject("EXPLAIN " + sql, String.class).toUpperCase();
+    }
+
+    @Test
+    void testLectorDepartmentsUseReverseJoinIndex() {
+        assertThat(plan("SELECT department_id FROM department_lector WHERE lector_id = 1"))
+                .contains("IX_DEPARTMENT_LECTOR_LECTOR");
+    }
+
+    @Test
+    void testDepartmentLectorsUsePrimaryKey() {
+        assertThat(plan("SELECT lector_id FROM department_lector WHERE department_id = 1"))
+                .contains("PRIMARY_KEY");
+    }
+
+    @Test
+    void testHeadLookupUsesForeignKeyIndex() {
+        assertThat(plan("SELECT id FROM department WHERE head_id = 1"))
+                .contains("IX_DEPARTMENT_HEAD");
+    }
+
+    @Test
+    void testDepartmentNameUsesUniqueIndex() {
+        assertThat(plan("SELECT id FROM department WHERE tenant_id = 'default' AND name_norm = 'physics'"))
+                .contains("UX_DEPARTMENT_NAME_NORM");
+    }
+
+    @Test
+    void testLectorFullNameUsesNameIndex() {
+        assertThat(plan("SELECT id FROM lector WHERE tenant_id = 'default' AND first_name_norm = 'ivan' AND last_name_norm = 'petrenko' "
+                + "ORDER BY id FETCH FIRST 1 ROWS ONLY"))
+                .contains("IX_LECTOR_NAME_NORM");
+    }
+
+    @Test
+    void testLectorFirstNameUsesFirstNameIndex() {
+        assertThat(plan("SELECT id FROM lector WHERE tenant_id = 'default' AND first_name_norm = 'ivan' ORDER BY id FETCH FIRST 1 ROWS ONLY"))
+                .contains("IX_LECTOR_FIRST_NAME_NORM");
+    }
+
+    @Test
+    void testLectorCardNameUsesCardIndex() {
+        assertThat(plan("SELECT lector_id FROM lector_card WHERE tenant_id = 'default' AND first_name_norm = 'ivan' AND last_name_norm = 'petrenko' "
+                + "ORDER BY lector_id FETCH FIRST 1 ROWS ONLY"))
+                .contains("IX_LECTOR_CARD_NAME_NORM");
+    }
+
+    @Test
+    void testTenantListingUsesTenantIndex() {
+        assertThat(plan("SELECT id FROM lector WHERE tenant_id = 'default' ORDER BY id"))
+                .contains("IX_LECTOR_TENANT");
+    }
+
+    @Test
+    void testDepartmentNamesAreUniqueIgnoringCase() {
+        jdbc.update("INSERT INTO department (name, name_norm, version) VALUES ('Index Dept', 'index dept', 0)");
+        try {
+            assertThat(jdbc.queryForObject(
+                    "SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME = 'UX_DEPARTMENT_NAME_NORM' "
+                            + "AND INDEX_TYPE_NAME = 'UNIQUE INDEX'", Integer.class)).isEqualTo(1);
+            assertThrows(DataIntegrityViolationException.class,
+                    () -> jdbc.update("INSERT INTO department (name, name_norm, version) "
+                            + "VALUES ('INDEX DEPT', 'index dept', 0)"));
+            // unique per university only
+            jdbc.update("INSERT INTO department (name, name_norm, version, tenant_id) "
+                    + "VALUES ('Index Dept', 'index dept', 0, 'other')");
+        } finally {
+            jdbc.update("DELETE FROM department WHERE name_norm = 'index dept'");
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package org.example.simpleuniversity;
+
+import org.example.simpleuniversity.model.Degree;
+import org.example.simpleuniversity.model.Department;
+import org.example.simpleuniversity.model.Lector;
+import org.example.simpleuniversity.repository.DepartmentRepository;
+import org.example.simpleuniversity.repository.LectorCardRepository;
+import org.example.simpleuniversity.repository.LectorRepository;
+import org.example.simpleuniversity.service.SnapshotService;
+import org.example.simpleuniversity.service.UniversityService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Loading commits a full replacement of the data, so each test restores the snapshot it took
+ * first and leaves the database as it found it.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class SnapshotIT {
+
+    @Autowired
+    private SnapshotService snapshots;
+
+    @Autowired
+    private UniversityService service;
+
+    @Autowired
+    private LectorRepository lectorRepo;
+
+    @Autowired
+    private DepartmentRepository deptRepo;
+
+    @Autowired
+    private LectorCardRepository cardRepo;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @TempDir
+    Path dir;
+
+    private long memberships() {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM department_lector", Long.class);
+    }
+
+    @Test
+    void testLoadRestoresSavedStateAndIds() {
+        Lector head = service.createLector("Snap", "Head", Degree.PROFESSOR, 3000, List.of());
+        Department d = service.createDepartment("Snap Department", head.getId().toString());
+        Lector member = service.createLector("Snap", "Member", Degree.ASSISTANT, 1000, List.of("Snap Department"));
+        long lectors = lectorRepo.count();
+        long memberships = memberships();
+
+        SnapshotService.SnapshotSummary saved = snapshots.save(dir.resolve("u.snapshot"));
+        assertThat(saved.lectors()).isEqualTo(lectors);
+        assertThat(saved.memberships()).isEqualTo(memberships);
+
+        Lector extra = service.createLector("Snap", "Extra", Degree.ASSISTANT, 900, List.of("Snap Department"));
+        assertThrows(IllegalArgumentException.class, () -> service.deleteLector(head.getId().toString()));
+        service.deleteLector(member.getId().toString());
+
+        SnapshotService.SnapshotSummary loaded = snapshots.load(dir.resolve("u.snapshot"));
+
+        assertThat(loaded.lectors()).isEqualTo(lectors);
+        assertThat(lectorRepo.count()).isEqualTo(lectors);
+        assertThat(memberships()).isEqualTo(memberships);
+        assertThat(lectorRepo.findById(extra.getId())).isEmpty();
+        assertThat(lectorRepo.findById(member.getId())).get()
+                .extracting(Lector::getLastName).isEqualTo("Member");
+        assertThat(service.getHeadOf("Snap Department")).isEqualTo("Snap Head");
+        assertThat(cardRepo.findById(head.getId())).get()
+                .satisfies(c -> assertThat(c.getHeadedDepartmentIds()).containsExactly(d.getId()));
+
+        // identity continues above the restored ids
+        Lector next = service.createLector("Snap", "Next", Degree.ASSISTANT, 900, List.of());
+        assertThat(next.getId()).isGreaterThan(member.getId());
+        service.deleteLector(next.getId().toString());
+        service.deleteDepartment(d.getId().toString());
+        service.deleteLector(member.getId().toString());
+        service.deleteLector(head.getId().toString());
+    }
+
+    @Test
+    void testLoadRestoresDepartmentHierarchy() {
+        Lector head = service.createLector("Snap", "Dean", Degree.PROFESSOR, 3000, List.of());
+        Department faculty = service.createDepartment("Snap Faculty", head.getId().toString());
+        Department department = service.createDepartment("Snap Chair", head.getId().toString());
+        Department group = service.createDepartment("Snap Group", head.getId().toString());
+        service.moveDepartment(department.getId().toString(), faculty.getId().toString());
+        service.moveDepartment(group.getId().toString(), department.getId().toString());
+        Path file = dir.resolve("tree.snapshot");
+        snapshots.save(file);
+
+        service.moveDepartment(group.getId().toString(), null);
+        snapshots.load(file);
+
+        assertThat(jdbc.queryForObject("SELECT parent_id FROM department WHERE id = ?", Long.class, group.getId()))
+                .isEqualTo(department.getId());
+        assertThat(jdbc.queryForObject("SELECT depth FROM department_closure WHERE ancestor_id = ? AND descendant_id = ?",
+                Integer.class, faculty.getId(), group.getId())).isEqualTo(2);
+        assertThat(service.getSubtreeEmployeeCount(faculty.getId().toString())).isEqualTo(1);
+
+        service.deleteDepartment(group.getId().toString());
+        service.deleteDepartment(department.getId().toString());
+        service.deleteDepartment(faculty.getId().toString());
+        service.deleteLector(head.getId().toString());
+    }
+
+    @Test
+    void testCorruptFileLeavesDataUntouched() throws IOException {
+        long lectors = lectorRepo.count();
+        long departments = deptRepo.count();
+        Path file = dir.resolve("broken.snapshot");
+        snapshots.save(file);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length / 2));
+
+        assertThrows(UncheckedIOException.class, () -> snapshots.load(file));
+
+        assertThat(lectorRepo.count()).isEqualTo(lectors);
+        assertThat(deptRepo.count()).isEqualTo(departments);
+    }
+
+    @Test
+    void testRejectsMissingFile() {
+        assertThrows(IllegalArgumentException.class, () -> snapshots.load(dir.resolve("missing.snapshot")));
+    }
+}
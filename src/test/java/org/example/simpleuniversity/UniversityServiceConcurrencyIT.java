@@ -0,0 +1,144 @@
+package org.example.simpleuniversity;
+
+import org.example.simpleuniversity.model.Degree;
+import org.example.simpleuniversity.model.Department;
+import org.example.simpleuniversity.model.Lector;
+import org.example.simpleuniversity.model.LectorCard;
+import org.example.simpleuniversity.repository.DepartmentRepository;
+import org.example.simpleuniversity.repository.LectorCardRepository;
+import org.example.simpleuniversity.repository.LectorRepository;
+import org.example.simpleuniversity.service.UniversityService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Stress test for optimistic locking: every field of every lector (and the head of
+ * every department) has exactly one writer thread, but all writers of a row collide.
+ * With a lost update some row would end up with a value its writer did not write last.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class UniversityServiceConcurrencyIT {
+
+    private static final int LECTORS = 4;
+    private static final int DEPARTMENTS = 2;
+    private static final int ITERATIONS = 25;
+    private static final Degree[] DEGREES = Degree.values();
+
+    @Autowired
+    private UniversityService service;
+
+    @Autowired
+    private DepartmentRepository deptRepo;
+
+    @Autowired
+    private LectorRepository lectorRepo;
+
+    @Autowired
+    private LectorCardRepository cardRepo;
+
+    @Autowired
+    private TransactionTemplate tx;
+
+    @Test
+    void concurrentMixedUpdatesLoseNothing() throws Exception {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        List<Lector> lectors = new ArrayList<>();
+        for (int i = 0; i < LECTORS; i++) {
+            Lector l = new Lector();
+            l.setFirstName("F" + run + i);
+            l.setLastName("L" + run + i);
+            l.setDegree(Degree.ASSISTANT);
+            l.setSalary(1000);
+            lectors.add(lectorRepo.save(l));
+        }
+        List<Department> departments = new ArrayList<>();
+        for (int i = 0; i < DEPARTMENTS; i++) {
+            departments.add(service.createDepartment("D" + run + i, lectors.get(0).getId().toString()));
+        }
+
+        List<Runnable> writers = new ArrayList<>();
+        for (Lector l : lectors) {
+            String key = l.getId().toString();
+            writers.add(() -> { for (int i = 0; i < ITERATIONS; i++) service.updateLector(key, "firstname", "F" + run + key + "-" + i); });
+            writers.add(() -> { for (int i = 0; i < ITERATIONS; i++) service.updateLector(key, "lastname", "L" + run + key + "-" + i); });
+            writers.add(() -> { for (int i = 0; i < ITERATIONS; i++) service.updateLector(key, "degree", DEGREES[i % DEGREES.length].name()); });
+            writers.add(() -> { for (int i = 0; i < ITERATIONS; i++) service.updateLector(key, "salary", String.valueOf(1000 + i)); });
+        }
+        for (Department d : departments) {
+            String key = d.getId().toString();
+            writers.add(() -> {
+                for (int i = 0; i < ITERATIONS; i++) {
+                    service.updateDepartmentHead(key, lectors.get(i % LECTORS).getId().toString());
+                }
+            });
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(writers.size());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (Runnable w : writers) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                w.run();
+                return null;
+            }));
+        }
+        long began = System.nanoTime();
+        start.countDown();
+        for (Future<?> f : futures) {
+            f.get(2, TimeUnit.MINUTES);
+        }
+        long elapsed = System.nanoTime() - began;
+        pool.shutdown();
+
+        int ops = writers.size() * ITERATIONS;
+        System.out.printf("%d threads, %d updates in %d ms (%.1f ops/s)%n",
+                writers.size(), ops, elapsed / 1_000_000, ops * 1e9 / elapsed);
+
+        int last = ITERATIONS - 1;
+        for (Lector l : lectors) {
+            Lector actual = lectorRepo.findById(l.getId()).orElseThrow();
+            String key = l.getId().toString();
+            assertThat(actual.getFirstName()).isEqualTo("F" + run + key + "-" + last);
+            assertThat(actual.getLastName()).isEqualTo("L" + run + key + "-" + last);
+            assertThat(actual.getDegree()).isEqualTo(DEGREES[last % DEGREES.length]);
+            assertThat(actual.getSalary()).isEqualTo(1000 + last);
+        }
+        Long expectedHead = lectors.get(last % LECTORS).getId();
+        tx.executeWithoutResult(status -> {
+            for (Department d : departments) {
+                Department actual = deptRepo.findById(d.getId()).orElseThrow();
+                assertThat(actual.getHead().getId()).isEqualTo(expectedHead);
+                assertThat(actual.getLectors()).extracting(Lector::getId).contains(expectedHead);
+            }
+            // the lector_card read model, refreshed by every writer, must end up matching the rows
+            for (Lector l : lectors) {
+                Lector actual = lectorRepo.findById(l.getId()).orElseThrow();
+                LectorCard card = cardRepo.findById(l.getId()).orElseThrow();
+                assertThat(card.getFirstName()).isEqualTo(actual.getFirstName());
+                assertThat(card.getLastName()).isEqualTo(actual.getLastName());
+                assertThat(card.getDegree()).isEqualTo(actual.getDegree());
+                assertThat(card.getSalary()).isEqualTo(actual.getSalary());
+                assertThat(card.getHeadedDepartmentIds().length)
+                        .isEqualTo(l.getId().equals(expectedHead) ? DEPARTMENTS : 0);
+            }
+        });
+    }
+}
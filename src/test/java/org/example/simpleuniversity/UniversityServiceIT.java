@@ -3,8 +3,10 @@ package org.example.simpleuniversity;
 import org.example.simpleuniversity.model.Degree;
 import org.example.simpleuniversity.model.Department;
 import org.example.simpleuniversity.model.Lector;
+import org.example.simpleuniversity.model.LectorName;
 import org.example.simpleuniversity.repository.DepartmentRepository;
 import org.example.simpleuniversity.repository.LectorRepository;
+import org.example.simpleuniversity.service.SearchPage;
 import org.example.simpleuniversity.service.UniversityService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,6 +16,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -157,6 +160,37 @@ class UniversityServiceIT {
         assertThat(result).isEmpty();
     }
 
+    @Test
+    void testSearchLectorsPagesInNameOrder() {
+        Lector a = new Lector(); a.setFirstName("Olga");  a.setLastName("Koval");
+        Lector b = new Lector(); b.setFirstName("Anna");  b.setLastName("Koval");
+        Lector c = new Lector(); c.setFirstName("Ivan");  c.setLastName("Bondar");
+        Lector d = new Lector(); d.setFirstName("Koval"); d.setLastName("Zhuk");
+        Lector e = new Lector(); e.setFirstName("Petro"); e.setLastName("Shevchenko");
+        lectorRepo.saveAll(List.of(a, b, c, d, e));
+
+        List<String> names = new ArrayList<>();
+        SearchPage page = service.searchLectors("KOV", SearchPage.Cursor.START, 2);
+        names.addAll(page.hits().stream().map(LectorName::fullName).toList());
+        assertThat(page.hits()).hasSize(2);
+        assertThat(page.hasNext()).isTrue();
+
+        page = service.searchLectors("KOV", page.next(), 2);
+        names.addAll(page.hits().stream().map(LectorName::fullName).toList());
+        assertThat(page.hasNext()).isFalse();
+
+        assertThat(names).containsExactly("Anna Koval", "Olga Koval", "Koval Zhuk");
+    }
+
+    @Test
+    void testSearchLectorsTreatsWildcardsLiterally() {
+        Lector a = new Lector(); a.setFirstName("John"); a.setLastName("Doe");
+        lectorRepo.save(a);
+
+        assertThat(service.searchLectors("%", SearchPage.Cursor.START, 10).hits()).isEmpty();
+        assertThat(service.searchLectors("_", SearchPage.Cursor.START, 10).hits()).isEmpty();
+    }
+
     @Test
     void testCreateDepartment() {
         Lector head = new Lector();
@@ -280,4 +314,30 @@ class UniversityServiceIT {
         Department refreshed = deptRepo.findById(dep.getId()).get();
         assertThat(refreshed.getLectors()).doesNotContain(lect);
     }
+
+    @Test
+    void testLectorKeyPrefersExactTokenOverSubstring() {
+        Lector partial = new Lector(); partial.setFirstName("Annabel"); partial.setLastName("Lee");
+        Lector exact = new Lector(); exact.setFirstName("Maria"); exact.setLastName("Anna");
+        lectorRepo.saveAll(List.of(partial, exact));
+
+        Department created = service.createDepartment("Keys", "ANNA");
+        assertThat(created.getHead().getId()).isEqualTo(exact.getId());
+    }
+
+    @Test
+    void testLectorKeyResolutionFollowsRename() {
+        Lector lect = new Lector(); lect.setFirstName("Grace"); lect.setLastName("Hopper");
+        lectorRepo.save(lect);
+        Department dep = new Department(); dep.setName("Navy");
+        deptRepo.save(dep);
+
+        service.updateDepartmentHead("Navy", "grace hopper");
+        service.updateLector(lect.getId().toString(), "lastname", "Murray");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.updateDepartmentHead("Navy", "Grace Hopper"));
+        service.updateDepartmentHead("Navy", "Grace Murray");
+        assertThat(deptRepo.findByNameIgnoreCase("Navy").get().getHead().getId()).isEqualTo(lect.getId());
+    }
 }
@@ -0,0 +1,143 @@
+package org.example.simpleuniversity.benchmark;
+
+import org.example.simpleuniversity.SimpleUniversityApplication;
+import org.example.simpleuniversity.model.Degree;
+import org.example.simpleuniversity.model.Department;
+import org.example.simpleuniversity.model.Lector;
+import org.example.simpleuniversity.repository.DepartmentRepository;
+import org.example.simpleuniversity.repository.LectorRepository;
+import org.example.simpleuniversity.service.UniversityService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares the default datasource settings with the {@code perf} profile on the bulk
+ * (batched inserts incl. join-table rows) and read (per-department aggregation) paths.
+ * <p>
+ * Runs on embedded H2 by default; the PgJDBC settings only matter against PostgreSQL:
+ * <pre>
+ * mvn -Pbenchmark test -Djmh.args="DataSourceProfileBenchmark -jvmArgs '-Dbench.datasource.url=jdbc:postgresql://localhost:5432/postgres'"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+public class DataSourceProfileBenchmark {
+
+    private static final int BULK_SIZE = 200;
+
+    @Param({"default", "perf"})
+    public String datasourceProfile;
+
+    private ConfigurableApplicationContext context;
+    private UniversityService service;
+    private LectorRepository lectorRepo;
+    private DepartmentRepository deptRepo;
+    private TransactionTemplate tx;
+    private String departmentName;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        List<String> args = new ArrayList<>();
+        String url = System.getProperty("bench.datasource.url");
+        if (url != null) {
+            args.add("--spring.datasource.url=" + url);
+            args.add("--spring.datasource.driver-class-name=org.postgresql.Driver");
+            args.add("--spring.datasource.username=" + System.getProperty("bench.datasource.username", "postgres"));
+            args.add("--spring.datasource.password=" + System.getProperty("bench.datasource.password", "postgres"));
+            args.add("--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect");
+        }
+        context = new SpringApplicationBuilder(SimpleUniversityApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("perf".equals(datasourceProfile) ? new String[]{"test", "perf"} : new String[]{"test"})
+                .run(args.toArray(String[]::new));
+        service = context.getBean(UniversityService.class);
+        lectorRepo = context.getBean(LectorRepository.class);
+        deptRepo = context.getBean(DepartmentRepository.class);
+        tx = context.getBean(TransactionTemplate.class);
+
+        departmentName = "Bench" + System.nanoTime();
+        List<Lector> members = lectorRepo.saveAll(newLectors(1_000));
+        Department d = new Department();
+        d.setName(departmentName);
+        d.setHead(members.get(0));
+        d.getLectors().addAll(members);
+        deptRepo.save(d);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    /**
+     * One transaction: {@value #BULK_SIZE} lectors plus a new department holding all of them,
+     * i.e. {@value #BULK_SIZE} join-table rows that Hibernate can send as one JDBC batch.
+     */
+    @Benchmark
+    public int bulkInsertWithMemberships() {
+        return tx.execute(status -> {
+            List<Lector> saved = lectorRepo.saveAll(newLectors(BULK_SIZE));
+            Department d = new Department();
+            d.setName("BenchBulk" + sequence.incrementAndGet());
+            d.setHead(saved.get(0));
+            d.getLectors().addAll(saved);
+            deptRepo.save(d);
+            return saved.size();
+        });
+    }
+
+    @Benchmark
+    public Map<Degree, Long> readStatistics() {
+        return service.getStatistics(departmentName);
+    }
+
+    @Benchmark
+    public double readAverageSalary() {
+        return service.getAverageSalary(departmentName);
+    }
+
+    private List<Lector> newLectors(int count) {
+        Degree[] degrees = Degree.values();
+        List<Lector> batch = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long n = sequence.incrementAndGet();
+            Lector l = new Lector();
+            l.setFirstName("Bench" + n);
+            l.setLastName("Lector" + n);
+            l.setDegree(degrees[(int) (n % degrees.length)]);
+            l.setSalary(1000 + n % 9000);
+            l.setDepartments(new HashSet<>());
+            batch.add(l);
+        }
+        return batch;
+    }
+}
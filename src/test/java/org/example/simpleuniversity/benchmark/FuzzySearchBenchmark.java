@@ -0,0 +1,106 @@
+package org.example.simpleuniversity.benchmark;
+
+import org.example.simpleuniversity.model.LectorName;
+import org.example.simpleuniversity.model.Names;
+import org.example.simpleuniversity.service.LectorNameIndex;
+import org.example.simpleuniversity.service.TenantContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Typo-tolerant lookups against a {@link LectorNameIndex} loaded with {@code lectors} synthetic
+ * names (no database involved), drawn from {@code firstNames} and {@code lastNames} distinct
+ * tokens. Queries are existing full names with one random edit in the last name.
+ * <pre>
+ * mvn -Pbenchmark test -Djmh.args="FuzzySearchBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class FuzzySearchBenchmark {
+
+    private static final String[] SYLLABLES = {
+            "ko", "va", "len", "pet", "ren", "shev", "chen", "bon", "dar", "tka", "chuk", "mel",
+            "nyk", "hor", "lys", "sen", "zhuk", "ros", "tym", "mar", "dan", "ol", "ha", "yur",
+            "bo", "ly", "ser", "hiy", "an", "dri", "ka", "ri", "na", "vo", "lo", "dy", "myr", "ta"
+    };
+
+    @Param({"1000000"})
+    public int lectors;
+
+    @Param({"5000"})
+    public int firstNames;
+
+    @Param({"150000"})
+    public int lastNames;
+
+    private LectorNameIndex index;
+    private String[] queries;
+    private int next;
+
+    @Setup
+    public void load() {
+        Random rnd = new Random(42);
+        String[] firsts = new String[firstNames];
+        for (int i = 0; i < firsts.length; i++) firsts[i] = word(rnd, 2 + rnd.nextInt(2));
+        String[] lasts = new String[lastNames];
+        for (int i = 0; i < lasts.length; i++) lasts[i] = word(rnd, 3 + rnd.nextInt(2));
+
+        List<LectorName> names = LongStream.rangeClosed(1, lectors)
+                .mapToObj(id -> {
+                    String first = firsts[rnd.nextInt(firsts.length)];
+                    String last = lasts[rnd.nextInt(lasts.length)];
+                    return new LectorName(id, first, last, Names.normalize(first), Names.normalize(last));
+                })
+                .toList();
+        index = new LectorNameIndex(null, null, new TenantContext("default"));
+        index.load(names.stream());
+
+        queries = new String[1024];
+        for (int i = 0; i < queries.length; i++) {
+            LectorName n = names.get(rnd.nextInt(names.size()));
+            queries[i] = n.firstNameNorm() + " " + typo(rnd, n.lastNameNorm());
+        }
+    }
+
+    @Benchmark
+    public List<LectorNameIndex.Match> fuzzySearch() {
+        String q = queries[next++ & (queries.length - 1)];
+        return index.search(q, 10);
+    }
+
+    private static String word(Random rnd, int syllables) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < syllables; i++) sb.append(SYLLABLES[rnd.nextInt(SYLLABLES.length)]);
+        return Character.toUpperCase(sb.charAt(0)) + sb.substring(1);
+    }
+
+    private static String typo(Random rnd, String s) {
+        StringBuilder sb = new StringBuilder(s);
+        int at = rnd.nextInt(s.length());
+        switch (rnd.nextInt(3)) {
+            case 0 -> sb.deleteCharAt(at);
+            case 1 -> sb.insert(at, (char) ('a' + rnd.nextInt(26)));
+            default -> sb.setCharAt(at, (char) ('a' + rnd.nextInt(26)));
+        }
+        return sb.toString();
+    }
+}
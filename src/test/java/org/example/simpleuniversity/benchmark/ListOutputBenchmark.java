@@ -0,0 +1,113 @@
+package org.example.simpleuniversity.benchmark;
+
+import org.example.simpleuniversity.model.Degree;
+import org.example.simpleuniversity.model.LectorSummary;
+import org.example.simpleuniversity.service.DatasetGenerator;
+import org.example.simpleuniversity.service.RowPrinter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code list lectors} output for {@code lectors} generated rows: one {@code printf} per
+ * row, as the CLI used to do, against {@link RowPrinter}. Both write to a stream shaped like
+ * {@code System.out} (auto-flushing, 8 KiB buffer) that discards the bytes; setup checks that
+ * the two produce identical bytes. Run with {@code -prof gc} to see the allocation per row:
+ * <pre>
+ * mvn -Pbenchmark test -Djmh.args="ListOutputBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ListOutputBenchmark {
+
+    @Param({"1000000"})
+    public int lectors;
+
+    private List<LectorSummary> rows;
+    private PrintStream out;
+
+    @Setup
+    public void generate() throws IOException {
+        rows = new ArrayList<>(lectors);
+        new DatasetGenerator(new DatasetGenerator.Spec(0, lectors, 42)).generate(1, 1, new DatasetGenerator.Sink() {
+            @Override
+            public void lector(long id, String firstName, String lastName, Degree degree, double salary) {
+                rows.add(new LectorSummary(id, firstName, lastName, degree, salary));
+            }
+
+            @Override
+            public void department(long id, String name, long headId) {
+            }
+
+            @Override
+            public void membership(long departmentId, long lectorId) {
+            }
+        });
+        out = console(OutputStream.nullOutputStream());
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        printf(console(expected));
+        rowPrinter(console(actual));
+        if (!Arrays.equals(expected.toByteArray(), actual.toByteArray())) {
+            throw new IllegalStateException("RowPrinter output differs from printf");
+        }
+    }
+
+    private static PrintStream console(OutputStream target) {
+        return new PrintStream(new BufferedOutputStream(target, 8192), true, Charset.defaultCharset());
+    }
+
+    @Benchmark
+    public PrintStream printf() {
+        return printf(out);
+    }
+
+    @Benchmark
+    public PrintStream rowPrinter() {
+        return rowPrinter(out);
+    }
+
+    private PrintStream printf(PrintStream out) {
+        for (LectorSummary l : rows) {
+            out.printf("id=%d %s %s %s salary=%.2f%n", l.id(), l.firstName(), l.lastName(), l.degree(), l.salary());
+        }
+        out.flush();
+        return out;
+    }
+
+    private PrintStream rowPrinter(PrintStream out) {
+        RowPrinter printer = new RowPrinter(out);
+        for (LectorSummary l : rows) {
+            printer.text("id=").number(l.id()).text(' ').text(l.firstName()).text(' ')
+                    .text(l.lastName()).text(' ').text(l.degree())
+                    .text(" salary=").fixed2(l.salary()).newline();
+        }
+        printer.flush();
+        return out;
+    }
+}
@@ -0,0 +1,149 @@
+package org.example.simpleuniversity.benchmark;
+
+import org.example.simpleuniversity.model.Lector;
+import org.example.simpleuniversity.model.Names;
+import org.example.simpleuniversity.service.LectorNameTable;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Memory held by an in-process name index over {@code lectors} rows: the plain
+ * {@code HashMap<String, List<Lector>>} keyed by case-folded first and last name, against
+ * {@link LectorNameTable} with its dictionaries on the heap or off-heap. Each measured
+ * invocation builds one structure; the {@code retainedMiB} / {@code offHeapMiB} secondary
+ * results are what it keeps alive after a full GC. Names are fresh {@code String}s per row,
+ * as a JDBC driver returns them.
+ * <pre>
+ * mvn -Pbenchmark test -Djmh.args="NameStorageBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class NameStorageBenchmark {
+
+    private static final String[] SYLLABLES = {
+            "ko", "va", "len", "pet", "ren", "shev", "chen", "bon", "dar", "tka", "chuk", "mel",
+            "nyk", "hor", "lys", "sen", "zhuk", "ros", "tym", "mar", "dan", "ol", "ha", "yur"
+    };
+
+    @Param({"1000000"})
+    public int lectors;
+
+    @Param({"hashmap", "table-heap", "table-offheap"})
+    public String layout;
+
+    private String[] firstPool;
+    private String[] lastPool;
+    private int[] firstOf;
+    private int[] lastOf;
+    private Object retained;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public double retainedMiB;
+        public double offHeapMiB;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            retainedMiB = 0;
+            offHeapMiB = 0;
+        }
+    }
+
+    @Setup
+    public void generate() {
+        Random rnd = new Random(7);
+        firstPool = new String[5_000];
+        for (int i = 0; i < firstPool.length; i++) firstPool[i] = word(rnd, 2 + rnd.nextInt(2));
+        lastPool = new String[150_000];
+        for (int i = 0; i < lastPool.length; i++) lastPool[i] = word(rnd, 3 + rnd.nextInt(2));
+        firstOf = new int[lectors];
+        lastOf = new int[lectors];
+        for (int i = 0; i < lectors; i++) {
+            firstOf[i] = rnd.nextInt(firstPool.length);
+            lastOf[i] = rnd.nextInt(lastPool.length);
+        }
+    }
+
+    @Benchmark
+    public Object build(Footprint footprint) {
+        retained = null;
+        long heapBefore = usedHeap();
+        long directBefore = directMemory();
+
+        retained = switch (layout) {
+            case "hashmap" -> hashMap();
+            case "table-heap" -> table(false);
+            default -> table(true);
+        };
+
+        footprint.retainedMiB = (usedHeap() - heapBefore) / 1048576.0;
+        footprint.offHeapMiB = (directMemory() - directBefore) / 1048576.0;
+        return retained;
+    }
+
+    private Map<String, List<Lector>> hashMap() {
+        Map<String, List<Lector>> byName = new HashMap<>();
+        for (int i = 0; i < lectors; i++) {
+            Lector l = new Lector();
+            l.setId((long) i + 1);
+            l.setFirstName(new String(firstPool[firstOf[i]]));
+            l.setLastName(new String(lastPool[lastOf[i]]));
+            byName.computeIfAbsent(Names.normalize(l.getFirstName()), k -> new ArrayList<>(1)).add(l);
+            byName.computeIfAbsent(Names.normalize(l.getLastName()), k -> new ArrayList<>(1)).add(l);
+        }
+        return byName;
+    }
+
+    private LectorNameTable table(boolean offHeap) {
+        LectorNameTable.Loader loader = new LectorNameTable.Loader();
+        for (int i = 0; i < lectors; i++) {
+            loader.add(i + 1, new String(firstPool[firstOf[i]]), new String(lastPool[lastOf[i]]));
+        }
+        return loader.build(offHeap);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) System.gc();
+        Runtime rt = Runtime.getRuntime();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    private static long directMemory() {
+        return ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(p -> "direct".equals(p.getName()))
+                .mapToLong(BufferPoolMXBean::getMemoryUsed)
+                .sum();
+    }
+
+    private static String word(Random rnd, int syllables) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < syllables; i++) sb.append(SYLLABLES[rnd.nextInt(SYLLABLES.length)]);
+        return Character.toUpperCase(sb.charAt(0)) + sb.substring(1);
+    }
+}
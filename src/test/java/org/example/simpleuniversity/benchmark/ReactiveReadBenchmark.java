@@ -0,0 +1,125 @@
+package org.example.simpleuniversity.benchmark;
+
+import org.example.simpleuniversity.SimpleUniversityApplication;
+import org.example.simpleuniversity.model.Degree;
+import org.example.simpleuniversity.model.Department;
+import org.example.simpleuniversity.model.Lector;
+import org.example.simpleuniversity.repository.DepartmentRepository;
+import org.example.simpleuniversity.repository.LectorRepository;
+import org.example.simpleuniversity.service.ReactiveUniversityService;
+import org.example.simpleuniversity.service.UniversityService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A burst of {@code requests} concurrent department reports, answered either by the
+ * blocking service on a bounded worker pool (one thread + one JDBC connection per
+ * in-flight request) or by the reactive service over a small R2DBC pool. With
+ * {@code coalescing} on, concurrent identical blocking reads share one query ({@code SingleFlight}).
+ * <pre>
+ * mvn -Pbenchmark test -Djmh.args="ReactiveReadBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class ReactiveReadBenchmark {
+
+    @Param({"1000"})
+    public int requests;
+
+    @Param({"16"})
+    public int blockingThreads;
+
+    @Param({"false", "true"})
+    public boolean coalescing;
+
+    private ConfigurableApplicationContext context;
+    private UniversityService blocking;
+    private ReactiveUniversityService reactive;
+    private ExecutorService workers;
+    private String departmentName;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(SimpleUniversityApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("university.coalescing.enabled=" + coalescing)
+                .run();
+        blocking = context.getBean(UniversityService.class);
+        reactive = context.getBean(ReactiveUniversityService.class);
+        workers = Executors.newFixedThreadPool(blockingThreads);
+
+        Degree[] degrees = Degree.values();
+        List<Lector> lectors = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            Lector l = new Lector();
+            l.setFirstName("Rx" + i);
+            l.setLastName("Bench" + i);
+            l.setDegree(degrees[i % degrees.length]);
+            l.setSalary(1000 + i);
+            lectors.add(l);
+        }
+        lectors = context.getBean(LectorRepository.class).saveAll(lectors);
+        Department d = new Department();
+        d.setName("ReactiveBench" + System.nanoTime());
+        d.setHead(lectors.get(0));
+        d.getLectors().addAll(lectors);
+        departmentName = context.getBean(DepartmentRepository.class).save(d).getName();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        workers.shutdownNow();
+        context.close();
+    }
+
+    @Benchmark
+    public int blockingStatistics() throws Exception {
+        List<Future<Map<Degree, Long>>> pending = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            pending.add(workers.submit(() -> blocking.getStatistics(departmentName)));
+        }
+        int done = 0;
+        for (Future<Map<Degree, Long>> f : pending) {
+            done += f.get().size();
+        }
+        return done;
+    }
+
+    @Benchmark
+    public int reactiveStatistics() {
+        return Flux.range(0, requests)
+                .flatMap(i -> reactive.getStatistics(departmentName), requests)
+                .map(Map::size)
+                .reduce(0, Integer::sum)
+                .block();
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.simpleuniversity.benchmark;
+
+import org.example.simpleuniversity.SimpleUniversityApplication;
+import org.example.simpleuniversity.service.DataGeneratorService;
+import org.example.simpleuniversity.service.DatasetGenerator;
+import org.example.simpleuniversity.service.ReportExportService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full columnar export of a generated university with {@code lectors} lectors in 200 departments
+ * (see {@link DatasetGenerator}). The {@code rowsPerSecond} / {@code outputMiB} secondary results give throughput
+ * and file size; run with a small heap to confirm memory stays bounded:
+ * <pre>
+ * mvn -Pbenchmark test -Djmh.args="ReportExportBenchmark"
+ * mvn -Pbenchmark test -Djmh.args="ReportExportBenchmark -jvmArgs '-Dbench.datasource.url=jdbc:postgresql://localhost:5432/postgres'"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx256m", "--add-opens=java.base/java.nio=ALL-UNNAMED"})
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class ReportExportBenchmark {
+
+    private static final int DEPARTMENTS = 200;
+
+    @Param({"1000000"})
+    public int lectors;
+
+    private ConfigurableApplicationContext context;
+    private ReportExportService export;
+    private Path target;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Throughput {
+        public double rowsPerSecond;
+        public double outputMiB;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rowsPerSecond = 0;
+            outputMiB = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void seed() {
+        List<String> args = new ArrayList<>(List.of("--university.seed.enabled=false"));
+        String url = System.getProperty("bench.datasource.url");
+        if (url != null) {
+            args.add("--spring.datasource.url=" + url);
+            args.add("--spring.datasource.driver-class-name=org.postgresql.Driver");
+            args.add("--spring.datasource.username=" + System.getProperty("bench.datasource.username", "postgres"));
+            args.add("--spring.datasource.password=" + System.getProperty("bench.datasource.password", "postgres"));
+            args.add("--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect");
+        }
+        context = new SpringApplicationBuilder(SimpleUniversityApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run(args.toArray(String[]::new));
+        export = context.getBean(ReportExportService.class);
+        context.getBean(DataGeneratorService.class)
+                .generateToDatabase(new DatasetGenerator.Spec(DEPARTMENTS, lectors, 42));
+    }
+
+    @Setup(Level.Iteration)
+    public void freshDirectory() throws IOException {
+        target = Files.createTempDirectory("report-export");
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteDirectory() throws IOException {
+        FileSystemUtils.deleteRecursively(target);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public ReportExportService.ExportSummary export(Throughput throughput) {
+        ReportExportService.ExportSummary summary = export.exportLectors(target.resolve("out"));
+        throughput.rowsPerSecond = summary.rowsPerSecond();
+        throughput.outputMiB = summary.bytes() / 1048576.0;
+        return summary;
+    }
+}
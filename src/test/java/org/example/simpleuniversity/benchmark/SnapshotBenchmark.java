@@ -0,0 +1,95 @@
+package org.example.simpleuniversity.benchmark;
+
+import org.example.simpleuniversity.SimpleUniversityApplication;
+import org.example.simpleuniversity.service.DataGeneratorService;
+import org.example.simpleuniversity.service.DatasetGenerator;
+import org.example.simpleuniversity.service.SnapshotService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code snapshot save} and {@code snapshot load} of a generated university with {@code lectors}
+ * lectors in 200 departments; the restore target is under a minute for 1M lectors. The {@code perf}
+ * profile is active so PgJDBC rewrites the insert batches:
+ * <pre>
+ * mvn -Pbenchmark test -Djmh.args="SnapshotBenchmark"
+ * mvn -Pbenchmark test -Djmh.args="SnapshotBenchmark -jvmArgs '-Dbench.datasource.url=jdbc:postgresql://localhost:5432/postgres'"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx512m")
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class SnapshotBenchmark {
+
+    private static final int DEPARTMENTS = 200;
+
+    @Param({"1000000"})
+    public int lectors;
+
+    private ConfigurableApplicationContext context;
+    private SnapshotService snapshots;
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void seed() throws IOException {
+        List<String> args = new ArrayList<>(List.of("--university.seed.enabled=false"));
+        String url = System.getProperty("bench.datasource.url");
+        if (url != null) {
+            args.add("--spring.datasource.url=" + url);
+            args.add("--spring.datasource.driver-class-name=org.postgresql.Driver");
+            args.add("--spring.datasource.username=" + System.getProperty("bench.datasource.username", "postgres"));
+            args.add("--spring.datasource.password=" + System.getProperty("bench.datasource.password", "postgres"));
+            args.add("--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect");
+        }
+        context = new SpringApplicationBuilder(SimpleUniversityApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test", "perf")
+                .run(args.toArray(String[]::new));
+        snapshots = context.getBean(SnapshotService.class);
+        context.getBean(DataGeneratorService.class)
+                .generateToDatabase(new DatasetGenerator.Spec(DEPARTMENTS, lectors, 42));
+
+        file = Files.createTempFile("university", ".snapshot");
+        snapshots.save(file);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() throws IOException {
+        context.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public SnapshotService.SnapshotSummary save() {
+        return snapshots.save(file);
+    }
+
+    @Benchmark
+    public SnapshotService.SnapshotSummary load() {
+        return snapshots.load(file);
+    }
+}
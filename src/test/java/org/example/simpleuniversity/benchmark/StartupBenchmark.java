@@ -0,0 +1,60 @@
+package org.example.simpleuniversity.benchmark;
+
+import org.example.simpleuniversity.SimpleUniversityApplication;
+import org.example.simpleuniversity.model.DepartmentSummary;
+import org.example.simpleuniversity.service.UniversityService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time-to-first-command: a cold JVM per sample boots the application and answers
+ * one command ({@code list departments}), with and without the {@code fast-start} profile.
+ * <pre>
+ * mvn -Pbenchmark test -Djmh.args="StartupBenchmark"
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(10)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+public class StartupBenchmark {
+
+    @Param({"default", "fast-start"})
+    public String startupProfile;
+
+    private ConfigurableApplicationContext context;
+
+    @Benchmark
+    public List<DepartmentSummary> timeToFirstCommand() {
+        context = new SpringApplicationBuilder(SimpleUniversityApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("fast-start".equals(startupProfile) ? new String[]{"test", "fast-start"} : new String[]{"test"})
+                .run();
+        return context.getBean(UniversityService.class).listDepartments();
+    }
+
+    @TearDown(Level.Iteration)
+    public void close() {
+        if (context != null) {
+            context.close();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.simpleuniversity.load;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Load-test knobs, read from {@code -Dload.*} system properties so that the same
+ * harness can be pointed at embedded H2 or a real PostgreSQL from the Maven command line.
+ */
+public record LoadProfile(
+        int threads,
+        boolean virtualThreads,
+        int targetRate,
+        Duration warmup,
+        Duration duration,
+        int departments,
+        int lectors,
+        Map<Operation, Integer> mix
+) {
+
+    public enum Operation { READ, SEARCH, CREATE, UPDATE, DELETE }
+
+    public static LoadProfile fromSystemProperties() {
+        return new LoadProfile(
+                Integer.getInteger("load.threads", 16),
+                Boolean.getBoolean("load.virtual-threads"),
+                Integer.getInteger("load.rate", 0),
+                Duration.ofSeconds(Long.getLong("load.warmup-seconds", 5)),
+                Duration.ofSeconds(Long.getLong("load.duration-seconds", 30)),
+                Integer.getInteger("load.departments", 20),
+                Integer.getInteger("load.lectors", 2_000),
+                parseMix(System.getProperty("load.mix", "read=60,search=15,create=10,update=10,delete=5"))
+        );
+    }
+
+    /**
+     * Parses weights such as {@code read=60,search=15,update=25}; omitted operations get weight 0.
+     */
+    static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split("=");
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("Invalid load.mix entry: " + part);
+            }
+            mix.put(Operation.valueOf(kv[0].trim().toUpperCase()), Integer.parseInt(kv[1].trim()));
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("load.mix has no positive weights: " + spec);
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,235 @@
+package org.example.simpleuniversity.load;
+
+import org.example.simpleuniversity.load.LoadProfile.Operation;
+import org.example.simpleuniversity.model.Degree;
+import org.example.simpleuniversity.model.Department;
+import org.example.simpleuniversity.model.Lector;
+import org.example.simpleuniversity.repository.DepartmentRepository;
+import org.example.simpleuniversity.repository.LectorRepository;
+import org.example.simpleuniversity.service.SearchPage;
+import org.example.simpleuniversity.service.UniversityService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Soak / load harness for {@link UniversityService}. Not part of the regular build;
+ * run it through the {@code load-test} profile, e.g.
+ * <pre>
+ * mvn -Pload-test test -Dload.threads=32 -Dload.rate=500 -Dload.duration-seconds=60
+ * </pre>
+ * Against PostgreSQL add {@code -Dspring.datasource.url=jdbc:postgresql://localhost:5432/postgres
+ * -Dspring.datasource.driver-class-name=org.postgresql.Driver -Dspring.datasource.username=...
+ * -Dspring.datasource.password=... -Dspring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect}.
+ * <p>
+ * With {@code load.rate > 0} operations are scheduled on a fixed timeline and latency is
+ * measured from the intended start, so queueing behind a saturated pool shows up in the
+ * tail percentiles instead of silently lowering the offered load.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class UniversityServiceLoadIT {
+
+    private static final String[] READS = {"head", "statistics", "average", "count"};
+
+    @Autowired
+    private UniversityService service;
+
+    @Autowired
+    private DepartmentRepository deptRepo;
+
+    @Autowired
+    private LectorRepository lectorRepo;
+
+    private final Map<Operation, LatencyHistogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final Queue<Long> deletable = new ConcurrentLinkedQueue<>();
+    private final AtomicLong createdSeq = new AtomicLong();
+
+    private List<String> departmentNames;
+    private List<Lector> lectors;
+
+    @Test
+    void sustainedMixedLoad() throws Exception {
+        LoadProfile profile = LoadProfile.fromSystemProperties();
+        for (Operation op : Operation.values()) {
+            latencies.put(op, new LatencyHistogram());
+            errors.put(op, new LongAdder());
+        }
+        seed(profile);
+
+        Operation[] wheel = weightedWheel(profile.mix());
+        long interval = profile.targetRate() > 0 ? TimeUnit.SECONDS.toNanos(1) / profile.targetRate() : 0;
+        long measureFrom = System.nanoTime() + profile.warmup().toNanos();
+        long deadline = measureFrom + profile.duration().toNanos();
+        AtomicLong nextSlot = new AtomicLong(System.nanoTime());
+
+        ExecutorService pool = newExecutor(profile);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < profile.threads(); t++) {
+            workers.add(pool.submit(() -> {
+                ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                while (true) {
+                    long start;
+                    if (interval > 0) {
+                        start = nextSlot.getAndAdd(interval);
+                        long wait = start - System.nanoTime();
+                        if (wait > 0) LockSupport.parkNanos(wait);
+                    } else {
+                        start = System.nanoTime();
+                    }
+                    if (start >= deadline) return;
+
+                    Operation op = wheel[rnd.nextInt(wheel.length)];
+                    boolean ok = execute(op, rnd);
+                    if (start >= measureFrom) {
+                        latencies.get(op).record(System.nanoTime() - start);
+                        if (!ok) errors.get(op).increment();
+                    }
+                }
+            }));
+        }
+        for (Future<?> w : workers) {
+            w.get();
+        }
+        pool.shutdown();
+
+        report(profile);
+
+        long total = latencies.values().stream().mapToLong(LatencyHistogram::count).sum();
+        long failed = errors.values().stream().mapToLong(LongAdder::sum).sum();
+        assertThat(total).isPositive();
+        assertThat((double) failed / total).isLessThanOrEqualTo(Double.parseDouble(System.getProperty("load.max-error-rate", "0.01")));
+    }
+
+    private boolean execute(Operation op, ThreadLocalRandom rnd) {
+        try {
+            switch (op) {
+                case READ -> {
+                    String dept = departmentNames.get(rnd.nextInt(departmentNames.size()));
+                    switch (READS[rnd.nextInt(READS.length)]) {
+                        case "head" -> service.getHeadOf(dept);
+                        case "statistics" -> service.getStatistics(dept);
+                        case "average" -> service.getAverageSalary(dept);
+                        default -> service.getEmployeeCount(dept);
+                    }
+                }
+                case SEARCH -> {
+                    String last = lectors.get(rnd.nextInt(lectors.size())).getLastName();
+                    int from = rnd.nextInt(Math.max(1, last.length() - 3));
+                    service.searchLectors(last.substring(from, Math.min(last.length(), from + 3)),
+                            SearchPage.Cursor.START, 50);
+                }
+                case CREATE -> {
+                    long n = createdSeq.incrementAndGet();
+                    Lector created = service.createLector("Load", "Created" + n, Degree.ASSISTANT, 1000 + n % 5000,
+                            List.of(departmentNames.get(rnd.nextInt(departmentNames.size()))));
+                    deletable.add(created.getId());
+                }
+                case UPDATE -> {
+                    Lector target = lectors.get(rnd.nextInt(lectors.size()));
+                    service.updateLector(target.getId().toString(), "salary", String.valueOf(1000 + rnd.nextInt(9000)));
+                }
+                case DELETE -> {
+                    Long id = deletable.poll();
+                    if (id != null) {
+                        service.deleteLector(id.toString());
+                    }
+                }
+            }
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private void seed(LoadProfile profile) {
+        Degree[] degrees = Degree.values();
+        lectors = new ArrayList<>();
+        for (int i = 0; i < profile.lectors(); i++) {
+            Lector l = new Lector();
+            l.setFirstName("Load" + i);
+            l.setLastName("Lector" + Integer.toString(i, 36));
+            l.setDegree(degrees[i % degrees.length]);
+            l.setSalary(1000 + (i * 37) % 9000);
+            l.setDepartments(new HashSet<>());
+            lectors.add(l);
+        }
+        lectors = lectorRepo.saveAll(lectors);
+
+        departmentNames = new ArrayList<>();
+        List<Department> departments = new ArrayList<>();
+        for (int i = 0; i < profile.departments(); i++) {
+            Department d = new Department();
+            d.setName("LoadDept" + i);
+            d.setHead(lectors.get(i % lectors.size()));
+            departments.add(d);
+            departmentNames.add(d.getName());
+        }
+        for (int i = 0; i < lectors.size(); i++) {
+            departments.get(i % departments.size()).getLectors().add(lectors.get(i));
+        }
+        deptRepo.saveAll(departments);
+    }
+
+    private static Operation[] weightedWheel(Map<Operation, Integer> mix) {
+        List<Operation> wheel = new ArrayList<>();
+        mix.forEach((op, weight) -> {
+            for (int i = 0; i < weight; i++) wheel.add(op);
+        });
+        return wheel.toArray(Operation[]::new);
+    }
+
+    /**
+     * Virtual threads need a Java 21 runtime; the project still compiles for 17, so they are looked up reflectively.
+     */
+    private static ExecutorService newExecutor(LoadProfile profile) {
+        if (profile.virtualThreads()) {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                System.out.println("Virtual threads unavailable on this JVM, falling back to platform threads");
+            }
+        }
+        return Executors.newFixedThreadPool(profile.threads());
+    }
+
+    private void report(LoadProfile profile) {
+        double seconds = profile.duration().toNanos() / 1e9;
+        System.out.printf("%nLoad: %d %s threads, target rate %s, %ds measured after %ds warm-up%n",
+                profile.threads(), profile.virtualThreads() ? "virtual" : "platform",
+                profile.targetRate() > 0 ? profile.targetRate() + " ops/s" : "unbounded",
+                profile.duration().toSeconds(), profile.warmup().toSeconds());
+        System.out.printf("%-8s %10s %8s %10s %10s %10s %10s %10s%n",
+                "op", "count", "errors", "ops/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (Operation op : Operation.values()) {
+            LatencyHistogram h = latencies.get(op);
+            if (h.count() == 0) continue;
+            System.out.printf("%-8s %10d %8d %10.1f %10.3f %10.3f %10.3f %10.3f%n",
+                    op.name().toLowerCase(), h.count(), errors.get(op).sum(), h.count() / seconds,
+                    h.valueAt(0.50) / 1e6, h.valueAt(0.99) / 1e6, h.valueAt(0.999) / 1e6, h.max() / 1e6);
+        }
+        long total = latencies.values().stream().mapToLong(LatencyHistogram::count).sum();
+        System.out.printf("%-8s %10d %8d %10.1f%n", "total", total,
+                errors.values().stream().mapToLong(LongAdder::sum).sum(), total / seconds);
+    }
+}
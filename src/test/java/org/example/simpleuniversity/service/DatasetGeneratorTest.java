@@ -0,0 +1,94 @@
+package org.example.simpleuniversity.service;
+
+import org.example.simpleuniversity.model.Degree;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatasetGeneratorTest {
+
+    // everything the generator emitted, in order
+    private static final class Recorder implements DatasetGenerator.Sink {
+        final List<String> rows = new ArrayList<>();
+        final Map<Long, Degree> degrees = new HashMap<>();
+        final Map<Long, Long> heads = new HashMap<>();
+        final Map<Long, Integer> departmentSizes = new HashMap<>();
+        final Set<String> memberships = new HashSet<>();
+
+        @Override
+        public void lector(long id, String firstName, String lastName, Degree degree, double salary) {
+            rows.add(id + " " + firstName + " " + lastName + " " + degree + " " + salary);
+            degrees.put(id, degree);
+        }
+
+        @Override
+        public void department(long id, String name, long headId) {
+            rows.add(id + " " + name + " " + headId);
+            heads.put(id, headId);
+        }
+
+        @Override
+        public void membership(long departmentId, long lectorId) {
+            rows.add(departmentId + "-" + lectorId);
+            assertTrue(memberships.add(departmentId + "-" + lectorId), "duplicate membership");
+            departmentSizes.merge(departmentId, 1, Integer::sum);
+        }
+    }
+
+    private static Recorder generate(int departments, int lectors, long seed) throws IOException {
+        Recorder r = new Recorder();
+        new DatasetGenerator(new DatasetGenerator.Spec(departments, lectors, seed)).generate(1, 1, r);
+        return r;
+    }
+
+    @Test
+    void whenSameSeed_thenSameRows() throws IOException {
+        assertEquals(generate(10, 500, 7).rows, generate(10, 500, 7).rows);
+        assertNotEquals(generate(10, 500, 7).rows, generate(10, 500, 8).rows);
+    }
+
+    @Test
+    void whenGenerated_thenHeadsAreMemberProfessors() throws IOException {
+        Recorder r = generate(30, 2_000, 1);
+
+        assertEquals(30, r.heads.size());
+        r.heads.forEach((dept, head) -> {
+            assertEquals(Degree.PROFESSOR, r.degrees.get(head));
+            assertTrue(r.memberships.contains(dept + "-" + head));
+        });
+    }
+
+    @Test
+    void whenLarge_thenDegreeMixAndSkewedDepartments() throws IOException {
+        Recorder r = generate(100, 20_000, 3);
+
+        long assistants = r.degrees.values().stream().filter(d -> d == Degree.ASSISTANT).count();
+        assertEquals(0.5, assistants / 20_000.0, 0.02);
+
+        List<Integer> sizes = new ArrayList<>(r.departmentSizes.values());
+        sizes.sort(null);
+        int median = sizes.get(sizes.size() / 2);
+        assertTrue(sizes.get(sizes.size() - 1) > 10 * median, "largest " + sizes.get(sizes.size() - 1) + ", median " + median);
+        assertTrue(r.memberships.size() > 20_000, "some lectors belong to several departments");
+    }
+
+    @Test
+    void whenDepartmentIdsDiffer_thenNamesDiffer() {
+        assertEquals("Department of Physics", DatasetGenerator.departmentName(1));
+        assertNotEquals(DatasetGenerator.departmentName(1),
+                DatasetGenerator.departmentName(1 + DatasetGenerator.FIELDS.length));
+    }
+
+    @Test
+    void whenDepartmentsWithoutLectors_thenRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new DatasetGenerator.Spec(3, 0, 1));
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.simpleuniversity.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NameDictionaryTest {
+
+    private static NameDictionary dictionary(boolean caseFold, boolean offHeap, String... names) {
+        NameDictionary.Builder b = NameDictionary.builder(caseFold);
+        for (String n : names) b.add(n);
+        return b.build(offHeap);
+    }
+
+    @Test
+    void whenCaseFolded_thenDuplicatesCollapseAndLookupsIgnoreCase() {
+        NameDictionary d = dictionary(true, true, "Ivan", "IVAN", " ivan ", "Petro", "Олена");
+
+        assertTrue(d.isOffHeap());
+        assertEquals(3, d.size());
+        assertEquals(d.idOf("ivan"), d.idOf("IvAn"));
+        assertEquals("олена", d.get(d.idOf("ОЛЕНА")));
+        assertEquals(-1, d.idOf("iva"));
+    }
+
+    @Test
+    void whenPrefixIterated_thenIdsAreContiguousAndSorted() {
+        NameDictionary d = dictionary(true, false, "Petrenko", "Petro", "Pet", "Ivanov", "Peter", "Pa");
+
+        List<String> matches = d.idsWithPrefix("PET").mapToObj(d::get).toList();
+
+        assertEquals(List.of("pet", "peter", "petrenko", "petro"), matches);
+        assertEquals(0, d.idsWithPrefix("x").count());
+        assertEquals(d.size(), d.idsWithPrefix("").count());
+    }
+
+    @Test
+    void whenBuilt_thenProvisionalIdsMapToSortedIds() {
+        NameDictionary.Builder b = NameDictionary.builder(false);
+        int zed = b.add("Zed");
+        int abe = b.add("Abe");
+        int zedAgain = b.add("Zed");
+        NameDictionary d = b.build(false);
+
+        assertEquals(zed, zedAgain);
+        assertEquals("Abe", d.get(b.finalId(abe)));
+        assertEquals("Zed", d.get(b.finalId(zed)));
+        assertEquals(-1, d.idOf("zed"));
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.simpleuniversity.service;
+
+import org.example.simpleuniversity.model.Degree;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RowPrinterTest {
+
+    private static final double[] EDGE_DOUBLES = {
+            0, -0.0, 0.125, 1.005, -1.005, 2.675, 0.995, -0.001, 1234.56, 9_999_999_999_999.99, 1e13,
+            1e20, Double.MIN_VALUE, Double.MAX_VALUE, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY
+    };
+
+    private static final long[] EDGE_LONGS = {0, -1, 9, 10, -10, Long.MIN_VALUE, Long.MAX_VALUE};
+
+    @Test
+    void whenPrintingRows_thenBytesMatchPrintf() {
+        // decimal comma, Arabic-Indic and Devanagari digits
+        for (String tag : new String[]{"en-US", "uk-UA", "de-DE", "ar-EG", "hi-IN-u-nu-deva"}) {
+            assertMatchesPrintf(Locale.forLanguageTag(tag));
+        }
+    }
+
+    private static void assertMatchesPrintf(Locale locale) {
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        PrintStream printf = new PrintStream(expected, false, StandardCharsets.UTF_8);
+        // a small buffer, so rows straddle flushes
+        RowPrinter rows = new RowPrinter(new PrintStream(actual, false, StandardCharsets.UTF_8), 64, locale);
+
+        for (double d : EDGE_DOUBLES) {
+            printf.printf(locale, "%.2f%n", d);
+            rows.fixed2(d).newline();
+        }
+        for (long v : EDGE_LONGS) {
+            printf.printf(locale, "%d%n", v);
+            rows.number(v).newline();
+        }
+        SplittableRandom rnd = new SplittableRandom(7);
+        for (int i = 0; i < 20_000; i++) {
+            long id = rnd.nextLong() >> rnd.nextInt(64);
+            double salary = switch (i % 3) {
+                case 0 -> Math.round(rnd.nextDouble(1000, 10000)) * 10.0;
+                case 1 -> Math.round(rnd.nextGaussian() * 1e6) / 100.0;
+                default -> rnd.nextDouble() * 1e4;
+            };
+            String last = i % 5 == 0 ? null : "Коваленко";
+            Degree degree = i % 7 == 0 ? null : Degree.values()[i % 3];
+            printf.printf(locale, "id=%d %s %s %s salary=%.2f%n", id, "Olena", last, degree, salary);
+            rows.text("id=").number(id).text(' ').text("Olena").text(' ').text(last).text(' ').text(degree)
+                    .text(" salary=").fixed2(salary).newline();
+        }
+        printf.printf(locale, "%s%n", "x".repeat(200));
+        rows.text("x".repeat(200)).newline();
+
+        printf.flush();
+        rows.flush();
+        assertArrayEquals(expected.toByteArray(), actual.toByteArray(), locale.toLanguageTag());
+    }
+
+    @Test
+    void whenBufferTooSmall_thenRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new RowPrinter(System.out, 8, Locale.ROOT));
+    }
+}
@@ -0,0 +1,159 @@
+package org.example.simpleuniversity.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 16;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SingleFlight flight = new SingleFlight(registry, true);
+    private final ExecutorService pool = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    void stop() {
+        pool.shutdownNow();
+    }
+
+    private double count(String operation, String result) {
+        var counter = registry.find(SingleFlight.REQUESTS).tag("operation", operation).tag("result", result).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private Future<Object> call(String operation, String tenant, String argument, SingleFlight.Read read) {
+        return pool.submit(() -> {
+            try {
+                return flight.execute(operation, tenant, argument, read);
+            } catch (Exception e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        });
+    }
+
+    // blocks until the other callers have joined the first one's read
+    private void awaitWaiters(String operation, int waiters) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (count(operation, "coalesced") < waiters) {
+            assertTrue(System.nanoTime() < deadline, "callers did not join the read in flight");
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    void whenIdenticalCallsOverlap_thenOneReadServesAll() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger reads = new AtomicInteger();
+        SingleFlight.Read read = () -> {
+            reads.incrementAndGet();
+            started.countDown();
+            release.await();
+            return 2500.0;
+        };
+
+        List<Future<Object>> results = new ArrayList<>();
+        results.add(call("getAverageSalary", "default", "physics", read));
+        started.await();
+        for (int i = 1; i < CALLERS; i++) {
+            results.add(call("getAverageSalary", "default", "physics", read));
+        }
+        awaitWaiters("getAverageSalary", CALLERS - 1);
+        assertEquals(1, flight.inFlight());
+        release.countDown();
+
+        for (Future<Object> result : results) {
+            assertEquals(2500.0, result.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, reads.get());
+        assertEquals(0, flight.inFlight());
+        assertEquals(List.of(new SingleFlight.OperationStats("getAverageSalary", 1, CALLERS - 1)), flight.stats());
+    }
+
+    @Test
+    void whenReadFails_thenEveryWaiterGetsTheError() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        SingleFlight.Read read = () -> {
+            started.countDown();
+            release.await();
+            throw new IllegalArgumentException("No such department");
+        };
+
+        List<Future<Object>> results = new ArrayList<>();
+        results.add(call("getHeadOf", "default", "nope", read));
+        started.await();
+        for (int i = 1; i < 4; i++) {
+            results.add(call("getHeadOf", "default", "nope", read));
+        }
+        awaitWaiters("getHeadOf", 3);
+        release.countDown();
+
+        for (Future<Object> result : results) {
+            Exception e = assertThrows(Exception.class, () -> result.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalArgumentException.class, e.getCause());
+        }
+        assertEquals(0, flight.inFlight());
+    }
+
+    @Test
+    void whenKeysDiffer_thenReadsRunSeparately() throws Throwable {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger reads = new AtomicInteger();
+        SingleFlight.Read blocked = () -> {
+            reads.incrementAndGet();
+            release.await();
+            return 1L;
+        };
+        Future<Object> physics = call("getEmployeeCount", "default", "physics", blocked);
+        Future<Object> otherUniversity = call("getEmployeeCount", "north", "physics", blocked);
+        Future<Object> otherOperation = call("getHeadOf", "default", "physics", blocked);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (reads.get() < 3) {
+            assertTrue(System.nanoTime() < deadline, "independent reads were serialized");
+            Thread.sleep(1);
+        }
+        release.countDown();
+        assertEquals(1L, physics.get(10, TimeUnit.SECONDS));
+        assertEquals(1L, otherUniversity.get(10, TimeUnit.SECONDS));
+        assertEquals(1L, otherOperation.get(10, TimeUnit.SECONDS));
+        assertEquals(0, count("getEmployeeCount", "coalesced"));
+    }
+
+    @Test
+    void whenCallsDoNotOverlap_thenNothingIsCached() throws Throwable {
+        AtomicInteger reads = new AtomicInteger();
+        SingleFlight.Read read = reads::incrementAndGet;
+
+        assertEquals(1, flight.execute("getEmployeeCount", "default", "physics", read));
+        assertEquals(2, flight.execute("getEmployeeCount", "default", "physics", read));
+        assertEquals(2, count("getEmployeeCount", "executed"));
+    }
+
+    @Test
+    void whenDisabled_thenEveryCallReads() throws Throwable {
+        SingleFlight off = new SingleFlight(registry, false);
+        AtomicInteger reads = new AtomicInteger();
+
+        off.execute("getHeadOf", "default", "physics", reads::incrementAndGet);
+        off.execute("getHeadOf", "default", "physics", reads::incrementAndGet);
+
+        assertEquals(2, reads.get());
+        assertTrue(off.stats().isEmpty());
+    }
+}
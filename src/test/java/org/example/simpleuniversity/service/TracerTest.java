@@ -0,0 +1,93 @@
+package org.example.simpleuniversity.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TracerTest {
+
+    @TempDir
+    Path dir;
+
+    private static Tracer tracer(String file) {
+        return new Tracer(true, 500, file, 3);
+    }
+
+    @Test
+    void whenNoCommand_thenSpansAreNoOps() {
+        Tracer t = tracer("");
+
+        try (Tracer.Span span = t.span(Tracer.SERVICE, "UniversityService.getHeadOf")) {
+            assertSame(Tracer.Span.NOOP, span);
+            assertFalse(t.isTracing());
+        }
+        assertTrue(t.last().isEmpty());
+    }
+
+    @Test
+    void whenCommandTraced_thenTreeFollowsNesting() {
+        Tracer t = tracer("");
+
+        try (Tracer.Span command = t.command("who is head of department Physics")) {
+            try (Tracer.Span service = t.span(Tracer.SERVICE, "UniversityService.getHeadOf")) {
+                try (Tracer.Span repo = t.span(Tracer.REPOSITORY, "DepartmentRepository.findByNameNorm")) {
+                    t.span(Tracer.JDBC, "executeQuery").attribute("sql", "select 1").close();
+                }
+                t.span(Tracer.JDBC, "executeQuery").attribute("sql", "select 2").close();
+            }
+        }
+        assertFalse(t.isTracing());
+
+        Tracer.Span root = t.last().orElseThrow();
+        assertEquals(Tracer.COMMAND, root.kind());
+        assertEquals(List.of(Tracer.DISPATCH, Tracer.SERVICE), root.children().stream().map(Tracer.Span::kind).toList());
+        Tracer.Span service = root.children().get(1);
+        assertEquals(List.of(Tracer.REPOSITORY, Tracer.JDBC), service.children().stream().map(Tracer.Span::kind).toList());
+        assertEquals("select 1", service.children().get(0).children().get(0).attributes().get("sql"));
+        assertTrue(root.durationNanos() >= service.durationNanos());
+        assertTrue(root.tree().lines().count() == 6, root.tree());
+    }
+
+    @Test
+    void whenMoreCommandsThanRetained_thenOldestDropped() {
+        Tracer t = tracer("");
+
+        for (int i = 0; i < 5; i++) {
+            t.command("list lectors " + i).close();
+        }
+
+        assertEquals(List.of("list lectors 2", "list lectors 3", "list lectors 4"),
+                t.recent().stream().map(Tracer.Span::name).toList());
+    }
+
+    @Test
+    void whenFileConfigured_thenOneJsonLinePerSpan() throws IOException {
+        Path file = dir.resolve("traces.jsonl");
+        Tracer t = tracer(file.toString());
+
+        try (Tracer.Span command = t.command("show \"quoted\" lector")) {
+            t.span(Tracer.SERVICE, "UniversityService.getLectorCard").close();
+        }
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(3, lines.size());
+        String traceId = t.last().orElseThrow().traceId();
+        assertTrue(lines.stream().allMatch(l -> l.contains("\"traceId\":\"" + traceId + "\"")));
+        assertTrue(lines.get(0).contains("\"name\":\"show \\\"quoted\\\" lector\""), lines.get(0));
+        assertTrue(lines.get(0).contains("\"parentSpanId\":\"\""));
+    }
+
+    @Test
+    void whenDisabled_thenNothingRecorded() {
+        Tracer t = new Tracer(false, 0, "", 3);
+
+        assertSame(Tracer.Span.NOOP, t.command("list lectors"));
+        assertTrue(t.recent().isEmpty());
+    }
+}
@@ -3,15 +3,20 @@ package org.example.simpleuniversity.service;
 import org.example.simpleuniversity.model.Degree;
 import org.example.simpleuniversity.model.Department;
 import org.example.simpleuniversity.model.Lector;
+import org.example.simpleuniversity.model.Tombstone;
 import org.example.simpleuniversity.repository.DepartmentRepository;
+import org.example.simpleuniversity.repository.LectorCardRepository;
 import org.example.simpleuniversity.repository.LectorRepository;
+import org.example.simpleuniversity.repository.TombstoneRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.*;
 
@@ -28,6 +33,24 @@ class UniversityServiceTest {
     @Mock
     private LectorRepository lectorRepo;
 
+    @Mock
+    private LectorCardRepository cardRepo;
+
+    @Mock
+    private TombstoneRepository tombstoneRepo;
+
+    @Mock
+    private LectorNameIndex nameIndex;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
+    @Mock
+    private ArchiveService archive;
+
+    @Spy
+    private TenantContext tenants = new TenantContext("default");
+
     @InjectMocks
     private UniversityService svc;
 
@@ -287,6 +310,30 @@ class UniversityServiceTest {
 
         assertFalse(d.getLectors().contains(l));
         verify(deptRepo).save(d);
+        verify(archive).archive(3L);
         verify(lectorRepo).delete(l);
+        verify(tombstoneRepo).save(argThat((Tombstone t) ->
+                Tombstone.LECTOR.equals(t.getEntityType()) && t.getEntityId() == 3L));
+    }
+
+    @Test
+    void whenLectorNameMistyped_thenErrorSuggestsClosestName() {
+        when(nameIndex.suggest("Ivan Petrneko")).thenReturn(Optional.of("Ivan Petrenko"));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> svc.deleteLector("Ivan Petrneko"));
+
+        assertEquals("No lector with name \"Ivan Petrneko\"; did you mean \"Ivan Petrenko\"?", e.getMessage());
+        verify(lectorRepo, never()).delete(any());
+    }
+
+    @Test
+    void whenDeleteLector_thenPublishesChange() {
+        Lector l = new Lector(); l.setId(4L); l.setFirstName("Ivan"); l.setLastName("Petrenko");
+        when(lectorRepo.findById(4L)).thenReturn(Optional.of(l));
+
+        svc.deleteLector("4");
+
+        verify(events).publishEvent(new LectorChangedEvent("default", 4L, "Ivan", "Petrenko", true));
     }
 }